@@ -0,0 +1,140 @@
+package com.example.darkchar.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.darkchar.config.JsonSeedLoader;
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.WorldGenre;
+import com.example.darkchar.repository.AttributeOptionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 同梱シードを投入した H2 に対する {@link AttributeOptionRepository} の検索を計測します。
+ * <p>
+ * {@code syntheticOptionCount} を指定すると、ユーザーが大きな独自カタログを取り込んだ状態を模して合成した属性を追加し、
+ * 各検索の実行計画が索引を使っていることを計測前に確認します（使っていなければ失敗させます）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttributeOptionRepositoryBenchmark {
+
+    private static final int MOTIVE_INTERVAL = 1_000;
+
+    @Param({"0", "100000"})
+    private int syntheticOptionCount;
+
+    private AttributeOptionRepository repository;
+
+    /**
+     * スキーマとシードデータを投入します。
+     *
+     * @throws Exception シード投入失敗時
+     */
+    @Setup
+    public void setUp() throws Exception {
+        JdbcTemplate jdbcTemplate = BenchmarkFixtures.newDatabase();
+        new JsonSeedLoader(new ObjectMapper(), jdbcTemplate).run(new DefaultApplicationArguments());
+        insertSyntheticOptions(jdbcTemplate);
+        verifyPlan(jdbcTemplate, "SELECT id, category, name, description FROM attribute_option "
+                + "WHERE category = 'MOTIVE' ORDER BY id", "IDX_ATTRIBUTE_OPTION_CATEGORY_ID");
+        verifyPlan(jdbcTemplate, "SELECT id, category, name, description FROM attribute_option ORDER BY category, id",
+                "index sorted");
+        verifyPlan(jdbcTemplate, "SELECT id FROM attribute_option WHERE category = 'MOTIVE' AND name = 'x'",
+                "UK_ATTRIBUTE_OPTION_CATEGORY_NAME");
+        repository = new AttributeOptionRepository(jdbcTemplate);
+    }
+
+    /**
+     * 世界観ジャンルの全件取得を計測します。
+     *
+     * @return 世界観ジャンル
+     */
+    @Benchmark
+    public List<WorldGenre> findAllWorldGenres() {
+        return repository.findAllWorldGenres();
+    }
+
+    /**
+     * カテゴリ指定の検索を計測します。
+     *
+     * @return 属性一覧
+     */
+    @Benchmark
+    public List<AttributeOption> findByCategory() {
+        return repository.findByCategory(AttributeCategory.CHARACTER_TRAIT);
+    }
+
+    /**
+     * 合成データでも件数の少ないカテゴリの検索を計測します。
+     *
+     * @return 属性一覧
+     */
+    @Benchmark
+    public List<AttributeOption> findBySmallCategory() {
+        return repository.findByCategory(AttributeCategory.MOTIVE);
+    }
+
+    /**
+     * 全カテゴリのグルーピング取得を計測します。
+     *
+     * @return カテゴリ別の属性
+     */
+    @Benchmark
+    public Map<AttributeCategory, List<AttributeOption>> findAllGroupedByCategory() {
+        return repository.findAllGroupedByCategory();
+    }
+
+    /**
+     * 合成した属性を登録します。MOTIVE は少数カテゴリになるよう間引きます。
+     *
+     * @param jdbcTemplate JDBC テンプレート
+     */
+    private void insertSyntheticOptions(JdbcTemplate jdbcTemplate) {
+        List<Object[]> rows = new ArrayList<>(syntheticOptionCount);
+        for (int i = 0; i < syntheticOptionCount; i++) {
+            AttributeCategory category = i % MOTIVE_INTERVAL == 0 ? AttributeCategory.MOTIVE
+                    : i % 2 == 0 ? AttributeCategory.CHARACTER_TRAIT : AttributeCategory.MINDSET;
+            rows.add(new Object[] { category.name(), "合成" + i, "合成" + i + "：取り込んだ独自カタログ",
+                    "custom/" + i / 10_000 });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO attribute_option (category, name, description, seed_resource) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * 実行計画に期待する索引の記述が含まれることを確認します。
+     *
+     * @param jdbcTemplate JDBC テンプレート
+     * @param sql          対象 SQL
+     * @param expected     実行計画に含まれるべき文字列
+     */
+    private static void verifyPlan(JdbcTemplate jdbcTemplate, String sql, String expected) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        if (plan == null || !plan.contains(expected)) {
+            throw new IllegalStateException("Query plan regression for [" + sql + "]: expected " + expected
+                    + " but was\n" + plan);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.darkchar.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.service.AttributeCatalog;
+import com.example.darkchar.service.AttributeSearchIndex;
+
+/**
+ * 属性の絞り込み（入力 1 文字ごとの検索）と索引の構築を計測します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttributeSearchIndexBenchmark {
+
+    private static final String[] WORDS = {"騎士", "復讐", "ナイト", "魔術", "呪い", "王国", "影", "ｼﾞｬｯｸ", "聖女", "裏切り"};
+
+    @Param({"100", "5000", "20000"})
+    private int optionCount;
+
+    @Param({"王", "ないと", "王国 呪い"})
+    private String query;
+
+    private AttributeCatalog catalog;
+    private AttributeSearchIndex index;
+
+    /**
+     * 合成した属性で索引を作ります。
+     */
+    @Setup
+    public void setUp() {
+        List<AttributeOption> options = new ArrayList<>(optionCount);
+        for (int i = 0; i < optionCount; i++) {
+            String name = WORDS[i % WORDS.length] + "の" + WORDS[(i / WORDS.length) % WORDS.length] + i;
+            String description = WORDS[(i * 7) % WORDS.length] + "に囚われ、" + WORDS[(i * 3) % WORDS.length]
+                    + "を求めて彷徨う者。";
+            options.add(new AttributeOption((long) i + 1, AttributeCategory.CHARACTER_TRAIT, name, description));
+        }
+        catalog = AttributeCatalog.of(List.of(), options);
+        index = new AttributeSearchIndex();
+        index.update(catalog);
+    }
+
+    /**
+     * 検索 1 回分を計測します。
+     *
+     * @return 一致件数
+     */
+    @Benchmark
+    public int search() {
+        return index.search(query, AttributeCategory.CHARACTER_TRAIT).size();
+    }
+
+    /**
+     * 空の索引からの構築を計測します。
+     *
+     * @return 登録件数
+     */
+    @Benchmark
+    public int build() {
+        AttributeSearchIndex fresh = new AttributeSearchIndex();
+        fresh.update(catalog);
+        return fresh.size();
+    }
+}
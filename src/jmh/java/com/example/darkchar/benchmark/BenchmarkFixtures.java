@@ -0,0 +1,120 @@
+package com.example.darkchar.benchmark;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.DarknessPreset;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.domain.InputMode;
+import com.example.darkchar.domain.WorldGenre;
+
+/**
+ * ベンチマークで共有する入力データとデータベースを組み立てます。
+ */
+final class BenchmarkFixtures {
+
+    /** 闇堕ちカテゴリとして選択を割り振る対象です。 */
+    static final List<AttributeCategory> DARKNESS_CATEGORIES = List.of(
+            AttributeCategory.MOTIVE,
+            AttributeCategory.TRANSFORMATION_PROCESS,
+            AttributeCategory.MINDSET,
+            AttributeCategory.APPEARANCE);
+
+    private static final String FREE_TEXT_UNIT = "かつての誓いは灰となり、影の囁きだけが彼の耳に残った。\n";
+
+    private BenchmarkFixtures() {
+        // utility class
+    }
+
+    /**
+     * 指定した長さの自由記述とセミオート入力を作成します。
+     *
+     * @param freeTextLength 自由記述の文字数
+     * @param traitCount     キャラクター属性の件数
+     * @return キャラクター入力
+     */
+    static CharacterInput characterInput(int freeTextLength, int traitCount) {
+        List<AttributeOption> traits = new ArrayList<>(traitCount);
+        for (int i = 0; i < traitCount; i++) {
+            traits.add(new AttributeOption((long) i + 1, AttributeCategory.CHARACTER_TRAIT,
+                    "特性" + i, "特性" + i + "：ベンチマーク用に生成した説明文"));
+        }
+        String freeText = freeText(freeTextLength);
+        return new CharacterInput(
+                traitCount == 0 ? InputMode.AUTO : InputMode.SEMI_AUTO,
+                new WorldGenre(1L, "異世界・ファンタジー"),
+                traits,
+                freeText,
+                3,
+                freeText);
+    }
+
+    /**
+     * 闇堕ちカテゴリへ均等に割り振った選択を作成します。
+     *
+     * @param selectionCount 選択する属性の総数
+     * @return 闇堕ち選択
+     */
+    static DarknessSelection darknessSelection(int selectionCount) {
+        Map<AttributeCategory, List<AttributeOption>> selections = new EnumMap<>(AttributeCategory.class);
+        for (int i = 0; i < selectionCount; i++) {
+            AttributeCategory category = DARKNESS_CATEGORIES.get(i % DARKNESS_CATEGORIES.size());
+            selections.computeIfAbsent(category, ignored -> new ArrayList<>())
+                    .add(new AttributeOption(100L + i, category, "選択肢" + i, "選択肢" + i + "：闇へ傾く契機"));
+        }
+        return new DarknessSelection(selections, DarknessPreset.HEAVY);
+    }
+
+    /**
+     * 指定した文字数の自由記述を作成します。
+     *
+     * @param length 文字数
+     * @return 自由記述
+     */
+    static String freeText(int length) {
+        if (length <= 0) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(length + FREE_TEXT_UNIT.length());
+        while (builder.length() < length) {
+            builder.append(FREE_TEXT_UNIT);
+        }
+        builder.setLength(length);
+        return builder.toString();
+    }
+
+    /**
+     * スキーマ作成済みのインメモリ H2 データベースを用意します。
+     *
+     * @return JDBC テンプレート
+     */
+    static JdbcTemplate newDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        applySchema(dataSource);
+        return new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * schema.sql をデータソースへ適用します。
+     *
+     * @param dataSource 対象データソース
+     */
+    private static void applySchema(DataSource dataSource) {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+    }
+}
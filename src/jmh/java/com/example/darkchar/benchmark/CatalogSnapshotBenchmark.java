@@ -0,0 +1,70 @@
+package com.example.darkchar.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import com.example.darkchar.config.CatalogSnapshot;
+import com.example.darkchar.config.CatalogSnapshotCompiler;
+
+/**
+ * ビルド時に作るカタログスナップショットをメモリマップで読み込む時間を計測します。
+ * <p>
+ * {@link JsonSeedLoaderBenchmark} の {@code EMPTY}（JSON 解析とデータベース投入）と比較するためのものです。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogSnapshotBenchmark {
+
+    private Path snapshotFile;
+
+    /**
+     * 同梱シードからスナップショットを作ります。
+     *
+     * @throws IOException 変換失敗時
+     */
+    @Setup
+    public void setUp() throws IOException {
+        snapshotFile = Files.createTempFile("catalog", ".snapshot");
+        CatalogSnapshotCompiler.compile(new ClassPathResource("data").getFile().toPath(), snapshotFile);
+    }
+
+    /**
+     * 一時ファイルを削除します。
+     *
+     * @throws IOException 削除失敗時
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    /**
+     * メモリマップによる読み込みを計測します。
+     *
+     * @return スナップショット
+     * @throws IOException 読み込み失敗時
+     */
+    @Benchmark
+    public CatalogSnapshot map() throws IOException {
+        return CatalogSnapshot.map(snapshotFile);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.darkchar.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.repository.GeneratedCharacterRepository;
+import com.example.darkchar.repository.NarrativeIndexRepository;
+import com.example.darkchar.service.CharacterGenerationService;
+import com.example.darkchar.service.GenerationResult;
+import com.example.darkchar.service.ai.AiProviderContextStore;
+import com.example.darkchar.service.ai.CharacterGenerationStrategyRegistry;
+import com.example.darkchar.service.ai.ProviderType;
+import com.example.darkchar.service.history.GenerationHistoryWriter;
+import com.example.darkchar.service.history.NarrativeSearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * プロバイダ未登録時のローカル生成（{@code buildNarrative}）を計測します。
+ * <p>
+ * 生成履歴は実際の H2 へ非同期に書き込まれるため、計測値には履歴キューへの投入コストのみが含まれます。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharacterGenerationServiceBenchmark {
+
+    @Param({"0", "200", "2000"})
+    private int freeTextLength;
+
+    @Param({"1", "4", "16"})
+    private int selectionCount;
+
+    private CharacterGenerationService service;
+    private GenerationHistoryWriter historyWriter;
+    private CharacterInput input;
+    private DarknessSelection selection;
+
+    /**
+     * プロバイダを登録しないサービスと入力データを準備します。
+     */
+    @Setup
+    public void setUp() {
+        JdbcTemplate jdbcTemplate = BenchmarkFixtures.newDatabase();
+        GeneratedCharacterRepository repository = new GeneratedCharacterRepository(jdbcTemplate, new ObjectMapper());
+        historyWriter = new GenerationHistoryWriter(repository,
+                new NarrativeSearchService(new NarrativeIndexRepository(jdbcTemplate), repository),
+                new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource())), 1024, 64);
+        service = new CharacterGenerationService(new AiProviderContextStore(),
+                new CharacterGenerationStrategyRegistry(List.of()), historyWriter);
+        input = BenchmarkFixtures.characterInput(freeTextLength, selectionCount);
+        selection = BenchmarkFixtures.darknessSelection(selectionCount);
+    }
+
+    /**
+     * 履歴ライターを停止します。
+     *
+     * @throws InterruptedException 停止待ちの間に割り込まれた場合
+     */
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        historyWriter.destroy();
+    }
+
+    /**
+     * 公開 API 経由でローカル生成を計測します。
+     *
+     * @return 生成結果
+     */
+    @Benchmark
+    public GenerationResult generateWithoutProvider() {
+        return service.generate(input, selection, ProviderType.LOCAL);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.darkchar.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.darkchar.domain.DarknessPreset;
+import com.example.darkchar.domain.ProtagonistAlignment;
+
+/**
+ * スライダー操作のたびに呼ばれる列挙の検索処理を計測します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainLookupBenchmark {
+
+    @Param({"50", "137.5", "250"})
+    private double sliderValue;
+
+    @Param({"1", "3", "6"})
+    private int protagonistScore;
+
+    /**
+     * 闇堕ち度プリセットの最近傍検索を計測します。
+     *
+     * @return 最も近いプリセット
+     */
+    @Benchmark
+    public DarknessPreset closestTo() {
+        return DarknessPreset.closestTo(sliderValue);
+    }
+
+    /**
+     * 主人公度スコアから立ち位置を引く処理を計測します。
+     *
+     * @return 立ち位置
+     */
+    @Benchmark
+    public Optional<ProtagonistAlignment> fromScore() {
+        return ProtagonistAlignment.fromScore(protagonistScore);
+    }
+}
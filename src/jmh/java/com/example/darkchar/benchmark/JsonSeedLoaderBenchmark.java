@@ -0,0 +1,80 @@
+package com.example.darkchar.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.darkchar.config.JsonSeedLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 起動時の {@link JsonSeedLoader#run} による JSON 読み込みと一括登録を計測します。
+ * <p>
+ * {@code EMPTY} は毎回空のデータベースへの全件投入、{@code UNCHANGED} はファイル永続化した
+ * データベースを再起動したときと同じく、シードが変わっていない場合の（ハッシュ照合のみの）経路です。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSeedLoaderBenchmark {
+
+    @Param({"EMPTY", "UNCHANGED"})
+    private String seedState;
+
+    private final ApplicationArguments arguments = new DefaultApplicationArguments();
+
+    private JdbcTemplate jdbcTemplate;
+    private JsonSeedLoader seedLoader;
+
+    /**
+     * スキーマを用意し、{@code UNCHANGED} の場合は一度シードを投入しておきます。
+     *
+     * @throws Exception シード投入失敗時
+     */
+    @Setup
+    public void setUp() throws Exception {
+        jdbcTemplate = BenchmarkFixtures.newDatabase();
+        seedLoader = new JsonSeedLoader(new ObjectMapper(), jdbcTemplate);
+        seedLoader.run(arguments);
+    }
+
+    /**
+     * {@code EMPTY} の場合は毎回シードが投入されるようテーブルを空にします。
+     */
+    @Setup(Level.Invocation)
+    public void truncateTables() {
+        if (!"EMPTY".equals(seedState)) {
+            return;
+        }
+        jdbcTemplate.execute("TRUNCATE TABLE attribute_option");
+        jdbcTemplate.execute("TRUNCATE TABLE world_genre");
+        jdbcTemplate.execute("TRUNCATE TABLE seed_version");
+    }
+
+    /**
+     * シード投入を計測します。
+     *
+     * @throws Exception シード投入失敗時
+     */
+    @Benchmark
+    public void seed() throws Exception {
+        seedLoader.run(arguments);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.darkchar.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.service.local.LocalNarrativeEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link LocalNarrativeEngine} の1件あたりの生成スループットを計測します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalNarrativeEngineBenchmark {
+
+    @Param({"0", "200", "2000"})
+    private int freeTextLength;
+
+    @Param({"1", "4", "16"})
+    private int selectionCount;
+
+    private LocalNarrativeEngine engine;
+    private CharacterInput input;
+    private DarknessSelection selection;
+    private long seed;
+
+    /**
+     * エンジンと入力データを準備します。
+     */
+    @Setup
+    public void setUp() {
+        engine = new LocalNarrativeEngine(new ObjectMapper());
+        input = BenchmarkFixtures.characterInput(freeTextLength, selectionCount);
+        selection = BenchmarkFixtures.darknessSelection(selectionCount);
+    }
+
+    /**
+     * シードを変えながら1件生成します。
+     *
+     * @return 生成した文章
+     */
+    @Benchmark
+    public String generate() {
+        return engine.generate(input, selection, seed++);
+    }
+}
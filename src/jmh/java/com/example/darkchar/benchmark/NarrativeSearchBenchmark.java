@@ -0,0 +1,95 @@
+package com.example.darkchar.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.domain.GeneratedCharacter;
+import com.example.darkchar.repository.GeneratedCharacterRepository;
+import com.example.darkchar.repository.NarrativeIndexRepository;
+import com.example.darkchar.service.ai.ProviderType;
+import com.example.darkchar.service.history.GenerationHistoryEntry;
+import com.example.darkchar.service.history.NarrativeSearchHit;
+import com.example.darkchar.service.history.NarrativeSearchService;
+import com.example.darkchar.service.local.LocalNarrativeEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * ローカル生成した物語を大量に索引した H2 に対する {@link NarrativeSearchService#search(String, int)} を計測します。
+ * <p>
+ * 索引の構築に時間がかかるため、大きな件数は {@code -PjmhIncludes=NarrativeSearch} で個別に実行してください。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NarrativeSearchBenchmark {
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    @Param({"10000", "100000"})
+    private int documentCount;
+
+    /** 稀な語句・中程度の語句・頻出する語句。 */
+    @Param({"闇の王座", "息を呑んだ", "その日から"})
+    private String query;
+
+    private NarrativeSearchService searchService;
+
+    /**
+     * 物語を生成して履歴と索引へ登録します。
+     */
+    @Setup
+    public void setUp() {
+        JdbcTemplate jdbcTemplate = BenchmarkFixtures.newDatabase();
+        GeneratedCharacterRepository repository = new GeneratedCharacterRepository(jdbcTemplate, new ObjectMapper());
+        searchService = new NarrativeSearchService(new NarrativeIndexRepository(jdbcTemplate), repository);
+        LocalNarrativeEngine engine = new LocalNarrativeEngine(new ObjectMapper());
+        CharacterInput input = BenchmarkFixtures.characterInput(0, 4);
+        DarknessSelection selection = BenchmarkFixtures.darknessSelection(4);
+
+        for (int from = 0; from < documentCount; from += INSERT_BATCH_SIZE) {
+            int size = Math.min(INSERT_BATCH_SIZE, documentCount - from);
+            List<GenerationHistoryEntry> entries = new ArrayList<>(size);
+            List<String> narratives = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                String narrative = engine.generate(input, selection, from + i);
+                narratives.add(narrative);
+                entries.add(new GenerationHistoryEntry(
+                        new GeneratedCharacter(input, selection, narrative, Instant.now()), Optional.empty(),
+                        ProviderType.LOCAL, true, Optional.empty(), Optional.empty(), Duration.ZERO));
+            }
+            searchService.index(repository.batchInsert(entries), narratives);
+        }
+    }
+
+    /**
+     * 上位20件を検索します。
+     *
+     * @return 検索結果
+     */
+    @Benchmark
+    public List<NarrativeSearchHit> search() {
+        return searchService.search(query, 20);
+    }
+}
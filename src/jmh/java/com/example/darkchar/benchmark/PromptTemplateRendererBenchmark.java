@@ -0,0 +1,78 @@
+package com.example.darkchar.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.service.openai.PromptTemplateRenderer;
+
+/**
+ * {@link PromptTemplateRenderer} のレンダリングコストを計測します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptTemplateRendererBenchmark {
+
+    @Param({"0", "200", "2000"})
+    private int freeTextLength;
+
+    @Param({"1", "4", "16"})
+    private int selectionCount;
+
+    private PromptTemplateRenderer renderer;
+    private CharacterInput input;
+    private DarknessSelection selection;
+    private StringBuilder reusableBuffer;
+
+    /**
+     * レンダラと入力データを準備します。
+     */
+    @Setup
+    public void setUp() {
+        renderer = new PromptTemplateRenderer(new DefaultResourceLoader());
+        input = BenchmarkFixtures.characterInput(freeTextLength, selectionCount);
+        selection = BenchmarkFixtures.darknessSelection(selectionCount);
+        reusableBuffer = new StringBuilder(16 * 1024);
+    }
+
+    /**
+     * 文字列を返す API を計測します。
+     *
+     * @return レンダリング結果
+     */
+    @Benchmark
+    public String renderToString() {
+        return renderer.render(input, selection);
+    }
+
+    /**
+     * 再利用するバッファへ直接書き込む API を計測します。
+     *
+     * @return 書き込んだ文字数
+     * @throws IOException 書き込み失敗時
+     */
+    @Benchmark
+    public int renderToAppendable() throws IOException {
+        reusableBuffer.setLength(0);
+        renderer.render(input, selection, reusableBuffer);
+        return reusableBuffer.length();
+    }
+}
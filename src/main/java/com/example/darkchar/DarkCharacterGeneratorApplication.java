@@ -1,21 +1,72 @@
 package com.example.darkchar;
 
+import com.example.darkchar.cli.MassGenerationCommand;
+import com.example.darkchar.cli.StartupBenchmark;
 import com.example.darkchar.ui.DarkCharacterGeneratorFxApp;
 import javafx.application.Application;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 
 /**
  * アプリケーションエントリポイントを提供します。
+ * <p>
+ * このクラス自身の Spring 構成は、JavaFX もサーブレットコンテナも使わない大量生成コマンドのためのものです。
+ * 画面と REST API のコンポーネントはスキャンから外し、画面用の {@link DesktopApplication} やサーバー用の
+ * {@link ServerApplication} と同じく、そのモードで使うものだけを生成します。
  */
-@SpringBootApplication
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+        @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.example\\.darkchar\\.(ui|web)\\..*")
+})
 public class DarkCharacterGeneratorApplication {
 
     /**
      * Spring Boot と JavaFX を起動します。
+     * <p>
+     * {@code --mass-generate} が指定された場合は JavaFX を起動せず、大量生成を実行して終了します。
+     * {@code --server} が指定された場合は JavaFX を起動せず、{@link ServerApplication} の構成で REST API を公開します。
+     * {@code --startup-benchmark} が指定された場合は、アプリを別プロセスで繰り返し起動して起動時間を集計します。
      *
      * @param args コマンドライン引数
+     * @throws Exception 起動時間の計測に失敗した場合
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (StartupBenchmark.isRequested(args)) {
+            System.exit(StartupBenchmark.run(args));
+        }
+        if (MassGenerationCommand.isRequested(args)) {
+            runHeadless(args);
+            return;
+        }
+        if (ServerApplication.isRequested(args)) {
+            new SpringApplicationBuilder(ServerApplication.class)
+                    .profiles(ServerApplication.PROFILE)
+                    .headless(true)
+                    .web(WebApplicationType.SERVLET)
+                    .run(args);
+            return;
+        }
         Application.launch(DarkCharacterGeneratorFxApp.class, args);
     }
+
+    /**
+     * JavaFX を使わずに Spring コンテキストを起動し、コマンド完了後に終了します。
+     *
+     * @param args コマンドライン引数
+     */
+    private static void runHeadless(String[] args) {
+        int exitCode = SpringApplication.exit(new SpringApplicationBuilder(DarkCharacterGeneratorApplication.class)
+                .headless(true)
+                .web(WebApplicationType.NONE)
+                .run(args));
+        System.exit(exitCode);
+    }
 }
@@ -0,0 +1,46 @@
+package com.example.darkchar;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * デスクトップ画面を起動するときの Spring 構成です（{@value #PROFILE} プロファイル）。
+ * <p>
+ * {@link DarkCharacterGeneratorApplication} はクラスパス上のすべての自動構成を評価しますが、画面で使うのは
+ * データベース・JDBC・トランザクション・Jackson だけなので、ここでは必要な自動構成を明示して取り込みます。
+ * 大量生成のように画面から使わないコマンドや、サーバーモードの REST API はコンポーネントスキャンから外します。
+ * 新しい自動構成に依存する機能を追加した場合は、{@link ImportAutoConfiguration} に追記してください。
+ */
+@SpringBootConfiguration
+@Profile(DesktopApplication.PROFILE)
+@ImportAutoConfiguration({
+        PropertyPlaceholderAutoConfiguration.class,
+        JacksonAutoConfiguration.class,
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        TransactionAutoConfiguration.class,
+        JdbcTemplateAutoConfiguration.class,
+        SqlInitializationAutoConfiguration.class
+})
+@ComponentScan(excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = DarkCharacterGeneratorApplication.class),
+        @ComponentScan.Filter(type = FilterType.REGEX,
+                pattern = "com\\.example\\.darkchar\\.(cli|web|service\\.batch)\\..*")
+})
+public class DesktopApplication {
+
+    /** デスクトップ画面用の構成を有効にするプロファイル名です。 */
+    public static final String PROFILE = "desktop";
+}
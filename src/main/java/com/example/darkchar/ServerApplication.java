@@ -0,0 +1,45 @@
+package com.example.darkchar;
+
+import java.util.Arrays;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * JavaFX を使わずに生成機能を REST API として公開するときの Spring 構成です（{@value #PROFILE} プロファイル）。
+ * <p>
+ * {@code --server} を指定して起動すると、この構成でサーブレットコンテナを起動します。リクエストは仮想スレッドで
+ * 処理するため（{@code application-server.properties} の {@code spring.threads.virtual.enabled}）、生成 API の
+ * 呼び出しを待つ間もプラットフォームスレッドを占有しません。画面と大量生成コマンドはコンポーネントスキャンから外します。
+ */
+@SpringBootConfiguration
+@Profile(ServerApplication.PROFILE)
+@EnableAutoConfiguration
+@ComponentScan(excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = DarkCharacterGeneratorApplication.class),
+        @ComponentScan.Filter(type = FilterType.REGEX,
+                pattern = "com\\.example\\.darkchar\\.(cli|ui|service\\.batch)\\..*")
+})
+public class ServerApplication {
+
+    /** REST API 用の構成を有効にするプロファイル名です。 */
+    public static final String PROFILE = "server";
+
+    /** サーバーモードで起動するオプション名です。 */
+    public static final String OPTION = "server";
+
+    /**
+     * コマンドライン引数にサーバーモードの指定が含まれるか判定します。
+     *
+     * @param args コマンドライン引数
+     * @return サーバーモードなら true
+     */
+    public static boolean isRequested(String[] args) {
+        return Arrays.stream(args).anyMatch(arg -> arg.equals("--" + OPTION));
+    }
+}
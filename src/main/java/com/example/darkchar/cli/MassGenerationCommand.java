@@ -0,0 +1,126 @@
+package com.example.darkchar.cli;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.example.darkchar.service.batch.MassGenerationReport;
+import com.example.darkchar.service.batch.MassGenerationRequest;
+import com.example.darkchar.service.batch.MassGenerationService;
+
+/**
+ * {@code --mass-generate} 指定時にローカル生成エンジンで大量生成を実行するコマンドです。
+ * <p>
+ * 利用例: {@code --mass-generate --seed-start=0 --count=1000000 --shards=16 --output=build/corpus}
+ */
+@Component
+public class MassGenerationCommand implements ApplicationRunner {
+
+    /** 大量生成モードを有効にするオプション名です。 */
+    public static final String OPTION = "mass-generate";
+
+    private static final Logger logger = LoggerFactory.getLogger(MassGenerationCommand.class);
+    private static final String DEFAULT_OUTPUT = "build/mass-generation";
+    private static final long DEFAULT_COUNT = 10_000L;
+
+    private final MassGenerationService massGenerationService;
+
+    /**
+     * 大量生成サービスを注入します。
+     *
+     * @param massGenerationService 大量生成サービス
+     */
+    public MassGenerationCommand(MassGenerationService massGenerationService) {
+        this.massGenerationService = massGenerationService;
+    }
+
+    /**
+     * コマンドライン引数に大量生成の指定が含まれるか判定します。
+     *
+     * @param args コマンドライン引数
+     * @return 大量生成モードなら true
+     */
+    public static boolean isRequested(String[] args) {
+        return Arrays.stream(args).anyMatch(arg -> arg.equals("--" + OPTION) || arg.startsWith("--" + OPTION + "="));
+    }
+
+    /**
+     * 大量生成モードの場合に生成を実行します。
+     *
+     * @param args 実行引数
+     * @throws Exception 生成に失敗した場合
+     */
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        int processors = Runtime.getRuntime().availableProcessors();
+        int parallelism = intOption(args, "parallelism", processors);
+        MassGenerationRequest request = new MassGenerationRequest(
+                longOption(args, "seed-start", 0L),
+                longOption(args, "count", DEFAULT_COUNT),
+                intOption(args, "shards", parallelism),
+                parallelism,
+                Path.of(stringOption(args, "output", DEFAULT_OUTPUT)));
+        MassGenerationReport report = massGenerationService.generate(request);
+        logger.info("Wrote {} characters into {} shard(s) under {} ({} characters/s)",
+                report.count(), report.shardFiles().size(), request.outputDirectory().toAbsolutePath(),
+                String.format(Locale.ROOT, "%.0f", report.charactersPerSecond()));
+    }
+
+    /**
+     * 文字列オプションを取得します。
+     *
+     * @param args         実行引数
+     * @param name         オプション名
+     * @param defaultValue 既定値
+     * @return オプション値
+     */
+    private static String stringOption(ApplicationArguments args, String name, String defaultValue) {
+        List<String> values = args.getOptionValues(name);
+        if (values == null || values.isEmpty() || values.get(0).isBlank()) {
+            return defaultValue;
+        }
+        return values.get(0).trim();
+    }
+
+    /**
+     * 整数オプションを取得します。
+     *
+     * @param args         実行引数
+     * @param name         オプション名
+     * @param defaultValue 既定値
+     * @return オプション値
+     */
+    private static long longOption(ApplicationArguments args, String name, long defaultValue) {
+        String value = stringOption(args, name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.replace("_", ""));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid value for --" + name + ": " + value, ex);
+        }
+    }
+
+    /**
+     * 整数オプションを取得します。
+     *
+     * @param args         実行引数
+     * @param name         オプション名
+     * @param defaultValue 既定値
+     * @return オプション値
+     */
+    private static int intOption(ApplicationArguments args, String name, int defaultValue) {
+        return Math.toIntExact(longOption(args, name, defaultValue));
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.darkchar.cli;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.example.darkchar.DarkCharacterGeneratorApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * {@code --startup-benchmark[=回数]} 指定時に、アプリの起動時間を繰り返し計測します。
+ * <p>
+ * 毎回新しい JVM で {@code --startup-probe} 付きのアプリを起動します。プローブモードのアプリは最初のフレームと
+ * メイン画面の表示を記録すると {@link #PROBE_PREFIX} で始まる1行を標準出力へ書いて終了するので、
+ * その行を集計して指標ごとの最小・中央値・平均・最大を表示します。
+ * <p>
+ * 利用例: {@code --startup-benchmark=10 --startup-benchmark-output=build/startup.json
+ * --startup-benchmark-jvm-args="-XX:TieredStopAtLevel=1"}
+ * <p>
+ * 子プロセスには現在の JVM と同じクラスパス・JVM オプションを引き継ぐため、ビルドや JVM オプションを変えて
+ * 同じコマンドを実行すれば結果を比較できます。JavaFX を使うため、ディスプレイのない環境では Monocle の
+ * ヘッドレスプラットフォームなどを JVM オプションで指定してください。
+ */
+public final class StartupBenchmark {
+
+    /** 起動時間の計測モードを有効にするオプション名です。 */
+    public static final String OPTION = "startup-benchmark";
+
+    /** 計測対象として起動されたアプリであることを示すオプション名です。 */
+    public static final String PROBE_OPTION = "startup-probe";
+
+    /** プローブモードのアプリが計測結果を出力する行の接頭辞です。 */
+    public static final String PROBE_PREFIX = "STARTUP-PROBE ";
+
+    private static final String OUTPUT_OPTION = OPTION + "-output";
+    private static final String JVM_ARGS_OPTION = OPTION + "-jvm-args";
+    private static final int DEFAULT_RUNS = 5;
+    private static final long RUN_TIMEOUT_SECONDS = 120;
+    private static final long EXIT_GRACE_SECONDS = 15;
+    private static final int LOG_TAIL_LINES = 40;
+
+    private StartupBenchmark() {
+        // utility class
+    }
+
+    /**
+     * コマンドライン引数に起動時間の計測指定が含まれるか判定します。
+     *
+     * @param args コマンドライン引数
+     * @return 計測モードなら true
+     */
+    public static boolean isRequested(String[] args) {
+        return option(args, OPTION).isPresent();
+    }
+
+    /**
+     * コマンドライン引数がプローブモードの指定を含むか判定します。
+     *
+     * @param args コマンドライン引数
+     * @return プローブモードなら true
+     */
+    public static boolean isProbe(List<String> args) {
+        return args.contains("--" + PROBE_OPTION);
+    }
+
+    /**
+     * 指定回数だけアプリを起動して計測し、集計結果を表示します。
+     *
+     * @param args コマンドライン引数
+     * @return 終了コード（すべての起動を計測できた場合は 0）
+     * @throws IOException         子プロセスの起動や結果の書き出しに失敗した場合
+     * @throws InterruptedException 計測中に割り込まれた場合
+     */
+    public static int run(String[] args) throws IOException, InterruptedException {
+        int runs = option(args, OPTION).filter(value -> !value.isBlank())
+                .map(value -> Integer.parseInt(value.trim()))
+                .orElse(DEFAULT_RUNS);
+        if (runs <= 0) {
+            throw new IllegalArgumentException("--" + OPTION + " must be positive: " + runs);
+        }
+        List<String> extraJvmArgs = option(args, JVM_ARGS_OPTION)
+                .map(value -> Arrays.stream(value.trim().split("\\s+")).filter(arg -> !arg.isEmpty()).toList())
+                .orElse(List.of());
+        List<String> appArgs = Arrays.stream(args)
+                .filter(arg -> !arg.equals("--" + OPTION) && !arg.startsWith("--" + OPTION + "=")
+                        && !arg.startsWith("--" + OUTPUT_OPTION + "=") && !arg.startsWith("--" + JVM_ARGS_OPTION + "="))
+                .toList();
+        List<String> command = childCommand(extraJvmArgs, appArgs);
+
+        List<Map<String, Long>> samples = new ArrayList<>();
+        int failures = 0;
+        for (int i = 1; i <= runs; i++) {
+            Optional<Map<String, Long>> sample = launchOnce(command);
+            if (sample.isPresent()) {
+                samples.add(sample.get());
+                System.out.printf(Locale.ROOT, "run %d/%d: %s%n", i, runs, sample.get());
+            } else {
+                failures++;
+                System.out.printf(Locale.ROOT, "run %d/%d: failed%n", i, runs);
+            }
+        }
+
+        Map<String, Stats> summary = summarize(samples);
+        System.out.println(format(summary, samples.size(), failures, extraJvmArgs));
+        Optional<String> output = option(args, OUTPUT_OPTION).filter(value -> !value.isBlank());
+        if (output.isPresent()) {
+            writeReport(Path.of(output.get().trim()), summary, samples.size(), failures, extraJvmArgs);
+        }
+        return failures == 0 && !samples.isEmpty() ? 0 : 1;
+    }
+
+    /**
+     * プローブモードのアプリが出力した1行を指標名とミリ秒の組へ変換します。
+     *
+     * @param line 出力行
+     * @return 指標（プローブの行でない場合は空）
+     */
+    static Optional<Map<String, Long>> parseProbeLine(String line) {
+        if (!line.startsWith(PROBE_PREFIX)) {
+            return Optional.empty();
+        }
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        for (String token : line.substring(PROBE_PREFIX.length()).trim().split("\\s+")) {
+            int separator = token.indexOf('=');
+            if (separator > 0) {
+                metrics.put(token.substring(0, separator), Long.parseLong(token.substring(separator + 1)));
+            }
+        }
+        return Optional.of(metrics);
+    }
+
+    /**
+     * 起動ごとの指標を指標名ごとに集計します。指標の並びは最初に現れた順です。
+     *
+     * @param samples 起動ごとの指標
+     * @return 指標名ごとの統計値
+     */
+    static Map<String, Stats> summarize(List<Map<String, Long>> samples) {
+        Map<String, List<Long>> values = new LinkedHashMap<>();
+        for (Map<String, Long> sample : samples) {
+            sample.forEach((metric, millis) -> values.computeIfAbsent(metric, key -> new ArrayList<>()).add(millis));
+        }
+        Map<String, Stats> summary = new LinkedHashMap<>();
+        values.forEach((metric, millis) -> summary.put(metric, Stats.of(millis)));
+        return summary;
+    }
+
+    /**
+     * 1指標分の統計値です（単位はミリ秒）。
+     *
+     * @param count  サンプル数
+     * @param min    最小値
+     * @param median 中央値
+     * @param mean   平均値
+     * @param max    最大値
+     */
+    record Stats(int count, long min, double median, double mean, long max) {
+
+        static Stats of(List<Long> values) {
+            long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+            int n = sorted.length;
+            double median = n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2.0;
+            return new Stats(n, sorted[0], median, Arrays.stream(sorted).average().orElse(0), sorted[n - 1]);
+        }
+    }
+
+    private static Optional<Map<String, Long>> launchOnce(List<String> command)
+            throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        Deque<String> tail = new ArrayDeque<>();
+        Optional<Map<String, Long>> result = Optional.empty();
+        // 出力を読み続けないと子プロセスが詰まるため、出力はこのスレッドで読み、タイムアウトは別スレッドで監視する
+        Thread watchdog = Thread.ofPlatform().daemon().start(() -> {
+            try {
+                if (!process.waitFor(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Optional<Map<String, Long>> parsed = parseProbeLine(line);
+                if (parsed.isPresent()) {
+                    result = parsed;
+                    break;
+                }
+                if (tail.size() == LOG_TAIL_LINES) {
+                    tail.removeFirst();
+                }
+                tail.addLast(line);
+            }
+            if (result.isPresent()) {
+                // 計測は済んでいるので、終了処理が長引く場合は打ち切る
+                reader.transferTo(Writer.nullWriter());
+            }
+        }
+        if (!process.waitFor(EXIT_GRACE_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+        watchdog.interrupt();
+        if (result.isEmpty()) {
+            System.err.printf(Locale.ROOT, "Startup probe exited with %d without reporting; last output:%n",
+                    process.exitValue());
+            tail.forEach(System.err::println);
+        }
+        return result;
+    }
+
+    /**
+     * 現在の JVM と同じ実行環境でプローブモードのアプリを起動するコマンドを組み立てます。
+     *
+     * @param extraJvmArgs 追加の JVM オプション
+     * @param appArgs      アプリへ渡す引数
+     * @return コマンド
+     */
+    private static List<String> childCommand(List<String> extraJvmArgs, List<String> appArgs) {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command()
+                .orElse(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        for (String jvmArg : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            // デバッガの接続先やランチャーが内部で設定するモジュール関連のプロパティは引き継がない
+            if (!jvmArg.startsWith("-agentlib:jdwp") && !jvmArg.startsWith("-Djdk.module.")) {
+                command.add(jvmArg);
+            }
+        }
+        String modulePath = System.getProperty("jdk.module.path");
+        if (modulePath != null && !modulePath.isBlank()) {
+            command.add("--module-path");
+            command.add(modulePath);
+            List<String> addModules = new ArrayList<>();
+            for (int i = 0; System.getProperty("jdk.module.addmods." + i) != null; i++) {
+                addModules.add(System.getProperty("jdk.module.addmods." + i));
+            }
+            if (!addModules.isEmpty()) {
+                command.add("--add-modules");
+                command.add(String.join(",", addModules));
+            }
+        }
+        command.addAll(extraJvmArgs);
+        String classPath = System.getProperty("java.class.path");
+        if (classPath.endsWith(".jar") && !classPath.contains(File.pathSeparator)) {
+            // 実行可能 Jar（bootJar・jpackage）から起動された場合は同じ Jar をそのまま起動する
+            command.add("-jar");
+            command.add(classPath);
+        } else {
+            command.add("-cp");
+            command.add(classPath);
+            command.add(DarkCharacterGeneratorApplication.class.getName());
+        }
+        command.addAll(appArgs);
+        command.add("--" + PROBE_OPTION);
+        return command;
+    }
+
+    private static String format(Map<String, Stats> summary, int runs, int failures, List<String> extraJvmArgs) {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT,
+                "Startup benchmark: %d successful run(s), %d failure(s), java %s, extra JVM args %s%n",
+                runs, failures, Runtime.version(), extraJvmArgs));
+        text.append(String.format(Locale.ROOT, "%-28s %8s %8s %8s %8s  (ms)%n", "metric", "min", "median", "mean",
+                "max"));
+        summary.forEach((metric, stats) -> text.append(String.format(Locale.ROOT, "%-28s %8d %8.1f %8.1f %8d%n",
+                metric, stats.min(), stats.median(), stats.mean(), stats.max())));
+        return text.toString().stripTrailing();
+    }
+
+    private static void writeReport(Path output, Map<String, Stats> summary, int runs, int failures,
+            List<String> extraJvmArgs) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("successfulRuns", runs);
+        report.put("failures", failures);
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("extraJvmArgs", extraJvmArgs);
+        report.put("metrics", summary);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        System.out.println("Wrote startup benchmark report to " + output.toAbsolutePath());
+    }
+
+    private static Optional<String> option(String[] args, String name) {
+        for (String arg : args) {
+            if (arg.equals("--" + name)) {
+                return Optional.of("");
+            }
+            if (arg.startsWith("--" + name + "=")) {
+                return Optional.of(arg.substring(name.length() + 3));
+            }
+        }
+        return Optional.empty();
+    }
+}
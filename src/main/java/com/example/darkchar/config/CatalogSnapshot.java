@@ -0,0 +1,228 @@
+package com.example.darkchar.config;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.WorldGenre;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * ビルド時に同梱シードから作る、属性マスタのバイナリスナップショットです。
+ * <p>
+ * 形式は先頭からマジック番号、形式バージョン、世界観ジャンル（件数と ID・名称）、属性（件数と ID・カテゴリ・名称・説明）、
+ * 末尾にそれまでのバイト列の CRC32 を並べたものです。文字列は2バイトの長さに続く UTF-8 です。
+ * <p>
+ * ID は名称（属性はカテゴリと名称）の SHA-256 から導くため、シードファイルの
+ * 追加・削除や属性の並べ替え、ファイル間の移動があっても、同じ項目にはリリースをまたいで同じ ID が付きます。
+ * データベースの自動採番と重ならないよう、同梱データには {@link #BUNDLED_ID_BASE} 以上の範囲を予約しています。
+ * 書き出し時に ID が衝突した場合はビルドを失敗させます。
+ * <p>
+ * ID が安定するのはスナップショットから読み込む場合だけです。スナップショットを使わずに JSON からデータベースへ
+ * 投入した場合はデータベースの自動採番になるため、パッケージ版と開発時の実行とで同じ属性でも ID は異なります。
+ */
+public final class CatalogSnapshot {
+
+    /** 同梱データに割り当てる ID の開始値。 */
+    public static final long BUNDLED_ID_BASE = 1_000_000_000L;
+
+    /** 同梱データの ID の範囲（2^40 件。JavaScript の数値でも正確に扱える大きさに収める）。 */
+    private static final long BUNDLED_ID_RANGE = 1L << 40;
+    private static final String GENRE_KEY = "WORLD_GENRE";
+    private static final int MAGIC = 0x44435331; // "DCS1"
+    private static final short FORMAT_VERSION = 2;
+
+    private final List<WorldGenre> worldGenres;
+    private final List<AttributeOption> options;
+
+    private CatalogSnapshot(List<WorldGenre> worldGenres, List<AttributeOption> options) {
+        this.worldGenres = List.copyOf(worldGenres);
+        this.options = List.copyOf(options);
+    }
+
+    /**
+     * 世界観ジャンルを返します。
+     *
+     * @return 世界観ジャンル（同梱順）
+     */
+    public List<WorldGenre> worldGenres() {
+        return worldGenres;
+    }
+
+    /**
+     * 属性を返します。
+     *
+     * @return 属性（同梱順）
+     */
+    public List<AttributeOption> options() {
+        return options;
+    }
+
+    /**
+     * 世界観ジャンルの同梱 ID を導きます。同じ名称には常に同じ ID を返します。
+     *
+     * @param name ジャンル名
+     * @return {@link #BUNDLED_ID_BASE} 以上の ID
+     */
+    public static long bundledGenreId(String name) {
+        return bundledId(GENRE_KEY, name);
+    }
+
+    /**
+     * 属性の同梱 ID を導きます。同じカテゴリ・名称には常に同じ ID を返します。
+     *
+     * @param category カテゴリ
+     * @param name     属性名
+     * @return {@link #BUNDLED_ID_BASE} 以上の ID
+     */
+    public static long bundledOptionId(AttributeCategory category, String name) {
+        return bundledId(category.name(), name);
+    }
+
+    /**
+     * シードをスナップショット形式でファイルへ書き出します。
+     *
+     * @param path        出力先
+     * @param worldGenres 世界観ジャンル
+     * @param options     属性
+     * @throws IOException           書き込みに失敗した場合
+     * @throws IllegalStateException 導いた ID が衝突した場合
+     */
+    public static void write(Path path, List<WorldGenreSeed> worldGenres, List<AttributeOptionSeed> options)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+            out.writeInt(worldGenres.size());
+            Set<Long> genreIds = new HashSet<>();
+            for (WorldGenreSeed genre : worldGenres) {
+                out.writeLong(claimId(genreIds, bundledGenreId(genre.name()), genre.name()));
+                writeString(out, genre.name());
+            }
+            out.writeInt(options.size());
+            Set<Long> optionIds = new HashSet<>();
+            for (AttributeOptionSeed option : options) {
+                AttributeCategory category = AttributeCategory.fromCode(option.category());
+                out.writeLong(claimId(optionIds, bundledOptionId(category, option.name()),
+                        category.name() + '/' + option.name()));
+                writeString(out, category.name());
+                writeString(out, option.name());
+                writeString(out, option.description());
+            }
+        }
+        byte[] body = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer file = ByteBuffer.allocate(body.length + Integer.BYTES).put(body).putInt((int) crc.getValue());
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.write(path, file.array());
+    }
+
+    /**
+     * ファイルをメモリマップして読み込みます。
+     *
+     * @param path スナップショットファイル
+     * @return スナップショット
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public static CatalogSnapshot map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer);
+        }
+    }
+
+    /**
+     * バッファの内容を読み込みます。
+     *
+     * @param buffer スナップショットの内容（位置 0 から末尾まで）
+     * @return スナップショット
+     * @throws IOException 形式が不正な場合
+     */
+    public static CatalogSnapshot read(ByteBuffer buffer) throws IOException {
+        ByteBuffer source = buffer.duplicate();
+        if (source.remaining() < Integer.BYTES * 2) {
+            throw new IOException("Catalog snapshot is truncated");
+        }
+        int bodyLength = source.limit() - Integer.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(source.duplicate().limit(bodyLength));
+        if ((int) crc.getValue() != source.getInt(bodyLength)) {
+            throw new IOException("Catalog snapshot checksum mismatch");
+        }
+        source.limit(bodyLength);
+        try {
+            if (source.getInt() != MAGIC || source.getShort() != FORMAT_VERSION) {
+                throw new IOException("Unsupported catalog snapshot format");
+            }
+            int genreCount = source.getInt();
+            List<WorldGenre> worldGenres = new ArrayList<>(genreCount);
+            for (int i = 0; i < genreCount; i++) {
+                worldGenres.add(new WorldGenre(source.getLong(), readString(source)));
+            }
+            int optionCount = source.getInt();
+            List<AttributeOption> options = new ArrayList<>(optionCount);
+            for (int i = 0; i < optionCount; i++) {
+                long id = source.getLong();
+                AttributeCategory category = AttributeCategory.valueOf(readString(source));
+                options.add(new AttributeOption(id, category, readString(source), readString(source)));
+            }
+            return new CatalogSnapshot(worldGenres, options);
+        } catch (BufferUnderflowException | IllegalArgumentException ex) {
+            throw new IOException("Catalog snapshot is corrupted", ex);
+        }
+    }
+
+    private static long bundledId(String... keyParts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+        digest.update(String.join("\u0000", keyParts).getBytes(StandardCharsets.UTF_8));
+        long hash = ByteBuffer.wrap(digest.digest()).getLong();
+        return BUNDLED_ID_BASE + Math.floorMod(hash, BUNDLED_ID_RANGE);
+    }
+
+    private static long claimId(Set<Long> claimed, long id, String label) {
+        if (!claimed.add(id)) {
+            throw new IllegalStateException("Bundled id collision for " + label + ": " + id);
+        }
+        return id;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        if (encoded.length > 0xFFFF) {
+            throw new IllegalArgumentException("String too long for catalog snapshot: " + value.length());
+        }
+        out.writeShort(encoded.length);
+        out.write(encoded);
+    }
+
+    private static String readString(ByteBuffer source) {
+        int length = Short.toUnsignedInt(source.getShort());
+        byte[] encoded = new byte[length];
+        source.get(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.darkchar.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 同梱シードの JSON を {@link CatalogSnapshot} 形式へ変換します。
+ * <p>
+ * Gradle の {@code compileCatalogSnapshot} タスクからビルド時に実行されます。属性ファイルはファイル名順に読み、
+ * カテゴリと名称が重複する属性は {@link JsonSeedLoader} と同じく先に現れたものを採用します。
+ * ID は読み込み順ではなくカテゴリと名称から導くため、ファイル構成を変えても同じ属性の ID は変わりません。
+ */
+public final class CatalogSnapshotCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotCompiler.class);
+    private static final String WORLD_GENRES_FILE = "world-genres.json";
+    private static final String ATTRIBUTE_OPTIONS_DIR = "attribute-options";
+
+    private CatalogSnapshotCompiler() {
+        // utility class
+    }
+
+    /**
+     * シードのディレクトリとスナップショットの出力先を受け取って変換します。
+     *
+     * @param args シードのディレクトリ（{@code data}）、出力ファイル
+     * @throws IOException 読み書きに失敗した場合
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: CatalogSnapshotCompiler <seed-data-dir> <output-file>");
+        }
+        compile(Path.of(args[0]), Path.of(args[1]));
+    }
+
+    /**
+     * シードのディレクトリからスナップショットを作ります。
+     *
+     * @param seedDirectory シードのディレクトリ（{@code world-genres.json} と {@code attribute-options/} を含む）
+     * @param output        出力ファイル
+     * @throws IOException 読み書きに失敗した場合
+     */
+    public static void compile(Path seedDirectory, Path output) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<WorldGenreSeed> worldGenres = new ArrayList<>();
+        Set<String> genreNames = new HashSet<>();
+        for (WorldGenreSeed genre : objectMapper.readValue(seedDirectory.resolve(WORLD_GENRES_FILE).toFile(),
+                new TypeReference<List<WorldGenreSeed>>() {})) {
+            if (genreNames.add(genre.name())) {
+                worldGenres.add(genre);
+            }
+        }
+
+        List<Path> optionFiles;
+        try (Stream<Path> files = Files.list(seedDirectory.resolve(ATTRIBUTE_OPTIONS_DIR))) {
+            optionFiles = files.filter(file -> file.getFileName().toString().endsWith(".json")).sorted().toList();
+        }
+        List<AttributeOptionSeed> options = new ArrayList<>();
+        Set<String> optionKeys = new HashSet<>();
+        for (Path file : optionFiles) {
+            for (AttributeOptionSeed option : objectMapper.readValue(file.toFile(),
+                    new TypeReference<List<AttributeOptionSeed>>() {})) {
+                if (optionKeys.add(option.category() + '\u0000' + option.name())) {
+                    options.add(option);
+                } else {
+                    logger.warn("Ignoring duplicate attribute option {}/{} in {}", option.category(), option.name(),
+                            file.getFileName());
+                }
+            }
+        }
+
+        CatalogSnapshot.write(output, worldGenres, options);
+        logger.info("Compiled catalog snapshot {}: {} world genres, {} attribute options, {} bytes.", output,
+                worldGenres.size(), options.size(), Files.size(output));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.darkchar.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * ビルド時に作った {@link CatalogSnapshot} を探して読み込みます。
+ * <p>
+ * {@code darkchar.catalog.snapshot} にファイルパスが指定されていればそれを、なければクラスパスの
+ * {@code data/catalog.snapshot} を使います。ファイルとして存在する場合は {@link java.nio.channels.FileChannel}
+ * でメモリマップし、Jar 内のエントリのようにマップできない場合はバイト列を読み込みます。
+ * 見つからない、または壊れている場合は空を返し、従来どおり JSON からデータベースへ投入する経路に任せます。
+ */
+@Component
+public class CatalogSnapshotProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotProvider.class);
+    private static final String CLASSPATH_LOCATION = "data/catalog.snapshot";
+
+    private final boolean enabled;
+    private final String location;
+    private Optional<CatalogSnapshot> snapshot;
+
+    /**
+     * スナップショットの場所を注入します。
+     *
+     * @param location スナップショットのファイルパス（空の場合はクラスパスから探す）
+     */
+    @Autowired
+    public CatalogSnapshotProvider(@Value("${darkchar.catalog.snapshot:}") String location) {
+        this(true, location);
+    }
+
+    private CatalogSnapshotProvider(boolean enabled, String location) {
+        this.enabled = enabled;
+        this.location = location;
+    }
+
+    /**
+     * スナップショットを使わないプロバイダーを作ります。
+     *
+     * @return 常に空を返すプロバイダー
+     */
+    public static CatalogSnapshotProvider disabled() {
+        return new CatalogSnapshotProvider(false, "");
+    }
+
+    /**
+     * スナップショットを返します。初回呼び出し時に一度だけ読み込みます。
+     *
+     * @return スナップショット（利用できない場合は空）
+     */
+    public synchronized Optional<CatalogSnapshot> snapshot() {
+        if (snapshot == null) {
+            snapshot = enabled ? load() : Optional.empty();
+        }
+        return snapshot;
+    }
+
+    private Optional<CatalogSnapshot> load() {
+        long started = System.nanoTime();
+        try {
+            Optional<CatalogSnapshot> loaded = location.isBlank()
+                    ? loadFromClasspath()
+                    : loadFromFile(Path.of(location));
+            loaded.ifPresent(value -> logger.info(
+                    "Loaded catalog snapshot in {} us: {} world genres, {} attribute options.",
+                    (System.nanoTime() - started) / 1_000L, value.worldGenres().size(), value.options().size()));
+            return loaded;
+        } catch (IOException ex) {
+            logger.warn("Ignoring unreadable catalog snapshot; falling back to JSON seeding: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<CatalogSnapshot> loadFromFile(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            logger.warn("Catalog snapshot {} not found; falling back to JSON seeding.", path);
+            return Optional.empty();
+        }
+        return Optional.of(CatalogSnapshot.map(path));
+    }
+
+    private Optional<CatalogSnapshot> loadFromClasspath() throws IOException {
+        ClassPathResource resource = new ClassPathResource(CLASSPATH_LOCATION);
+        if (!resource.exists()) {
+            logger.debug("No catalog snapshot on the classpath; using JSON seeding.");
+            return Optional.empty();
+        }
+        if (resource.isFile()) {
+            return Optional.of(CatalogSnapshot.map(resource.getFile().toPath()));
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            return Optional.of(CatalogSnapshot.read(ByteBuffer.wrap(inputStream.readAllBytes())));
+        }
+    }
+}
@@ -1,174 +1,674 @@
 package com.example.darkchar.config;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.ApplicationStartupAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 /**
  * JSON ファイルから初期データを読み込みます。
+ * <p>
+ * 他の {@link ApplicationRunner} がマスタを参照できるよう、最初に実行されます。
+ * <p>
+ * シードファイルごとの内容ハッシュ（SHA-256）を {@code seed_version} に記録し、ハッシュが一致するファイルは
+ * JSON の解析も登録も行いません。変更されたファイルだけを解析し、そのファイル由来の行
+ * （{@code seed_resource} 列）との差分を追加・更新・削除で反映するため、変わっていない行の ID は維持されます。
+ * ハッシュは差分の反映後に記録するので、途中で失敗しても次回起動時に同じ差分が再適用されます。
+ * シードファイルの一覧の取得や読み込みに失敗した場合は、削除されたファイルと区別できないため何も反映せずに失敗させます。
+ * 属性が別のファイルへ移された場合は、移動元の削除を終えてから移動先へ登録します。別の出所と重複して
+ * 登録できなかった属性があるファイルはハッシュを記録せず、次回起動時に登録をやり直します。
+ * 差分を反映した場合は {@link SeedDataChangedEvent} を発行し、メモリ上のマスタを差し替えさせます。
+ * <p>
+ * 変更されたファイルは複数スレッドで同時に処理します。各ファイルは Jackson の {@link JsonParser} で要素ごとに
+ * 読み進め、{@code darkchar.seed.batch-size} 件ずつ一括登録するため、ファイル全体をメモリへ展開しません。
+ * <p>
+ * ビルド時に作った {@link CatalogSnapshot} が利用できる場合、同梱シードはスナップショットから直接メモリへ読み込まれるため、
+ * ここでは投入しません（以前に投入した同梱シードの行は削除され、データベースにはユーザーが編集したデータだけが残ります）。
+ * <p>
+ * 処理全体は {@link #STARTUP_STEP} という名前の起動ステップとして {@link ApplicationStartup} に記録します。
  */
 @Component
-public class JsonSeedLoader implements ApplicationRunner {
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class JsonSeedLoader implements ApplicationRunner, ApplicationEventPublisherAware, ApplicationStartupAware {
+
+    /** シード投入の起動ステップ名。 */
+    public static final String STARTUP_STEP = "darkchar.json-seed";
 
     private static final Logger logger = LoggerFactory.getLogger(JsonSeedLoader.class);
     private static final String WORLD_GENRES_RESOURCE_PATH = "data/world-genres.json";
     private static final String ATTRIBUTE_OPTIONS_RESOURCE_PATTERN = "classpath:data/attribute-options/*.json";
+    private static final String ATTRIBUTE_OPTIONS_RESOURCE_PREFIX = "data/attribute-options/";
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    /** ユーザーが直接登録した属性の所有者を表す値（{@code seed_resource} が NULL の行）。 */
+    private static final String USER_OWNER = "";
 
     private final ObjectMapper objectMapper;
     private final JdbcTemplate jdbcTemplate;
     private final ResourcePatternResolver resourcePatternResolver;
+    private final CatalogSnapshotProvider snapshotProvider;
+    private final int batchSize;
+    private final int parallelism;
+    private ApplicationEventPublisher eventPublisher;
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
 
     /**
-     * 依存コンポーネントを注入します。
+     * スナップショットを使わず、既定の一括登録件数と並列数（コア数）で作成します。
      *
      * @param objectMapper JSON マッパー
      * @param jdbcTemplate JDBC テンプレート
      */
     public JsonSeedLoader(ObjectMapper objectMapper, JdbcTemplate jdbcTemplate) {
+        this(objectMapper, jdbcTemplate, CatalogSnapshotProvider.disabled(), DEFAULT_BATCH_SIZE, 0);
+    }
+
+    /**
+     * 依存コンポーネントと設定値を注入します。
+     *
+     * @param objectMapper     JSON マッパー
+     * @param jdbcTemplate     JDBC テンプレート
+     * @param snapshotProvider 同梱シードのスナップショット
+     * @param batchSize        1回の一括登録で書き込む最大件数
+     * @param parallelism      同時に処理するファイル数（0 以下はコア数）
+     */
+    @Autowired
+    public JsonSeedLoader(ObjectMapper objectMapper, JdbcTemplate jdbcTemplate,
+            CatalogSnapshotProvider snapshotProvider,
+            @Value("${darkchar.seed.batch-size:500}") int batchSize,
+            @Value("${darkchar.seed.parallelism:0}") int parallelism) {
+        this(objectMapper, jdbcTemplate, snapshotProvider, batchSize, parallelism,
+                new PathMatchingResourcePatternResolver());
+    }
+
+    /**
+     * シードファイルの探索方法を指定して作成します。
+     *
+     * @param objectMapper            JSON マッパー
+     * @param jdbcTemplate            JDBC テンプレート
+     * @param snapshotProvider        同梱シードのスナップショット
+     * @param batchSize               1回の一括登録で書き込む最大件数
+     * @param parallelism             同時に処理するファイル数（0 以下はコア数）
+     * @param resourcePatternResolver シードファイルの探索に使うリゾルバ
+     */
+    JsonSeedLoader(ObjectMapper objectMapper, JdbcTemplate jdbcTemplate, CatalogSnapshotProvider snapshotProvider,
+            int batchSize, int parallelism, ResourcePatternResolver resourcePatternResolver) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
         this.objectMapper = objectMapper;
         this.jdbcTemplate = jdbcTemplate;
-        this.resourcePatternResolver = new PathMatchingResourcePatternResolver();
+        this.resourcePatternResolver = resourcePatternResolver;
+        this.snapshotProvider = snapshotProvider;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
     }
 
     /**
-     * アプリ起動時にデータを投入します。
+     * アプリ起動時に、前回から変更されたシードファイルの差分だけを反映します。
      *
      * @param args 実行引数
+     * @throws Exception シードファイルを読み込めなかった場合、または差分の反映中にデータベースエラーが発生した場合
      */
     @Override
     public void run(ApplicationArguments args) throws Exception {
-        long worldGenreCount = countRows("world_genre");
-        long attributeOptionCount = countRows("attribute_option");
+        StartupStep step = applicationStartup.start(STARTUP_STEP);
+        try {
+            applyChangedResources(step);
+        } finally {
+            step.end();
+        }
+    }
+
+    /**
+     * 変更されたシードファイルの差分を反映し、件数を起動ステップに記録します。
+     *
+     * @param step 起動ステップ
+     * @throws Exception シードファイルを読み込めなかった場合、または差分の反映中にデータベースエラーが発生した場合
+     */
+    private void applyChangedResources(StartupStep step) throws Exception {
+        long started = System.nanoTime();
+        Map<String, String> appliedHashes = loadAppliedHashes();
+        List<SeedResource> resources = resolveSeedResources();
 
-        if (worldGenreCount > 0 && attributeOptionCount > 0) {
-            logger.debug("Skipping JSON seed loading because tables already contain data.");
-            return;
+        Set<String> presentResources = new HashSet<>();
+        List<SeedResource> changed = new ArrayList<>();
+        for (SeedResource resource : resources) {
+            presentResources.add(resource.name());
+            if (!resource.contentHash().equals(appliedHashes.get(resource.name()))) {
+                changed.add(resource);
+            }
         }
+        int applied = applyConcurrently(changed);
 
-        if (worldGenreCount == 0) {
-            List<WorldGenreSeed> worldGenres = readWorldGenres();
-            if (!worldGenres.isEmpty()) {
-                insertWorldGenres(worldGenres);
+        int removed = 0;
+        for (String name : appliedHashes.keySet()) {
+            if (!presentResources.contains(name)) {
+                removeResource(name);
+                removed++;
             }
         }
 
-        if (attributeOptionCount == 0) {
-            List<AttributeOptionSeed> attributeOptions = readAttributeOptions();
-            if (!attributeOptions.isEmpty()) {
-                insertAttributeOptions(attributeOptions);
+        step.tag("resources", String.valueOf(resources.size()))
+                .tag("applied", String.valueOf(applied))
+                .tag("removed", String.valueOf(removed));
+        if (applied == 0 && removed == 0) {
+            logger.debug("Skipping JSON seed loading because all {} seed resources are unchanged ({} ms).",
+                    resources.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } else {
+            logger.info("Applied {} changed and removed {} deleted seed resources in {} ms.", applied, removed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            if (eventPublisher != null) {
+                eventPublisher.publishEvent(new SeedDataChangedEvent(applied, removed));
             }
         }
     }
 
     /**
-     * 世界観ジャンルを登録します。
+     * シード反映イベントの発行先を受け取ります。
      *
-     * @param worldGenres シードデータ
+     * @param eventPublisher イベント発行元
      */
-    private void insertWorldGenres(List<WorldGenreSeed> worldGenres) {
-        if (worldGenres.isEmpty()) {
-            return;
-        }
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
 
-        jdbcTemplate.batchUpdate(
-                "INSERT INTO world_genre (name) VALUES (?)",
-                worldGenres.stream()
-                        .map(genre -> new Object[]{genre.name()})
-                        .toList()
-        );
-        logger.info("Inserted {} world genres from JSON seed.", worldGenres.size());
+    /**
+     * 起動ステップの記録先を受け取ります。
+     *
+     * @param applicationStartup 起動ステップの記録先
+     */
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
     }
 
     /**
-     * 属性データを登録します。
+     * 変更されたシードファイルを並列に反映し、成功したものだけハッシュを記録します。
      *
-     * @param attributeOptions シードデータ
+     * @param changed 変更されたシードファイル
+     * @return 反映できたファイル数
+     * @throws Exception データベースエラーが発生した場合
      */
-    private void insertAttributeOptions(List<AttributeOptionSeed> attributeOptions) {
-        if (attributeOptions.isEmpty()) {
-            return;
+    private int applyConcurrently(List<SeedResource> changed) throws Exception {
+        if (changed.isEmpty()) {
+            return 0;
         }
+        Set<String> changedNames = new HashSet<>();
+        changed.forEach(resource -> changedNames.add(resource.name()));
+        OptionClaims claims = new OptionClaims(changed.stream()
+                .anyMatch(resource -> resource.kind() == SeedKind.ATTRIBUTE_OPTIONS)
+                        ? loadOptionOwners()
+                        : new ConcurrentHashMap<>(),
+                changedNames);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, changed.size()),
+                Thread.ofPlatform().name("seed-loader-", 0).daemon().factory());
+        try {
+            List<Future<Boolean>> results = new ArrayList<>(changed.size());
+            for (SeedResource resource : changed) {
+                results.add(executor.submit(() -> apply(resource, claims)));
+            }
+            List<SeedResource> succeeded = new ArrayList<>(changed.size());
+            for (int i = 0; i < changed.size(); i++) {
+                if (await(results.get(i))) {
+                    succeeded.add(changed.get(i));
+                }
+            }
+            resolveDeferred(claims);
+            for (SeedResource resource : succeeded) {
+                if (claims.conflicted().contains(resource.name())) {
+                    logger.warn("Not recording the hash of {} so that its skipped attribute options are retried "
+                            + "on the next start.", resource.name());
+                } else {
+                    recordHash(resource);
+                }
+            }
+            return succeeded.size();
+        } finally {
+            executor.shutdown();
+        }
+    }
 
-        jdbcTemplate.batchUpdate(
-                "INSERT INTO attribute_option (category, name, description) VALUES (?, ?, ?)",
-                attributeOptions.stream()
-                        .map(option -> new Object[]{option.category(), option.name(), option.description()})
-                        .toList()
-        );
-        logger.info("Inserted {} attribute options from JSON seed.", attributeOptions.size());
+    /**
+     * 所有元のファイルも変更されていたため保留した属性を登録します。すべてのファイルの削除が終わった後に呼び出すため、
+     * 所有元から消えた（別のファイルへ移された）属性だけが登録され、所有元に残っている属性は重複として扱います。
+     *
+     * @param claims 属性の所有権
+     */
+    private void resolveDeferred(OptionClaims claims) {
+        for (DeferredOption option : claims.deferred()) {
+            AttributeOptionSeed seed = option.seed();
+            Long existing = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM attribute_option WHERE category = ? AND name = ?", Long.class,
+                    seed.category(), seed.name());
+            if (existing != null && existing > 0) {
+                logger.warn("Ignoring attribute option {}/{} in {} because another resource already defines it.",
+                        seed.category(), seed.name(), option.resource());
+                claims.conflicted().add(option.resource());
+                continue;
+            }
+            jdbcTemplate.update(
+                    "INSERT INTO attribute_option (category, name, description, seed_resource) VALUES (?, ?, ?, ?)",
+                    seed.category(), seed.name(), seed.description(), option.resource());
+            logger.info("Moved attribute option {}/{} to {}.", seed.category(), seed.name(), option.resource());
+        }
     }
 
     /**
-     * 世界観ジャンルのシードを読み込みます。
+     * 1ファイル分の処理結果を待ちます。データベースエラーは呼び出し元へそのまま伝えます。
      *
-     * @return シードデータ
+     * @param result 処理結果
+     * @return 反映できた場合は {@code true}
+     * @throws Exception 処理中の例外
      */
-    private List<WorldGenreSeed> readWorldGenres() {
-        Resource resource = new ClassPathResource(WORLD_GENRES_RESOURCE_PATH);
-        if (!resource.exists()) {
-            logger.warn("World genre seed resource {} not found on classpath.", WORLD_GENRES_RESOURCE_PATH);
-            return Collections.emptyList();
+    private static boolean await(Future<Boolean> result) throws Exception {
+        try {
+            return result.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof Exception cause ? cause : ex;
         }
+    }
 
-        try (InputStream inputStream = resource.getInputStream()) {
-            return objectMapper.readValue(inputStream, new TypeReference<List<WorldGenreSeed>>() {});
+    /**
+     * 1ファイル分の差分を反映します。JSON が不正な場合はそのファイルだけを諦めます。
+     *
+     * @param resource シードファイル
+     * @param claims   属性の所有権（ファイル間で共有）
+     * @return 反映できた場合は {@code true}
+     */
+    private boolean apply(SeedResource resource, OptionClaims claims) {
+        long started = System.nanoTime();
+        try (InputStream inputStream = resource.resource().getInputStream();
+                JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            String summary = resource.kind() == SeedKind.WORLD_GENRES
+                    ? applyWorldGenres(resource, parser)
+                    : applyAttributeOptions(resource, parser, claims);
+            logger.info("Applied seed {} in {} ms: {}.", resource.name(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), summary);
+            return true;
         } catch (IOException ex) {
-            logger.error("Failed to read world genre seed data from {}", WORLD_GENRES_RESOURCE_PATH, ex);
-            return Collections.emptyList();
+            logger.error("Failed to read seed data from {}", resource.name(), ex);
+            return false;
         }
     }
 
     /**
-     * 属性シードをすべて読み込みます。
+     * 世界観ジャンルの差分を反映します。名称が一致する行は ID を維持します。
      *
-     * @return シードデータ
+     * @param resource シードファイル
+     * @param parser   ファイル先頭に位置するパーサー
+     * @return 件数の要約
+     * @throws IOException JSON が不正な場合
      */
-    private List<AttributeOptionSeed> readAttributeOptions() {
-        try {
-            Resource[] resources = resourcePatternResolver.getResources(ATTRIBUTE_OPTIONS_RESOURCE_PATTERN);
-            if (resources.length == 0) {
-                logger.warn("No attribute option seed resources found using pattern {}", ATTRIBUTE_OPTIONS_RESOURCE_PATTERN);
-                return Collections.emptyList();
+    private String applyWorldGenres(SeedResource resource, JsonParser parser) throws IOException {
+        Map<String, Long> existing = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM world_genre WHERE seed_resource = ?",
+                rs -> {
+                    existing.put(rs.getString("name"), rs.getLong("id"));
+                },
+                resource.name());
+
+        Set<String> seen = new HashSet<>();
+        ChunkedBatch inserts = new ChunkedBatch("INSERT INTO world_genre (name, seed_resource) VALUES (?, ?)");
+        readArray(parser, WorldGenreSeed.class, seed -> {
+            if (seen.add(seed.name()) && !existing.containsKey(seed.name())) {
+                inserts.add(new Object[] { seed.name(), resource.name() });
             }
+        });
+        inserts.flush();
 
-            List<AttributeOptionSeed> allOptions = new ArrayList<>();
-            for (Resource resource : resources) {
-                try (InputStream inputStream = resource.getInputStream()) {
-                    List<AttributeOptionSeed> options = objectMapper.readValue(inputStream, new TypeReference<List<AttributeOptionSeed>>() {});
-                    allOptions.addAll(options);
-                } catch (IOException ex) {
-                    logger.error("Failed to read attribute option seed data from {}", resource.getFilename(), ex);
+        ChunkedBatch deletes = new ChunkedBatch("DELETE FROM world_genre WHERE id = ?");
+        existing.forEach((name, id) -> {
+            if (!seen.contains(name)) {
+                deletes.add(new Object[] { id });
+            }
+        });
+        deletes.flush();
+        return inserts.count() + " inserted, " + deletes.count() + " deleted";
+    }
+
+    /**
+     * 属性データの差分を反映します。カテゴリと名称が一致する行は ID を維持し、説明のみ更新します。
+     *
+     * @param resource シードファイル
+     * @param parser   ファイル先頭に位置するパーサー
+     * @param claims   属性の所有権（ファイル間で共有）
+     * @return 件数の要約
+     * @throws IOException JSON が不正な場合
+     */
+    private String applyAttributeOptions(SeedResource resource, JsonParser parser, OptionClaims claims)
+            throws IOException {
+        Map<OptionKey, ExistingOption> existing = new HashMap<>();
+        jdbcTemplate.query("SELECT id, category, name, description FROM attribute_option WHERE seed_resource = ?",
+                rs -> {
+                    existing.put(new OptionKey(rs.getString("category"), rs.getString("name")),
+                            new ExistingOption(rs.getLong("id"), rs.getString("description")));
+                },
+                resource.name());
+
+        Set<OptionKey> seen = new HashSet<>();
+        ChunkedBatch inserts = new ChunkedBatch(
+                "INSERT INTO attribute_option (category, name, description, seed_resource) VALUES (?, ?, ?, ?)");
+        ChunkedBatch updates = new ChunkedBatch("UPDATE attribute_option SET description = ? WHERE id = ?");
+        readArray(parser, AttributeOptionSeed.class, seed -> {
+            OptionKey key = new OptionKey(seed.category(), seed.name());
+            if (!seen.add(key)) {
+                logger.warn("Ignoring duplicate attribute option {}/{} in {}", seed.category(), seed.name(),
+                        resource.name());
+                return;
+            }
+            ExistingOption current = existing.get(key);
+            if (current != null) {
+                if (!Objects.equals(current.description(), seed.description())) {
+                    updates.add(new Object[] { seed.description(), current.id() });
+                }
+                return;
+            }
+            // (category, name) は一意制約があるため、先に登録された別ファイルやユーザー定義の行を優先する
+            String owner = claims.owners().putIfAbsent(key, resource.name());
+            if (owner != null && !owner.equals(resource.name())) {
+                if (claims.changedResources().contains(owner)) {
+                    // 所有元も反映中なので、こちらへ移された可能性がある。所有元の削除が終わってから判定する
+                    claims.deferred().add(new DeferredOption(resource.name(), seed));
+                    return;
                 }
+                logger.warn("Ignoring attribute option {}/{} in {} because another resource already defines it.",
+                        seed.category(), seed.name(), resource.name());
+                claims.conflicted().add(resource.name());
+                return;
+            }
+            inserts.add(new Object[] { seed.category(), seed.name(), seed.description(), resource.name() });
+        });
+        inserts.flush();
+        updates.flush();
+
+        ChunkedBatch deletes = new ChunkedBatch("DELETE FROM attribute_option WHERE id = ?");
+        existing.forEach((key, option) -> {
+            if (!seen.contains(key)) {
+                deletes.add(new Object[] { option.id() });
             }
-            return allOptions;
+        });
+        deletes.flush();
+        return inserts.count() + " inserted, " + updates.count() + " updated, " + deletes.count() + " deleted";
+    }
+
+    /**
+     * JSON 配列の要素を1件ずつ読み込んで渡します。
+     *
+     * @param parser   ファイル先頭に位置するパーサー
+     * @param type     要素の型
+     * @param consumer 要素を受け取る処理
+     * @param <T>      要素の型
+     * @throws IOException JSON が不正な場合
+     */
+    private <T> void readArray(JsonParser parser, Class<T> type, Consumer<T> consumer) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw JsonMappingException.from(parser, "Seed data must be a JSON array");
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+            consumer.accept(objectMapper.readValue(parser, type));
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw JsonMappingException.from(parser, "Seed data must be an array of objects");
+        }
+    }
+
+    /**
+     * 登録済みの全属性について、キーから所有するシードファイル名へのマップを作ります。
+     *
+     * @return 属性の所有者（ユーザー定義は {@link #USER_OWNER}）
+     */
+    private ConcurrentMap<OptionKey, String> loadOptionOwners() {
+        ConcurrentMap<OptionKey, String> owners = new ConcurrentHashMap<>();
+        jdbcTemplate.query("SELECT category, name, seed_resource FROM attribute_option",
+                rs -> {
+                    String owner = rs.getString("seed_resource");
+                    owners.put(new OptionKey(rs.getString("category"), rs.getString("name")),
+                            owner == null ? USER_OWNER : owner);
+                });
+        return owners;
+    }
+
+    /**
+     * クラスパスから消えたシードファイル由来の行と記録を削除します。
+     *
+     * @param name シードファイル名
+     */
+    private void removeResource(String name) {
+        int genres = jdbcTemplate.update("DELETE FROM world_genre WHERE seed_resource = ?", name);
+        int options = jdbcTemplate.update("DELETE FROM attribute_option WHERE seed_resource = ?", name);
+        jdbcTemplate.update("DELETE FROM seed_version WHERE resource = ?", name);
+        logger.info("Removed seed resource {}: {} world genres and {} attribute options deleted.", name, genres,
+                options);
+    }
+
+    /**
+     * 反映済みのハッシュを記録します。
+     *
+     * @param resource シードファイル
+     */
+    private void recordHash(SeedResource resource) {
+        jdbcTemplate.update("MERGE INTO seed_version (resource, content_hash, applied_at) KEY (resource) VALUES (?, ?, ?)",
+                resource.name(), resource.contentHash(), Timestamp.from(Instant.now()));
+    }
+
+    /**
+     * 反映済みのハッシュを取得します。
+     *
+     * @return シードファイル名からハッシュへのマップ
+     */
+    private Map<String, String> loadAppliedHashes() {
+        Map<String, String> hashes = new HashMap<>();
+        jdbcTemplate.query("SELECT resource, content_hash FROM seed_version",
+                rs -> {
+                    hashes.put(rs.getString("resource"), rs.getString("content_hash"));
+                });
+        return hashes;
+    }
+
+    /**
+     * シードファイルを読み込み、内容ハッシュを計算します。JSON の解析は行いません。
+     * <p>
+     * 一覧に載らなかったファイルは削除されたものとして行を消すため、一覧の取得や読み込みに失敗した場合は
+     * 一部だけの一覧を返さずに例外を投げます。
+     *
+     * @return シードファイル
+     * @throws IOException シードファイルの一覧の取得または読み込みに失敗した場合
+     */
+    private List<SeedResource> resolveSeedResources() throws IOException {
+        List<SeedResource> resources = new ArrayList<>();
+        if (snapshotProvider.snapshot().isPresent()) {
+            logger.debug("Bundled seed data is served from the catalog snapshot; skipping JSON seed resources.");
+            return resources;
+        }
+        Resource worldGenres = resourcePatternResolver.getResource(
+                ResourcePatternResolver.CLASSPATH_URL_PREFIX + WORLD_GENRES_RESOURCE_PATH);
+        if (worldGenres.exists()) {
+            resources.add(readSeedResource(worldGenres, WORLD_GENRES_RESOURCE_PATH, SeedKind.WORLD_GENRES));
+        } else {
+            logger.warn("World genre seed resource {} not found on classpath.", WORLD_GENRES_RESOURCE_PATH);
+        }
+
+        Resource[] attributeResources;
+        try {
+            attributeResources = resourcePatternResolver.getResources(ATTRIBUTE_OPTIONS_RESOURCE_PATTERN);
         } catch (IOException ex) {
-            logger.error("Failed to resolve attribute option seed resources using pattern {}", ATTRIBUTE_OPTIONS_RESOURCE_PATTERN, ex);
-            return Collections.emptyList();
+            throw new IOException("Failed to resolve attribute option seed resources using pattern "
+                    + ATTRIBUTE_OPTIONS_RESOURCE_PATTERN, ex);
+        }
+        if (attributeResources.length == 0) {
+            logger.warn("No attribute option seed resources found using pattern {}", ATTRIBUTE_OPTIONS_RESOURCE_PATTERN);
+        }
+        for (Resource resource : attributeResources) {
+            resources.add(readSeedResource(resource, ATTRIBUTE_OPTIONS_RESOURCE_PREFIX + resource.getFilename(),
+                    SeedKind.ATTRIBUTE_OPTIONS));
         }
+        return resources;
     }
 
     /**
-     * テーブル内の件数を取得します。
+     * 1ファイル分の内容ハッシュをストリームで計算します。
      *
-     * @param tableName テーブル名
-     * @return 件数
+     * @param resource リソース
+     * @param name     記録に使うファイル名
+     * @param kind     種別
+     * @return シードファイル
+     * @throws IOException 読み込みに失敗した場合
      */
-    private long countRows(String tableName) {
-        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tableName, Long.class);
-        return count != null ? count : 0L;
+    private SeedResource readSeedResource(Resource resource, String name, SeedKind kind) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream inputStream = new DigestInputStream(resource.getInputStream(), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+            return new SeedResource(name, kind, resource, HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException ex) {
+            throw new IOException("Failed to read seed resource " + name, ex);
+        }
+    }
+
+    /**
+     * SHA-256 のダイジェストを作成します。
+     *
+     * @return ダイジェスト
+     */
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * シードファイルの種別です。
+     */
+    private enum SeedKind {
+        WORLD_GENRES,
+        ATTRIBUTE_OPTIONS
+    }
+
+    /**
+     * ハッシュを計算済みのシードファイルです。
+     */
+    private record SeedResource(String name, SeedKind kind, Resource resource, String contentHash) {
+    }
+
+    /**
+     * 属性データを同一視するキーです。
+     */
+    private record OptionKey(String category, String name) {
+    }
+
+    /**
+     * 登録済みの属性データです。
+     */
+    private record ExistingOption(long id, String description) {
+    }
+
+    /**
+     * 同時に処理するファイル間で共有する属性の所有権です。
+     *
+     * @param owners           属性のキーから所有するシードファイル名へのマップ（ユーザー定義は {@link #USER_OWNER}）
+     * @param changedResources 今回反映するシードファイル名
+     * @param deferred         所有元も反映中だったため登録を保留した属性
+     * @param conflicted       別の出所と重複して登録できなかった属性があるシードファイル名
+     */
+    private record OptionClaims(ConcurrentMap<OptionKey, String> owners, Set<String> changedResources,
+            Queue<DeferredOption> deferred, Set<String> conflicted) {
+
+        OptionClaims(ConcurrentMap<OptionKey, String> owners, Set<String> changedResources) {
+            this(owners, changedResources, new ConcurrentLinkedQueue<>(), ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * 登録を保留した属性です。
+     */
+    private record DeferredOption(String resource, AttributeOptionSeed seed) {
+    }
+
+    /**
+     * 一定件数たまるごとに一括更新する SQL です。
+     */
+    private final class ChunkedBatch {
+
+        private final String sql;
+        private final List<Object[]> pending = new ArrayList<>();
+        private int count;
+
+        ChunkedBatch(String sql) {
+            this.sql = sql;
+        }
+
+        /**
+         * 1行分の引数を追加し、一括登録件数に達したら書き込みます。
+         */
+        void add(Object[] args) {
+            pending.add(args);
+            count++;
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * たまっている引数を書き込みます。
+         */
+        void flush() {
+            if (!pending.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, pending);
+                pending.clear();
+            }
+        }
+
+        /**
+         * 追加された件数を返します。
+         */
+        int count() {
+            return count;
+        }
     }
 }
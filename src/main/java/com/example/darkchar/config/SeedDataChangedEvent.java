@@ -0,0 +1,10 @@
+package com.example.darkchar.config;
+
+/**
+ * シードの差分がデータベースへ反映されたことを通知するイベントです。
+ *
+ * @param appliedResources 反映したシードファイル数
+ * @param removedResources 削除したシードファイル数
+ */
+public record SeedDataChangedEvent(int appliedResources, int removedResources) {
+}
@@ -0,0 +1,179 @@
+package com.example.darkchar.repository;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.GeneratedCharacter;
+import com.example.darkchar.service.ai.TokenUsage;
+import com.example.darkchar.service.history.GenerationHistoryEntry;
+import com.example.darkchar.service.history.StoredNarrative;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 生成履歴を保存するリポジトリです。
+ */
+@Repository
+public class GeneratedCharacterRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO generated_character (generated_at, input_mode, world_genre, protagonist_score,
+                character_traits, trait_free_text, darkness_level, darkness_selections, darkness_free_text,
+                narrative, prompt, provider, used_provider, model, prompt_tokens, completion_tokens, latency_ms)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 依存コンポーネントを注入します。
+     *
+     * @param jdbcTemplate JDBC テンプレート
+     * @param objectMapper 選択内容の JSON 化に使うマッパー
+     */
+    public GeneratedCharacterRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 生成履歴をまとめて登録します。
+     *
+     * @param entries 登録する履歴
+     * @return 採番されたID（引数と同じ順）
+     */
+    public List<Long> batchInsert(List<GenerationHistoryEntry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, entries.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return entries.size();
+                    }
+                }, keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    /**
+     * 指定IDの物語本文を取得します。
+     *
+     * @param ids 履歴ID
+     * @return 物語本文（順不同。存在しないIDは含まれません）
+     */
+    public List<StoredNarrative> findNarratives(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT id, generated_at, world_genre, narrative FROM generated_character WHERE id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")",
+                (rs, rowNum) -> new StoredNarrative(
+                        rs.getLong("id"),
+                        rs.getTimestamp("generated_at").toInstant(),
+                        rs.getString("world_genre"),
+                        rs.getString("narrative")),
+                ids.toArray());
+    }
+
+    /**
+     * 保存済みの履歴件数を取得します。
+     *
+     * @return 件数
+     */
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM generated_character", Long.class);
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * 1件分の値をステートメントへ設定します。
+     *
+     * @param ps    ステートメント
+     * @param entry 履歴
+     * @throws SQLException SQL エラー
+     */
+    private void bind(PreparedStatement ps, GenerationHistoryEntry entry) throws SQLException {
+        GeneratedCharacter character = entry.character();
+        CharacterInput input = character.characterInput();
+        ps.setTimestamp(1, Timestamp.from(character.generatedAt()));
+        ps.setString(2, input.mode().name());
+        ps.setString(3, input.worldGenre().name());
+        ps.setInt(4, input.protagonistScore());
+        ps.setString(5, toJson(input.characterTraits() == null ? List.of()
+                : input.characterTraits().stream().map(AttributeOption::name).toList()));
+        ps.setString(6, input.traitFreeText());
+        ps.setInt(7, character.darknessSelection().darknessLevel());
+        ps.setString(8, toJson(toNameMap(character.darknessSelection().selections())));
+        ps.setString(9, input.darknessFreeText());
+        ps.setString(10, character.narrative());
+        ps.setString(11, entry.prompt().orElse(null));
+        ps.setString(12, entry.providerType().name());
+        ps.setBoolean(13, entry.usedProvider());
+        ps.setString(14, entry.model().orElse(null));
+        setNullableLong(ps, 15, entry.usage().map(TokenUsage::promptTokens).orElse(null));
+        setNullableLong(ps, 16, entry.usage().map(TokenUsage::completionTokens).orElse(null));
+        ps.setLong(17, entry.latency().toMillis());
+    }
+
+    /**
+     * カテゴリごとの選択肢を名称のマップへ変換します。
+     *
+     * @param selections 闇堕ち選択
+     * @return カテゴリコードから名称一覧へのマップ
+     */
+    private Map<String, List<String>> toNameMap(Map<AttributeCategory, List<AttributeOption>> selections) {
+        Map<String, List<String>> names = new LinkedHashMap<>();
+        selections.forEach((category, options) -> {
+            if (!options.isEmpty()) {
+                names.put(category.name(), options.stream().map(AttributeOption::name).toList());
+            }
+        });
+        return names;
+    }
+
+    /**
+     * 値を JSON 文字列へ変換します。
+     *
+     * @param value 値
+     * @return JSON 文字列
+     */
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize generation history value", ex);
+        }
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.darkchar.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 物語本文の文字バイグラム転置索引を読み書きするリポジトリです。
+ * <p>
+ * {@code narrative_posting_block} はバイグラムごとのポスティングを書き込み単位のブロック（符号化済みバイト列）で、
+ * {@code narrative_bigram_stat} はバイグラムごとの出現文書数とブロック数を保持します。
+ * 1ポスティング1行にしないのは、検索時に読む行数をポスティング数ではなくブロック数に抑えるためです。
+ */
+@Repository
+public class NarrativeIndexRepository {
+
+    /** IN 句1回あたりに渡す最大件数。 */
+    private static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
+    private static final String MERGE_STAT_SQL = """
+            MERGE INTO narrative_bigram_stat s
+            USING (VALUES (CAST(? AS VARCHAR(4)), CAST(? AS BIGINT))) v(gram, delta)
+            ON s.gram = v.gram
+            WHEN MATCHED THEN UPDATE SET document_frequency = s.document_frequency + v.delta,
+                block_count = s.block_count + 1
+            WHEN NOT MATCHED THEN INSERT (gram, document_frequency, block_count) VALUES (v.gram, v.delta, 1)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * JDBC テンプレートを注入します。
+     *
+     * @param jdbcTemplate JDBC テンプレート
+     */
+    public NarrativeIndexRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * ポスティングブロックを一括登録し、バイグラムごとの統計を加算します。
+     *
+     * @param blocks              {@code {gram, firstCharacterId, documentCount, postings}} の配列リスト
+     * @param documentFrequencies バイグラムから加算する文書数へのマップ（各バイグラムのブロック数も1増えます）
+     */
+    @Transactional
+    public void appendBlocks(List<Object[]> blocks, Map<String, Long> documentFrequencies) {
+        if (blocks.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO narrative_posting_block (gram, first_character_id, document_count, postings) VALUES (?, ?, ?, ?)",
+                blocks);
+        jdbcTemplate.batchUpdate(MERGE_STAT_SQL, documentFrequencies.entrySet().stream()
+                .map(entry -> new Object[] { entry.getKey(), entry.getValue() })
+                .toList());
+    }
+
+    /**
+     * バイグラムの末尾のブロック（先頭IDが {@code fromCharacterId} 以上のもの）を1つにまとめ直します。
+     *
+     * @param gram             バイグラム
+     * @param fromCharacterId  まとめる最初のブロックの先頭ID
+     * @param mergedBlockCount まとめるブロック数
+     * @param documentCount    まとめたブロックの文書数
+     * @param postings         まとめたブロック
+     */
+    @Transactional
+    public void replaceTailBlocks(String gram, long fromCharacterId, int mergedBlockCount, int documentCount,
+            byte[] postings) {
+        jdbcTemplate.update("DELETE FROM narrative_posting_block WHERE gram = ? AND first_character_id >= ?", gram,
+                fromCharacterId);
+        jdbcTemplate.update(
+                "INSERT INTO narrative_posting_block (gram, first_character_id, document_count, postings) VALUES (?, ?, ?, ?)",
+                gram, fromCharacterId, documentCount, postings);
+        jdbcTemplate.update("UPDATE narrative_bigram_stat SET block_count = block_count - ? WHERE gram = ?",
+                mergedBlockCount - 1, gram);
+    }
+
+    /**
+     * バイグラムのブロックを先頭IDの昇順で取得します。
+     *
+     * @param gram バイグラム
+     * @return 符号化済みブロック
+     */
+    public List<byte[]> findBlocks(String gram) {
+        return jdbcTemplate.query(
+                "SELECT postings FROM narrative_posting_block WHERE gram = ? ORDER BY first_character_id",
+                (rs, rowNum) -> rs.getBytes("postings"),
+                gram);
+    }
+
+    /**
+     * バイグラムの先頭IDが {@code fromCharacterId} 以上のブロックを先頭IDの昇順で取得します。
+     *
+     * @param gram            バイグラム
+     * @param fromCharacterId 最初のブロックの先頭ID
+     * @return 符号化済みブロック
+     */
+    public List<byte[]> findBlocksFrom(String gram, long fromCharacterId) {
+        return jdbcTemplate.query(
+                "SELECT postings FROM narrative_posting_block WHERE gram = ? AND first_character_id >= ? "
+                        + "ORDER BY first_character_id",
+                (rs, rowNum) -> rs.getBytes("postings"),
+                gram, fromCharacterId);
+    }
+
+    /**
+     * バイグラムの各ブロックの先頭IDと文書数を、ポスティングを読まずに先頭IDの昇順で取得します。
+     *
+     * @param gram バイグラム
+     * @return ブロックの大きさ
+     */
+    public List<BlockSize> findBlockSizes(String gram) {
+        return jdbcTemplate.query(
+                "SELECT first_character_id, document_count FROM narrative_posting_block WHERE gram = ? "
+                        + "ORDER BY first_character_id",
+                (rs, rowNum) -> new BlockSize(rs.getLong("first_character_id"), rs.getInt("document_count")),
+                gram);
+    }
+
+    /**
+     * ブロック数が閾値を超えたバイグラムを取得します。
+     *
+     * @param grams     対象バイグラム
+     * @param threshold 閾値
+     * @return 該当するバイグラム
+     */
+    public List<String> findGramsWithBlocksAbove(Collection<String> grams, int threshold) {
+        List<String> result = new ArrayList<>();
+        for (List<String> chunk : chunk(grams)) {
+            Object[] args = new Object[chunk.size() + 1];
+            chunk.toArray(args);
+            args[chunk.size()] = threshold;
+            result.addAll(jdbcTemplate.queryForList("SELECT gram FROM narrative_bigram_stat WHERE gram IN ("
+                    + placeholders(chunk.size()) + ") AND block_count > ?", String.class, args));
+        }
+        return result;
+    }
+
+    /**
+     * 指定したバイグラムの出現文書数を取得します。索引にないバイグラムは結果に含まれません。
+     *
+     * @param grams バイグラム
+     * @return バイグラムから出現文書数へのマップ
+     */
+    public Map<String, Long> findDocumentFrequencies(Collection<String> grams) {
+        Map<String, Long> frequencies = new HashMap<>();
+        for (List<String> chunk : chunk(grams)) {
+            jdbcTemplate.query("SELECT gram, document_frequency FROM narrative_bigram_stat WHERE gram IN ("
+                    + placeholders(chunk.size()) + ")",
+                    rs -> {
+                        frequencies.put(rs.getString("gram"), rs.getLong("document_frequency"));
+                    },
+                    chunk.toArray());
+        }
+        return frequencies;
+    }
+
+    /**
+     * 1ブロックの先頭IDと文書数です。
+     *
+     * @param firstCharacterId 先頭ID
+     * @param documentCount    文書数
+     */
+    public record BlockSize(long firstCharacterId, int documentCount) {
+    }
+
+    /**
+     * IN 句のプレースホルダを組み立てます。
+     *
+     * @param count 個数
+     * @return {@code ?, ?, ...}
+     */
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * IN 句に渡せる大きさへ分割します。
+     *
+     * @param values 値
+     * @param <T>    値の型
+     * @return 分割したリスト
+     */
+    private static <T> List<List<T>> chunk(Collection<T> values) {
+        List<T> all = new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            chunks.add(all.subList(from, Math.min(all.size(), from + IN_CLAUSE_CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+}
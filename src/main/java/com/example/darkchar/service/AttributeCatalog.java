@@ -0,0 +1,147 @@
+package com.example.darkchar.service;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.WorldGenre;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * ある時点の属性マスタを保持する不変のスナップショットです。
+ * <p>
+ * カテゴリ別の一覧、ID の昇順に並べた索引、カテゴリと名称による索引を構築時にまとめて作るため、
+ * 参照はいずれもデータベースへの問い合わせなしで完了します。ID には同梱データの大きな値（{@code CatalogSnapshot} が
+ * カテゴリと名称から導いたもの）とデータベースの自動採番が混在して範囲が疎になるため、ID の検索は二分探索で行います。シードが変わった場合は
+ * {@link AttributeQueryService} が新しいスナップショットを作って丸ごと差し替えます。
+ */
+public final class AttributeCatalog {
+
+    private final List<WorldGenre> worldGenres;
+    private final Map<AttributeCategory, List<AttributeOption>> optionsByCategory;
+    private final Map<AttributeCategory, List<AttributeOption>> darknessOptions;
+    private final Map<AttributeCategory, Map<String, AttributeOption>> optionsByName;
+    private final int optionCount;
+    /** 昇順の ID と、同じ並びの選択肢。 */
+    private final long[] sortedIds;
+    private final AttributeOption[] sortedOptions;
+
+    private AttributeCatalog(List<WorldGenre> worldGenres, Collection<AttributeOption> options) {
+        this.worldGenres = List.copyOf(worldGenres);
+
+        Map<AttributeCategory, List<AttributeOption>> grouped = new EnumMap<>(AttributeCategory.class);
+        Map<AttributeCategory, Map<String, AttributeOption>> byName = new EnumMap<>(AttributeCategory.class);
+        for (AttributeOption option : options) {
+            grouped.computeIfAbsent(option.category(), category -> new ArrayList<>()).add(option);
+            byName.computeIfAbsent(option.category(), category -> new HashMap<>())
+                    .putIfAbsent(option.name(), option);
+        }
+        Map<AttributeCategory, List<AttributeOption>> darkness = new EnumMap<>(AttributeCategory.class);
+        grouped.replaceAll((category, list) -> List.copyOf(list));
+        grouped.forEach((category, list) -> {
+            if (category != AttributeCategory.CHARACTER_TRAIT) {
+                darkness.put(category, list);
+            }
+        });
+        byName.replaceAll((category, map) -> Map.copyOf(map));
+        this.optionsByCategory = Collections.unmodifiableMap(grouped);
+        this.darknessOptions = Collections.unmodifiableMap(darkness);
+        this.optionsByName = Collections.unmodifiableMap(byName);
+        this.optionCount = options.size();
+
+        AttributeOption[] sorted = options.toArray(AttributeOption[]::new);
+        Arrays.sort(sorted, (a, b) -> Long.compare(a.id(), b.id()));
+        long[] ids = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            ids[i] = sorted[i].id();
+        }
+        this.sortedIds = ids;
+        this.sortedOptions = sorted;
+    }
+
+    /**
+     * 世界観ジャンルと属性の一覧からスナップショットを作ります。
+     *
+     * @param worldGenres 世界観ジャンル（表示順）
+     * @param options     属性（カテゴリ内は表示順）
+     * @return スナップショット
+     */
+    public static AttributeCatalog of(List<WorldGenre> worldGenres, Collection<AttributeOption> options) {
+        return new AttributeCatalog(worldGenres, options);
+    }
+
+    /**
+     * 世界観ジャンル一覧を返します。
+     *
+     * @return 世界観ジャンル
+     */
+    public List<WorldGenre> worldGenres() {
+        return worldGenres;
+    }
+
+    /**
+     * 指定カテゴリの属性を返します。
+     *
+     * @param category 対象カテゴリ
+     * @return 属性リスト（該当なしの場合は空）
+     */
+    public List<AttributeOption> options(AttributeCategory category) {
+        return optionsByCategory.getOrDefault(category, List.of());
+    }
+
+    /**
+     * 全カテゴリの属性をカテゴリ別に返します。
+     *
+     * @return カテゴリごとの属性マップ
+     */
+    public Map<AttributeCategory, List<AttributeOption>> optionsByCategory() {
+        return optionsByCategory;
+    }
+
+    /**
+     * キャラクター属性を除いた闇堕ちカテゴリの属性を返します。
+     *
+     * @return カテゴリ別の属性マップ
+     */
+    public Map<AttributeCategory, List<AttributeOption>> darknessOptions() {
+        return darknessOptions;
+    }
+
+    /**
+     * ID で属性を検索します。
+     *
+     * @param id 属性ID
+     * @return 属性
+     */
+    public Optional<AttributeOption> findById(long id) {
+        int position = Arrays.binarySearch(sortedIds, id);
+        return position < 0 ? Optional.empty() : Optional.of(sortedOptions[position]);
+    }
+
+    /**
+     * カテゴリと名称で属性を検索します。
+     *
+     * @param category 対象カテゴリ
+     * @param name     名称
+     * @return 属性
+     */
+    public Optional<AttributeOption> findByName(AttributeCategory category, String name) {
+        Map<String, AttributeOption> byName = optionsByName.get(category);
+        return byName == null ? Optional.empty() : Optional.ofNullable(byName.get(name));
+    }
+
+    /**
+     * 属性の件数を返します。
+     *
+     * @return 件数
+     */
+    public int optionCount() {
+        return optionCount;
+    }
+}
@@ -1,30 +1,106 @@
 package com.example.darkchar.service;
 
+import com.example.darkchar.config.CatalogSnapshot;
+import com.example.darkchar.config.CatalogSnapshotProvider;
+import com.example.darkchar.config.SeedDataChangedEvent;
 import com.example.darkchar.domain.AttributeCategory;
 import com.example.darkchar.domain.AttributeOption;
 import com.example.darkchar.domain.WorldGenre;
 import com.example.darkchar.repository.AttributeOptionRepository;
-import java.util.EnumMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 /**
  * 画面で利用する属性マスタを提供するサービスです。
+ * <p>
+ * マスタは初回参照時に {@link AttributeCatalog} として一度だけ読み込み、以降の参照はスナップショットを返すだけです。
+ * シードの差分が反映されると新しいスナップショットを読み込み、{@link AtomicReference} で丸ごと差し替えるため、
+ * 参照側は常に一貫した版を受け取ります。
+ * <p>
+ * ビルド時に作った {@link CatalogSnapshot} がある場合、同梱データはそこから読み、データベースからは
+ * ユーザーが編集したデータだけを読み込んで後ろに連結します。
+ * <p>
+ * 画面の絞り込み用に {@link AttributeSearchIndex} も保持し、スナップショットを読み込むたびに差分だけを反映します。
+ * スナップショットの公開と索引の更新は同じロックの中で行い、読み込みを始めた順の世代番号で、先に始めた古い読み込みが
+ * 後から公開されて新しい版を上書きしないようにしています。検索も同じロックの中で行うため、検索結果は常に
+ * 公開中のスナップショットと一致します。
  */
 @Service
 public class AttributeQueryService {
 
     private final AttributeOptionRepository repository;
+    private final CatalogSnapshotProvider snapshotProvider;
+    private final AtomicReference<AttributeCatalog> catalog = new AtomicReference<>();
+    private final AttributeSearchIndex searchIndex = new AttributeSearchIndex();
+    private final AtomicLong loadGeneration = new AtomicLong();
+    private final Object publishLock = new Object();
+    private long publishedGeneration;
 
     /**
-     * リポジトリを注入します。
+     * 依存コンポーネントを注入します。
      *
-     * @param repository 属性リポジトリ
+     * @param repository       属性リポジトリ
+     * @param snapshotProvider 同梱データのスナップショット
      */
-    public AttributeQueryService(AttributeOptionRepository repository) {
+    public AttributeQueryService(AttributeOptionRepository repository, CatalogSnapshotProvider snapshotProvider) {
         this.repository = repository;
+        this.snapshotProvider = snapshotProvider;
+    }
+
+    /**
+     * 現在の属性マスタのスナップショットを返します。未読み込みの場合はここで読み込みます。
+     *
+     * @return スナップショット
+     */
+    public AttributeCatalog catalog() {
+        AttributeCatalog current = catalog.get();
+        if (current != null) {
+            return current;
+        }
+        long generation = loadGeneration.incrementAndGet();
+        return publish(generation, loadCatalog());
+    }
+
+    /**
+     * データベースから読み直したスナップショットに差し替えます。
+     *
+     * @return 公開中のスナップショット（並行してより新しい読み込みが公開された場合はそちら）
+     */
+    public AttributeCatalog reload() {
+        long generation = loadGeneration.incrementAndGet();
+        return publish(generation, loadCatalog());
+    }
+
+    /**
+     * シードの差分が反映されたらスナップショットを差し替えます。
+     *
+     * @param event シード反映イベント
+     */
+    @EventListener
+    public void onSeedDataChanged(SeedDataChangedEvent event) {
+        reload();
+    }
+
+    /**
+     * 指定カテゴリの属性を、名称と説明に検索語を含むものに絞り込みます。
+     *
+     * @param query    検索語（ひらがな・カタカナ、全角・半角を区別しません）
+     * @param category 対象カテゴリ
+     * @return 一致した属性（検索語が空の場合はカテゴリの全件）
+     */
+    public List<AttributeOption> searchOptions(String query, AttributeCategory category) {
+        AttributeCatalog current = catalog();
+        if (query == null || query.isBlank()) {
+            return current.options(category);
+        }
+        synchronized (publishLock) {
+            return searchIndex.search(query, category);
+        }
     }
 
     /**
@@ -33,7 +109,7 @@ public class AttributeQueryService {
      * @return 世界観ジャンル
      */
     public List<WorldGenre> loadWorldGenres() {
-        return repository.findAllWorldGenres();
+        return catalog().worldGenres();
     }
 
     /**
@@ -42,7 +118,7 @@ public class AttributeQueryService {
      * @return キャラクター属性一覧
      */
     public List<AttributeOption> loadCharacterTraits() {
-        return repository.findByCategory(AttributeCategory.CHARACTER_TRAIT);
+        return catalog().options(AttributeCategory.CHARACTER_TRAIT);
     }
 
     /**
@@ -51,9 +127,32 @@ public class AttributeQueryService {
      * @return カテゴリ別の属性マップ
      */
     public Map<AttributeCategory, List<AttributeOption>> loadDarknessOptions() {
-        Map<AttributeCategory, List<AttributeOption>> grouped = repository.findAllGroupedByCategory();
-        return grouped.entrySet().stream()
-                .filter(entry -> entry.getKey() != AttributeCategory.CHARACTER_TRAIT)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, () -> new EnumMap<>(AttributeCategory.class)));
+        return catalog().darknessOptions();
+    }
+
+    /**
+     * 読み込んだスナップショットを、索引を更新したうえで公開します。より後に始めた読み込みが公開済みなら何もしません。
+     */
+    private AttributeCatalog publish(long generation, AttributeCatalog loaded) {
+        synchronized (publishLock) {
+            if (generation > publishedGeneration) {
+                searchIndex.update(loaded);
+                catalog.set(loaded);
+                publishedGeneration = generation;
+            }
+            return catalog.get();
+        }
+    }
+
+    private AttributeCatalog loadCatalog() {
+        List<WorldGenre> worldGenres = new ArrayList<>();
+        List<AttributeOption> options = new ArrayList<>();
+        snapshotProvider.snapshot().ifPresent(bundled -> {
+            worldGenres.addAll(bundled.worldGenres());
+            options.addAll(bundled.options());
+        });
+        worldGenres.addAll(repository.findAllWorldGenres());
+        repository.findAllGroupedByCategory().values().forEach(options::addAll);
+        return AttributeCatalog.of(worldGenres, options);
     }
 }
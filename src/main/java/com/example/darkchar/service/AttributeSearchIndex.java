@@ -0,0 +1,257 @@
+package com.example.darkchar.service;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 属性の名称と説明を対象にした、入力途中の絞り込み用の n-gram 索引です。
+ * <p>
+ * 文字列は NFKC で全角・半角を揃え、英字を小文字に、カタカナをひらがなに畳み込んでから、1 文字と隣接 2 文字の
+ * 両方を索引語として登録します。検索語も同じように正規化し、空白で区切った語ごとにポスティングの積を取ります。
+ * 3 文字以上の語は隣接しない 2 文字の組でも一致してしまうため、正規化済みの本文に部分文字列として含まれるかを
+ * 確かめ直します。これにより結果に取りこぼしや誤検出はありません。
+ * <p>
+ * 属性には追加順の連番を振り、ポスティングは連番の昇順に追記するだけで済むようにしています。
+ * {@link #update(AttributeCatalog)} は新しく増えた属性だけを追加し、消えた属性は削除済みとして印を付けます。
+ * 削除済みが登録数の半分を超えたら作り直します。更新と検索は同期化しています。
+ */
+public final class AttributeSearchIndex {
+
+    private static final long UNIGRAM_MARK = 0xFFFF_FFFFL;
+
+    private final Map<AttributeOption, Integer> docIds = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final List<AttributeOption> options = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private final BitSet removed = new BitSet();
+
+    /**
+     * カタログの内容に合わせて索引を更新します。索引にない属性だけを追加し、カタログから消えた属性は除外します。
+     *
+     * @param catalog 属性マスタのスナップショット
+     */
+    public synchronized void update(AttributeCatalog catalog) {
+        Set<AttributeOption> current = new HashSet<>();
+        catalog.optionsByCategory().values().forEach(current::addAll);
+        docIds.forEach((option, docId) -> {
+            if (!current.contains(option)) {
+                removed.set(docId);
+            }
+        });
+        docIds.keySet().retainAll(current);
+        if (removed.cardinality() * 2 > options.size()) {
+            clear();
+        }
+        for (List<AttributeOption> categoryOptions : catalog.optionsByCategory().values()) {
+            for (AttributeOption option : categoryOptions) {
+                if (!docIds.containsKey(option)) {
+                    add(option);
+                }
+            }
+        }
+    }
+
+    /**
+     * 指定カテゴリの属性から、検索語をすべて含むものを追加順に返します。
+     * 検索語が空白だけの場合は空のリストを返すので、呼び出し側で全件表示に切り替えてください。
+     *
+     * @param query    検索語（空白区切りで AND 検索）
+     * @param category 対象カテゴリ
+     * @return 一致した属性
+     */
+    public synchronized List<AttributeOption> search(String query, AttributeCategory category) {
+        String[] terms = normalize(query).trim().split("\\s+");
+        int[] candidates = null;
+        for (String term : terms) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            int[] matches = lookup(term);
+            candidates = candidates == null ? matches : intersect(candidates, matches);
+            if (candidates.length == 0) {
+                return List.of();
+            }
+        }
+        if (candidates == null) {
+            return List.of();
+        }
+        // 2 文字以下の語は索引語そのものなので、本文との照合が要るのは 3 文字以上の語があるときだけ
+        boolean verify = Arrays.stream(terms).anyMatch(term -> term.codePointCount(0, term.length()) > 2);
+        List<AttributeOption> result = new ArrayList<>();
+        for (int docId : candidates) {
+            AttributeOption option = options.get(docId);
+            if (!removed.get(docId) && option.category() == category
+                    && (!verify || containsAll(texts.get(docId), terms))) {
+                result.add(option);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 登録済み（削除済みを除く）の属性数を返します。
+     *
+     * @return 件数
+     */
+    public synchronized int size() {
+        return docIds.size();
+    }
+
+    /**
+     * 検索用に文字列を正規化します。NFKC で幅を揃え、英字を小文字に、カタカナをひらがなに変換します。
+     *
+     * @param text 対象文字列
+     * @return 正規化した文字列
+     */
+    static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        char[] chars = normalized.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            char c = chars[i];
+            // ァ(U+30A1)〜ヶ(U+30F6) と ヽヾ をひらがなへ。長音符「ー」はそのまま残す
+            if ((c >= 'ァ' && c <= 'ヶ') || c == 'ヽ' || c == 'ヾ') {
+                chars[i] = (char) (c - 0x60);
+            }
+        }
+        return new String(chars);
+    }
+
+    private void add(AttributeOption option) {
+        int docId = options.size();
+        String text = normalize(option.name()) + '\n' + normalize(option.description());
+        options.add(option);
+        texts.add(text);
+        docIds.put(option, docId);
+
+        Set<Long> grams = new HashSet<>();
+        int previous = -1;
+        for (int offset = 0; offset < text.length();) {
+            int codePoint = text.codePointAt(offset);
+            offset += Character.charCount(codePoint);
+            if (Character.isWhitespace(codePoint)) {
+                previous = -1;
+                continue;
+            }
+            grams.add(unigram(codePoint));
+            if (previous >= 0) {
+                grams.add(bigram(previous, codePoint));
+            }
+            previous = codePoint;
+        }
+        for (Long gram : grams) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(docId);
+        }
+    }
+
+    private void clear() {
+        List<AttributeOption> live = new ArrayList<>();
+        for (int docId = 0; docId < options.size(); docId++) {
+            if (!removed.get(docId)) {
+                live.add(options.get(docId));
+            }
+        }
+        docIds.clear();
+        postings.clear();
+        options.clear();
+        texts.clear();
+        removed.clear();
+        live.forEach(this::add);
+    }
+
+    /**
+     * 1 語のポスティングを引きます。2 文字以上の語は隣接 2 文字の索引語すべての積を返します。
+     */
+    private int[] lookup(String term) {
+        int[] codePoints = term.codePoints().toArray();
+        if (codePoints.length == 1) {
+            return docIdsOf(unigram(codePoints[0]));
+        }
+        long[] keys = new long[codePoints.length - 1];
+        for (int i = 1; i < codePoints.length; i++) {
+            keys[i - 1] = bigram(codePoints[i - 1], codePoints[i]);
+        }
+        // 件数の少ない索引語から積を取ると、早く空になりやすい
+        int[][] lists = Arrays.stream(keys).distinct().mapToObj(this::docIdsOf)
+                .sorted((a, b) -> Integer.compare(a.length, b.length))
+                .toArray(int[][]::new);
+        int[] result = lists[0];
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            result = intersect(result, lists[i]);
+        }
+        return result;
+    }
+
+    private int[] docIdsOf(long gram) {
+        Postings list = postings.get(gram);
+        return list == null ? new int[0] : list.toArray();
+    }
+
+    private static boolean containsAll(String text, String[] terms) {
+        for (String term : terms) {
+            if (!term.isEmpty() && !text.contains(term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] == right[j]) {
+                result[size++] = left[i];
+                i++;
+                j++;
+            } else if (left[i] < right[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static long unigram(int codePoint) {
+        return ((long) codePoint << 32) | UNIGRAM_MARK;
+    }
+
+    private static long bigram(int first, int second) {
+        return ((long) first << 32) | second;
+    }
+
+    /**
+     * 1 索引語分の連番の昇順リストです。
+     */
+    private static final class Postings {
+
+        private int[] docIds = new int[4];
+        private int size;
+
+        void add(int docId) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+            }
+            docIds[size++] = docId;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(docIds, size);
+        }
+    }
+}
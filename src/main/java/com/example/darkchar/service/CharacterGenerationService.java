@@ -1,11 +1,15 @@
 package com.example.darkchar.service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +30,9 @@ import com.example.darkchar.service.ai.CharacterGenerationStrategyRegistry;
 import com.example.darkchar.service.ai.ProviderConfigurationStatus;
 import com.example.darkchar.service.ai.ProviderGenerationResult;
 import com.example.darkchar.service.ai.ProviderType;
+import com.example.darkchar.service.ai.TokenUsage;
+import com.example.darkchar.service.history.GenerationHistoryEntry;
+import com.example.darkchar.service.history.GenerationHistoryWriter;
 import com.example.darkchar.service.openai.OpenAiIntegrationException;
 
 /**
@@ -38,17 +45,20 @@ public class CharacterGenerationService {
 
     private final AiProviderContextStore providerContextStore;
     private final CharacterGenerationStrategyRegistry strategyRegistry;
+    private final GenerationHistoryWriter historyWriter;
 
     /**
      * 依存サービスを注入します。
      *
      * @param providerContextStore プロバイダ設定ストア
      * @param strategyRegistry     プロバイダレジストリ
+     * @param historyWriter        生成履歴ライター
      */
     public CharacterGenerationService(AiProviderContextStore providerContextStore,
-            CharacterGenerationStrategyRegistry strategyRegistry) {
+            CharacterGenerationStrategyRegistry strategyRegistry, GenerationHistoryWriter historyWriter) {
         this.providerContextStore = providerContextStore;
         this.strategyRegistry = strategyRegistry;
+        this.historyWriter = historyWriter;
     }
 
     /**
@@ -72,7 +82,33 @@ public class CharacterGenerationService {
      */
     public GenerationResult generate(CharacterInput input, DarknessSelection darknessSelection,
             ProviderType providerType) {
+        return generate(input, darknessSelection, providerType, null);
+    }
+
+    /**
+     * 指定したプロバイダを用いて、生成中の文章を断片ごとに通知しながらキャラクターを生成します。
+     * <p>
+     * 断片はプロバイダが生成を実行するスレッドから通知します。ローカル生成へフォールバックした場合や、
+     * 途中で失敗して文章が差し替わった場合があるため、最終的な文章は戻り値の結果を使ってください。
+     * 受け取る側が不要になった場合（クライアントの切断など）は、{@code deltaListener} から
+     * {@link CancellationException} を投げると生成を中断します。この場合はフォールバックも履歴の保存も行わず、
+     * 例外をそのまま投げ直します。
+     *
+     * @param input             ユーザー入力
+     * @param darknessSelection 闇堕ち選択
+     * @param providerType      利用するプロバイダ
+     * @param deltaListener     生成中の文章の断片を受け取る処理
+     * @return 生成結果
+     */
+    public GenerationResult generateStreaming(CharacterInput input, DarknessSelection darknessSelection,
+            ProviderType providerType, Consumer<String> deltaListener) {
+        return generate(input, darknessSelection, providerType, Objects.requireNonNull(deltaListener));
+    }
+
+    private GenerationResult generate(CharacterInput input, DarknessSelection darknessSelection,
+            ProviderType providerType, Consumer<String> deltaListener) {
         validate(input, darknessSelection);
+        long startedAt = System.nanoTime();
 
         ProviderType effectiveType = providerType == null ? providerContextStore.getActiveProviderType() : providerType;
         Optional<CharacterGenerationProvider> providerOptional = strategyRegistry.findProvider(effectiveType);
@@ -82,6 +118,7 @@ public class CharacterGenerationService {
         boolean usedProvider = false;
         Optional<String> warning = Optional.empty();
         Optional<String> prompt = Optional.empty();
+        Optional<TokenUsage> usage = Optional.empty();
 
         if (providerOptional.isPresent()) {
             CharacterGenerationProvider provider = providerOptional.get();
@@ -94,13 +131,18 @@ public class CharacterGenerationService {
                 narrative = buildNarrative(input, darknessSelection);
             } else {
                 try {
-                    ProviderGenerationResult providerResult = provider.generate(context, input, darknessSelection);
+                    ProviderGenerationResult providerResult = deltaListener == null
+                            ? provider.generate(context, input, darknessSelection)
+                            : provider.generateStreaming(context, input, darknessSelection, deltaListener);
                     if (providerResult == null || providerResult.narrative() == null) {
                         throw new OpenAiIntegrationException("プロバイダから有効な結果を取得できませんでした。");
                     }
                     narrative = providerResult.narrative();
                     prompt = providerResult.prompt();
+                    usage = providerResult.usage();
                     usedProvider = true;
+                } catch (CancellationException ex) {
+                    throw ex;
                 } catch (OpenAiIntegrationException ex) {
                     logger.warn("{}連携に失敗したためローカル生成へフォールバックします: {}", provider.getDisplayName(),
                             ex.getMessage());
@@ -117,7 +159,12 @@ public class CharacterGenerationService {
             narrative = buildNarrative(input, darknessSelection);
         }
 
-        return buildResult(input, darknessSelection, narrative, usedProvider, warning, prompt);
+        GenerationResult result = buildResult(input, darknessSelection, narrative, usedProvider, warning, prompt,
+                usage);
+        historyWriter.submit(new GenerationHistoryEntry(result.generatedCharacter(), prompt, effectiveType,
+                usedProvider, usedProvider ? context.selectedModel() : Optional.empty(), usage,
+                Duration.ofNanos(System.nanoTime() - startedAt)));
+        return result;
     }
 
     /**
@@ -129,21 +176,24 @@ public class CharacterGenerationService {
      * @param usedProvider      プロバイダ利用有無
      * @param warning           警告メッセージ
      * @param prompt            使用プロンプト
+     * @param usage             トークン使用量
      * @return 変換した結果
      */
     private GenerationResult buildResult(CharacterInput input, DarknessSelection darknessSelection, String narrative,
-            boolean usedProvider, Optional<String> warning, Optional<String> prompt) {
+            boolean usedProvider, Optional<String> warning, Optional<String> prompt, Optional<TokenUsage> usage) {
         GeneratedCharacter character = new GeneratedCharacter(input, darknessSelection, narrative, Instant.now());
-        return new GenerationResult(character, usedProvider, warning, prompt);
+        return new GenerationResult(character, usedProvider, warning, prompt, usage);
     }
 
     /**
-     * 入力内容を検証します。
+     * 入力内容を検証します。生成の各メソッドも最初に呼び出しますが、生成途中の文章を配信する場合など、
+     * 生成を始める前に入力の誤りを返したい呼び出し元は先に呼び出せます。
      *
      * @param input             入力情報
      * @param darknessSelection 闇堕ち選択
+     * @throws IllegalArgumentException 入力に誤りがある場合
      */
-    private void validate(CharacterInput input, DarknessSelection darknessSelection) {
+    public void validate(CharacterInput input, DarknessSelection darknessSelection) {
         if (input.worldGenre() == null) {
             throw new IllegalArgumentException("世界観ジャンルを選択してください。");
         }
@@ -1,6 +1,7 @@
 package com.example.darkchar.service;
 
 import com.example.darkchar.domain.GeneratedCharacter;
+import com.example.darkchar.service.ai.TokenUsage;
 
 import java.util.Optional;
 
@@ -8,7 +9,7 @@ import java.util.Optional;
  * キャラクター生成結果と付随情報を保持するレコード。
  */
 public record GenerationResult(GeneratedCharacter generatedCharacter, boolean usedProvider,
-        Optional<String> warningMessage, Optional<String> prompt) {
+        Optional<String> warningMessage, Optional<String> prompt, Optional<TokenUsage> usage) {
 
     public GenerationResult {
         if (generatedCharacter == null) {
@@ -16,6 +17,20 @@ public record GenerationResult(GeneratedCharacter generatedCharacter, boolean us
         }
         warningMessage = warningMessage == null ? Optional.empty() : warningMessage;
         prompt = prompt == null ? Optional.empty() : prompt;
+        usage = usage == null ? Optional.empty() : usage;
+    }
+
+    /**
+     * トークン使用量なしで結果を生成します。
+     *
+     * @param generatedCharacter 生成キャラクター
+     * @param usedProvider       プロバイダ利用有無
+     * @param warningMessage     警告メッセージ
+     * @param prompt             使用したプロンプト
+     */
+    public GenerationResult(GeneratedCharacter generatedCharacter, boolean usedProvider,
+            Optional<String> warningMessage, Optional<String> prompt) {
+        this(generatedCharacter, usedProvider, warningMessage, prompt, Optional.empty());
     }
 
     /**
@@ -1,5 +1,7 @@
 package com.example.darkchar.service.ai;
 
+import java.util.function.Consumer;
+
 import com.example.darkchar.domain.CharacterInput;
 import com.example.darkchar.domain.DarknessSelection;
 
@@ -22,6 +24,15 @@ public interface CharacterGenerationProvider {
      */
     String getDisplayName();
 
+    /**
+     * 利用に API キーの設定が必要かを返します。
+     *
+     * @return API キーが必要なら true
+     */
+    default boolean requiresApiKey() {
+        return true;
+    }
+
     /**
      * 設定が利用可能かを評価します。
      *
@@ -40,6 +51,26 @@ public interface CharacterGenerationProvider {
      */
     ProviderGenerationResult generate(AiProviderContext context, CharacterInput input, DarknessSelection selection);
 
+    /**
+     * 生成中の文章を断片（デルタ）ごとに通知しながらキャラクター生成を実行します。
+     * <p>
+     * デルタは生成を実行しているスレッドから順に通知します。すべてのデルタを連結した文章は、戻り値の文章と
+     * 前後の空白を除いて一致します。{@code deltaListener} が例外を投げた場合は生成を打ち切ってその例外を伝播します。
+     * 既定の実装はストリーミングに対応しないプロバイダ向けで、{@link #generate} の結果を一度に通知します。
+     *
+     * @param context       プロバイダ設定
+     * @param input         入力情報
+     * @param selection     闇堕ち選択
+     * @param deltaListener 文章の断片を受け取る処理
+     * @return 生成結果
+     */
+    default ProviderGenerationResult generateStreaming(AiProviderContext context, CharacterInput input,
+            DarknessSelection selection, Consumer<String> deltaListener) {
+        ProviderGenerationResult result = generate(context, input, selection);
+        deltaListener.accept(result.narrative());
+        return result;
+    }
+
     /**
      * 連携失敗時に表示する警告文を構築します。
      *
@@ -8,14 +8,18 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.function.Supplier;
 
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import com.example.darkchar.service.openai.OpenAiGenerationModel;
 
 /**
  * プロバイダごとの利用可能な生成モデルを管理するカタログ。
+ * <p>
+ * 設定画面からのみ参照するため、設定画面を初めて開くまで作成しません。
  */
 @Component
+@Lazy
 public class GenerationModelCatalog {
 
     private final Map<ProviderType, Supplier<List<String>>> modelResolvers;
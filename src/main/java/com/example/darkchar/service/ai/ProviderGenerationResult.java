@@ -5,7 +5,7 @@ import java.util.Optional;
 /**
  * プロバイダによる生成結果を保持するDTO。
  */
-public record ProviderGenerationResult(String narrative, Optional<String> prompt) {
+public record ProviderGenerationResult(String narrative, Optional<String> prompt, Optional<TokenUsage> usage) {
 
     /**
      * 値を検証して正規化します。
@@ -15,6 +15,17 @@ public record ProviderGenerationResult(String narrative, Optional<String> prompt
             throw new IllegalArgumentException("narrative must not be null");
         }
         prompt = prompt == null ? Optional.empty() : prompt;
+        usage = usage == null ? Optional.empty() : usage;
+    }
+
+    /**
+     * トークン使用量なしで結果を生成します。
+     *
+     * @param narrative 生成テキスト
+     * @param prompt    使用プロンプト
+     */
+    public ProviderGenerationResult(String narrative, Optional<String> prompt) {
+        this(narrative, prompt, Optional.empty());
     }
 
     /**
@@ -35,4 +46,15 @@ public record ProviderGenerationResult(String narrative, Optional<String> prompt
     public ProviderGenerationResult(String narrative, String prompt) {
         this(narrative, Optional.ofNullable(prompt));
     }
+
+    /**
+     * 文字列プロンプトとトークン使用量付きで結果を生成します。
+     *
+     * @param narrative 生成テキスト
+     * @param prompt    使用プロンプト
+     * @param usage     トークン使用量
+     */
+    public ProviderGenerationResult(String narrative, String prompt, TokenUsage usage) {
+        this(narrative, Optional.ofNullable(prompt), Optional.ofNullable(usage));
+    }
 }
@@ -0,0 +1,28 @@
+package com.example.darkchar.service.ai;
+
+/**
+ * プロバイダ呼び出しで消費したトークン数を保持する値オブジェクト。
+ *
+ * @param promptTokens     入力（プロンプト）のトークン数
+ * @param completionTokens 出力（生成結果）のトークン数
+ */
+public record TokenUsage(long promptTokens, long completionTokens) {
+
+    /**
+     * 値を検証します。
+     */
+    public TokenUsage {
+        if (promptTokens < 0 || completionTokens < 0) {
+            throw new IllegalArgumentException("token counts must not be negative");
+        }
+    }
+
+    /**
+     * 合計トークン数を返します。
+     *
+     * @return 合計トークン数
+     */
+    public long totalTokens() {
+        return promptTokens + completionTokens;
+    }
+}
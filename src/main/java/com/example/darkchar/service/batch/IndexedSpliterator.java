@@ -0,0 +1,92 @@
+package com.example.darkchar.service.batch;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * 添字 {@code [from, to)} を要素へ写像しながら遅延生成する分割可能なスプリッテレータです。
+ * <p>
+ * 要素は添字だけから決まるため、範囲を二分するだけで偏りなく並列化できます。
+ *
+ * @param <T> 要素の型
+ */
+final class IndexedSpliterator<T> implements Spliterator<T> {
+
+    private static final long MIN_SPLIT_SIZE = 64;
+
+    private final LongFunction<T> elementAt;
+    private final int characteristics;
+    private long from;
+    private final long to;
+
+    /**
+     * 範囲と写像を指定して作成します。
+     *
+     * @param elementAt       添字から要素を作る関数
+     * @param from            開始添字（含む）
+     * @param to              終了添字（含まない）
+     * @param characteristics 追加の特性
+     */
+    IndexedSpliterator(LongFunction<T> elementAt, long from, long to, int characteristics) {
+        this.elementAt = elementAt;
+        this.from = from;
+        this.to = to;
+        this.characteristics = characteristics | ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (from >= to) {
+            return false;
+        }
+        action.accept(elementAt.apply(from++));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        long end = to;
+        for (long index = from; index < end; index++) {
+            action.accept(elementAt.apply(index));
+        }
+        from = end;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        long remaining = to - from;
+        if (remaining < MIN_SPLIT_SIZE) {
+            return null;
+        }
+        long middle = from + (remaining >>> 1);
+        Spliterator<T> prefix = new IndexedSpliterator<>(elementAt, from, middle, characteristics);
+        from = middle;
+        return prefix;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long estimateSize() {
+        return to - from;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.darkchar.service.batch;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.DarknessPreset;
+import com.example.darkchar.domain.GeneratedCharacter;
+import com.example.darkchar.domain.InputMode;
+
+/**
+ * JSONL の1行に書き出す生成結果です。
+ * <p>
+ * 同じシード範囲から同じファイルを得られるよう、生成時刻は含めません。
+ *
+ * @param seed               生成に使ったシード
+ * @param worldGenre         世界観ジャンル
+ * @param mode               入力モード
+ * @param characterTraits    キャラクター属性名
+ * @param protagonistScore   主人公度
+ * @param darknessPreset     闇堕ち度プリセット
+ * @param darknessSelections カテゴリ別の闇堕ち属性名
+ * @param narrative          生成した文章
+ */
+public record MassGenerationRecord(
+        long seed,
+        String worldGenre,
+        InputMode mode,
+        List<String> characterTraits,
+        int protagonistScore,
+        DarknessPreset darknessPreset,
+        Map<AttributeCategory, List<String>> darknessSelections,
+        String narrative) {
+
+    /**
+     * 生成キャラクターから出力行を作成します。
+     *
+     * @param seed      シード
+     * @param character 生成キャラクター
+     * @return 出力行
+     */
+    static MassGenerationRecord of(long seed, GeneratedCharacter character) {
+        Map<AttributeCategory, List<String>> selections = new EnumMap<>(AttributeCategory.class);
+        character.darknessSelection().selections().forEach((category, options) -> {
+            if (!options.isEmpty()) {
+                selections.put(category, names(options));
+            }
+        });
+        return new MassGenerationRecord(
+                seed,
+                character.characterInput().worldGenre().name(),
+                character.characterInput().mode(),
+                names(character.characterInput().characterTraits()),
+                character.characterInput().protagonistScore(),
+                character.darknessSelection().preset(),
+                selections,
+                character.narrative());
+    }
+
+    /**
+     * 属性名の一覧に変換します。
+     *
+     * @param options 属性
+     * @return 属性名
+     */
+    private static List<String> names(List<AttributeOption> options) {
+        return options.stream().map(AttributeOption::name).toList();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.darkchar.service.batch;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 大量生成の実行結果です。
+ *
+ * @param count      生成件数
+ * @param shardFiles 出力したシャードファイル
+ * @param elapsed    所要時間
+ */
+public record MassGenerationReport(long count, List<Path> shardFiles, Duration elapsed) {
+
+    /**
+     * 値を正規化します。
+     */
+    public MassGenerationReport {
+        shardFiles = List.copyOf(shardFiles);
+    }
+
+    /**
+     * 1 秒あたりの生成件数を返します。
+     *
+     * @return スループット
+     */
+    public double charactersPerSecond() {
+        long nanos = Math.max(1L, elapsed.toNanos());
+        return count * 1_000_000_000d / nanos;
+    }
+}
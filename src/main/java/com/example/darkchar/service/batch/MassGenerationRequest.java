@@ -0,0 +1,66 @@
+package com.example.darkchar.service.batch;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * シード範囲を指定した大量生成の要求です。
+ * <p>
+ * シャードの境界は {@code seedStart}・{@code count}・{@code shardCount} だけで決まるため、
+ * 並列度を変えても同じファイル内容が得られます。
+ *
+ * @param seedStart       最初のシード
+ * @param count           生成件数
+ * @param shardCount      出力ファイル数
+ * @param parallelism     ワーカースレッド数
+ * @param outputDirectory 出力先ディレクトリ
+ */
+public record MassGenerationRequest(
+        long seedStart,
+        long count,
+        int shardCount,
+        int parallelism,
+        Path outputDirectory) {
+
+    /**
+     * 入力値を検証します。
+     */
+    public MassGenerationRequest {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        Objects.requireNonNull(outputDirectory, "outputDirectory");
+        if (shardCount > count) {
+            shardCount = (int) count;
+        }
+    }
+
+    /**
+     * 指定シャードの先頭シードを返します。
+     *
+     * @param shardIndex シャード番号
+     * @return 先頭シード
+     */
+    long shardStart(int shardIndex) {
+        long base = count / shardCount;
+        long remainder = count % shardCount;
+        return seedStart + shardIndex * base + Math.min(shardIndex, remainder);
+    }
+
+    /**
+     * 指定シャードの件数を返します。
+     *
+     * @param shardIndex シャード番号
+     * @return 件数
+     */
+    long shardSize(int shardIndex) {
+        long base = count / shardCount;
+        return base + (shardIndex < count % shardCount ? 1 : 0);
+    }
+}
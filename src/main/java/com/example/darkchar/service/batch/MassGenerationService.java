@@ -0,0 +1,217 @@
+package com.example.darkchar.service.batch;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.example.darkchar.domain.GeneratedCharacter;
+import com.example.darkchar.service.AttributeQueryService;
+import com.example.darkchar.service.local.LocalNarrativeEngine;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * ローカル生成エンジンでシード範囲を一括生成し、シャード分割した JSONL に書き出します。
+ * <p>
+ * シード範囲はシャード単位で fork-join プールへ分配され、各シャードは専用のバッファ付き
+ * チャネルへ書き込みます。シャード間で共有する可変状態はないため、コア数に比例して処理量が伸びます。
+ */
+@Service
+public class MassGenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MassGenerationService.class);
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final SerializedString RECORD_SEPARATOR = new SerializedString("\n");
+
+    private final AttributeQueryService attributeQueryService;
+    private final LocalNarrativeEngine narrativeEngine;
+    private final ObjectWriter recordWriter;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 依存コンポーネントを注入します。
+     *
+     * @param attributeQueryService 属性取得サービス
+     * @param narrativeEngine       ローカル生成エンジン
+     * @param objectMapper          JSON マッパー
+     */
+    public MassGenerationService(AttributeQueryService attributeQueryService, LocalNarrativeEngine narrativeEngine,
+            ObjectMapper objectMapper) {
+        this.attributeQueryService = attributeQueryService;
+        this.narrativeEngine = narrativeEngine;
+        this.objectMapper = objectMapper;
+        // 既定では1件ごとに出力先まで flush され、書き込みバッファが効かなくなる
+        this.recordWriter = objectMapper.writerFor(MassGenerationRecord.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * 要求されたシード範囲を生成してファイルへ書き出します。
+     *
+     * @param request 生成要求
+     * @return 実行結果
+     * @throws IOException 出力に失敗した場合
+     */
+    public MassGenerationReport generate(MassGenerationRequest request) throws IOException {
+        Files.createDirectories(request.outputDirectory());
+        RandomCharacterSampler sampler = new RandomCharacterSampler(
+                attributeQueryService.loadWorldGenres(),
+                attributeQueryService.loadCharacterTraits(),
+                attributeQueryService.loadDarknessOptions());
+        Instant generatedAt = Instant.now();
+
+        List<Path> shardFiles = new ArrayList<>(request.shardCount());
+        for (int shard = 0; shard < request.shardCount(); shard++) {
+            shardFiles.add(request.outputDirectory().resolve(shardFileName(shard)));
+        }
+
+        logger.info("Starting mass generation: seeds={}..{}, shards={}, parallelism={}",
+                request.seedStart(), request.seedStart() + request.count() - 1, request.shardCount(),
+                request.parallelism());
+        long started = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(request.parallelism());
+        try {
+            pool.invoke(new ShardRangeTask(request, sampler, generatedAt, shardFiles, 0, request.shardCount()));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } finally {
+            pool.shutdown();
+        }
+        MassGenerationReport report = new MassGenerationReport(request.count(), shardFiles,
+                Duration.ofNanos(System.nanoTime() - started));
+        logger.info("Mass generation finished: {} characters in {} ms ({} characters/s)",
+                report.count(), report.elapsed().toMillis(),
+                String.format(Locale.ROOT, "%.0f", report.charactersPerSecond()));
+        return report;
+    }
+
+    /**
+     * シード1件分のキャラクターを生成します。
+     *
+     * @param seed        シード
+     * @param sampler     入力の抽選器
+     * @param generatedAt 生成時刻
+     * @return 生成キャラクター
+     */
+    GeneratedCharacter generateCharacter(long seed, RandomCharacterSampler sampler, Instant generatedAt) {
+        SplittableRandom random = new SplittableRandom(seed);
+        RandomCharacterSampler.SampledCharacter sampled = sampler.sample(random);
+        String narrative = narrativeEngine.generate(sampled.input(), sampled.selection(), random.nextLong());
+        return new GeneratedCharacter(sampled.input(), sampled.selection(), narrative, generatedAt);
+    }
+
+    /**
+     * 1 シャード分を生成してファイルへ書き込みます。
+     *
+     * @param request     生成要求
+     * @param shardIndex  シャード番号
+     * @param file        出力ファイル
+     * @param sampler     入力の抽選器
+     * @param generatedAt 生成時刻
+     * @throws IOException 出力に失敗した場合
+     */
+    private void writeShard(MassGenerationRequest request, int shardIndex, Path file, RandomCharacterSampler sampler,
+            Instant generatedAt) throws IOException {
+        long firstSeed = request.shardStart(shardIndex);
+        long size = request.shardSize(shardIndex);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+                Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8),
+                        WRITE_BUFFER_SIZE);
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.setRootValueSeparator(RECORD_SEPARATOR);
+            for (long seed = firstSeed; seed < firstSeed + size; seed++) {
+                GeneratedCharacter character = generateCharacter(seed, sampler, generatedAt);
+                recordWriter.writeValue(generator, MassGenerationRecord.of(seed, character));
+            }
+            generator.writeRaw('\n');
+        }
+        logger.debug("Wrote shard {} ({} characters) to {}", shardIndex, size, file);
+    }
+
+    /**
+     * シャード番号からファイル名を作成します。
+     *
+     * @param shardIndex シャード番号
+     * @return ファイル名
+     */
+    private static String shardFileName(int shardIndex) {
+        return String.format(Locale.ROOT, "characters-%05d.jsonl", shardIndex);
+    }
+
+    /**
+     * シャード番号の範囲を二分しながら fork-join プールへ分配するタスクです。
+     */
+    private final class ShardRangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient MassGenerationRequest request;
+        private final transient RandomCharacterSampler sampler;
+        private final transient Instant generatedAt;
+        private final transient List<Path> shardFiles;
+        private final int fromShard;
+        private final int toShard;
+
+        /**
+         * 担当するシャード範囲を指定します。
+         *
+         * @param request     生成要求
+         * @param sampler     入力の抽選器
+         * @param generatedAt 生成時刻
+         * @param shardFiles  シャードごとの出力ファイル
+         * @param fromShard   開始シャード（含む）
+         * @param toShard     終了シャード（含まない）
+         */
+        ShardRangeTask(MassGenerationRequest request, RandomCharacterSampler sampler, Instant generatedAt,
+                List<Path> shardFiles, int fromShard, int toShard) {
+            this.request = request;
+            this.sampler = sampler;
+            this.generatedAt = generatedAt;
+            this.shardFiles = shardFiles;
+            this.fromShard = fromShard;
+            this.toShard = toShard;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (toShard - fromShard == 1) {
+                try {
+                    writeShard(request, fromShard, shardFiles.get(fromShard), sampler, generatedAt);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException("Failed to write shard " + fromShard, ex);
+                }
+                return;
+            }
+            int middle = (fromShard + toShard) >>> 1;
+            invokeAll(
+                    new ShardRangeTask(request, sampler, generatedAt, shardFiles, fromShard, middle),
+                    new ShardRangeTask(request, sampler, generatedAt, shardFiles, middle, toShard));
+        }
+    }
+}
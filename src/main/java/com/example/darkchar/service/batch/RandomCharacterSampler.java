@@ -0,0 +1,138 @@
+package com.example.darkchar.service.batch;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.DarknessPreset;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.domain.InputMode;
+import com.example.darkchar.domain.WorldGenre;
+
+/**
+ * 属性カタログから入力と闇堕ち選択を乱数で組み立てます。
+ * <p>
+ * 状態を持たないため、複数のワーカーから同時に利用できます。
+ */
+final class RandomCharacterSampler {
+
+    private static final int MAX_TRAITS = 3;
+    private static final int MAX_OPTIONS_PER_CATEGORY = 2;
+    private static final DarknessPreset[] PRESETS = DarknessPreset.values();
+
+    private final List<WorldGenre> worldGenres;
+    private final List<AttributeOption> characterTraits;
+    private final Map<AttributeCategory, List<AttributeOption>> darknessOptions;
+    private final List<AttributeCategory> darknessCategories;
+
+    /**
+     * 抽選対象のカタログを指定します。
+     *
+     * @param worldGenres     世界観ジャンル
+     * @param characterTraits キャラクター属性
+     * @param darknessOptions 闇堕ちカテゴリ別の属性
+     */
+    RandomCharacterSampler(List<WorldGenre> worldGenres, List<AttributeOption> characterTraits,
+            Map<AttributeCategory, List<AttributeOption>> darknessOptions) {
+        if (worldGenres.isEmpty()) {
+            throw new IllegalStateException("世界観ジャンルが登録されていないため生成できません。");
+        }
+        this.worldGenres = List.copyOf(worldGenres);
+        this.characterTraits = List.copyOf(characterTraits);
+        Map<AttributeCategory, List<AttributeOption>> copied = new EnumMap<>(AttributeCategory.class);
+        darknessOptions.forEach((category, options) -> {
+            if (category != AttributeCategory.CHARACTER_TRAIT && !options.isEmpty()) {
+                copied.put(category, List.copyOf(options));
+            }
+        });
+        if (copied.isEmpty()) {
+            throw new IllegalStateException("闇堕ちカテゴリの属性が登録されていないため生成できません。");
+        }
+        this.darknessOptions = copied;
+        this.darknessCategories = List.copyOf(copied.keySet());
+    }
+
+    /**
+     * 乱数から1件分の入力を組み立てます。
+     *
+     * @param random 乱数
+     * @return 入力と闇堕ち選択
+     */
+    SampledCharacter sample(SplittableRandom random) {
+        WorldGenre worldGenre = worldGenres.get(random.nextInt(worldGenres.size()));
+        boolean semiAuto = !characterTraits.isEmpty() && random.nextBoolean();
+        List<AttributeOption> traits = semiAuto
+                ? pickDistinct(characterTraits, 1 + random.nextInt(MAX_TRAITS), random)
+                : List.of();
+        CharacterInput input = new CharacterInput(
+                semiAuto ? InputMode.SEMI_AUTO : InputMode.AUTO,
+                worldGenre,
+                traits,
+                null,
+                1 + random.nextInt(5),
+                null);
+
+        Map<AttributeCategory, List<AttributeOption>> selections = new EnumMap<>(AttributeCategory.class);
+        for (AttributeCategory category : darknessCategories) {
+            int picks = random.nextInt(MAX_OPTIONS_PER_CATEGORY + 1);
+            if (picks > 0) {
+                selections.put(category, pickDistinct(darknessOptions.get(category), picks, random));
+            }
+        }
+        if (selections.isEmpty()) {
+            AttributeCategory category = darknessCategories.get(random.nextInt(darknessCategories.size()));
+            selections.put(category, pickDistinct(darknessOptions.get(category), 1, random));
+        }
+        DarknessSelection selection = new DarknessSelection(selections, PRESETS[random.nextInt(PRESETS.length)]);
+        return new SampledCharacter(input, selection);
+    }
+
+    /**
+     * 重複なしで指定件数を選びます。
+     *
+     * @param source 候補
+     * @param count  件数
+     * @param random 乱数
+     * @return 選ばれた属性
+     */
+    private static List<AttributeOption> pickDistinct(List<AttributeOption> source, int count,
+            SplittableRandom random) {
+        int size = source.size();
+        int limit = Math.min(count, size);
+        List<AttributeOption> picked = new ArrayList<>(limit);
+        int start = random.nextInt(size);
+        int step = 1 + random.nextInt(size);
+        while (gcd(step, size) != 1) {
+            step++;
+        }
+        for (int i = 0; i < limit; i++) {
+            picked.add(source.get((int) ((start + (long) i * step) % size)));
+        }
+        return picked;
+    }
+
+    /**
+     * 最大公約数を求めます。
+     *
+     * @param a 値
+     * @param b 値
+     * @return 最大公約数
+     */
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * 抽選した入力と闇堕ち選択の組です。
+     *
+     * @param input     キャラクター入力
+     * @param selection 闇堕ち選択
+     */
+    record SampledCharacter(CharacterInput input, DarknessSelection selection) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.darkchar.service.batch;
+
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.domain.ProtagonistAlignment;
+
+/**
+ * 選択空間の1要素（闇堕ち選択と闇堕ち前の立ち位置の組）です。
+ *
+ * @param selection 闇堕ち選択
+ * @param alignment 闇堕ち前の立ち位置
+ */
+public record SelectionCombination(DarknessSelection selection, ProtagonistAlignment alignment) {
+}
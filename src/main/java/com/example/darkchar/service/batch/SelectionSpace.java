@@ -0,0 +1,420 @@
+package com.example.darkchar.service.batch;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.DarknessPreset;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.domain.ProtagonistAlignment;
+
+/**
+ * 闇堕ち選択（カテゴリごとの選択肢の部分集合）×闇堕ち度プリセット×立ち位置からなる選択空間です。
+ * <p>
+ * 各組み合わせに一意の添字を割り当て（プリセット・立ち位置を下位桁、カテゴリごとの部分集合の順位を上位桁とする混合基数）、
+ * 添字から要素を都度復元します。組み合わせを実体化しないため、全列挙・無作為抽出・層化抽出のいずれも
+ * 定数メモリのまま {@code parallel()} で分割できます。
+ */
+public final class SelectionSpace {
+
+    /** 選択空間の対象となる闇堕ちカテゴリ。 */
+    private static final List<AttributeCategory> DARKNESS_CATEGORIES = List.of(
+            AttributeCategory.MOTIVE,
+            AttributeCategory.TRANSFORMATION_PROCESS,
+            AttributeCategory.MINDSET,
+            AttributeCategory.APPEARANCE);
+
+    private static final DarknessPreset[] PRESETS = DarknessPreset.values();
+    private static final ProtagonistAlignment[] ALIGNMENTS = ProtagonistAlignment.values();
+    private static final int STRATUM_COUNT = PRESETS.length * ALIGNMENTS.length;
+
+    private final CategoryAxis[] axes;
+    private final boolean requireNonEmpty;
+    private final BigInteger selectionCount;
+    private final BigInteger size;
+
+    private SelectionSpace(CategoryAxis[] axes, boolean requireNonEmpty) {
+        this.axes = axes;
+        this.requireNonEmpty = requireNonEmpty && allowsEmptySelection(axes);
+        BigInteger product = BigInteger.ONE;
+        for (CategoryAxis axis : axes) {
+            product = product.multiply(BigInteger.valueOf(axis.count()));
+        }
+        this.selectionCount = this.requireNonEmpty ? product.subtract(BigInteger.ONE) : product;
+        this.size = selectionCount.multiply(BigInteger.valueOf(STRATUM_COUNT));
+    }
+
+    /**
+     * カテゴリ別の選択肢からビルダーを作成します。{@link AttributeCategory#CHARACTER_TRAIT} は無視されます。
+     *
+     * @param options カテゴリ別の選択肢
+     * @return ビルダー
+     */
+    public static Builder builder(Map<AttributeCategory, List<AttributeOption>> options) {
+        return new Builder(options);
+    }
+
+    /**
+     * 選択空間の要素数を返します。
+     *
+     * @return 要素数
+     */
+    public BigInteger size() {
+        return size;
+    }
+
+    /**
+     * 全要素を添字順に遅延列挙するストリームを返します。
+     *
+     * @return 全要素のストリーム
+     * @throws IllegalStateException 要素数が {@code long} で表せない場合
+     */
+    public Stream<SelectionCombination> enumerate() {
+        long total = requireLongSize(size, "全列挙するには選択肢数の上限を絞ってください。");
+        return stream(this::get, total, Spliterator.DISTINCT);
+    }
+
+    /**
+     * 添字に対応する要素を返します。
+     *
+     * @param index 添字（0 以上 {@link #size()} 未満）
+     * @return 要素
+     */
+    public SelectionCombination get(long index) {
+        long total = requireLongSize(size, "添字で参照するには選択肢数の上限を絞ってください。");
+        Objects.checkIndex(index, total);
+        int stratum = (int) (index % STRATUM_COUNT);
+        long selectionIndex = index / STRATUM_COUNT;
+        return combination(stratum, requireNonEmpty ? selectionIndex + 1 : selectionIndex);
+    }
+
+    /**
+     * 選択空間から一様に無作為抽出するストリームを返します。
+     * <p>
+     * 各要素はシードと抽出番号だけから決まるため、並列・逐次のどちらでも同じ列になります。
+     * 重複を許す復元抽出です。
+     *
+     * @param count 抽出数
+     * @param seed  シード
+     * @return 抽出結果のストリーム
+     */
+    public Stream<SelectionCombination> sample(long count, long seed) {
+        requireNonNegative(count, "count");
+        requireNonEmptySpace();
+        return stream(ordinal -> {
+            SplittableRandom random = randomFor(seed, ordinal);
+            return randomCombination(random.nextInt(STRATUM_COUNT), random);
+        }, count, 0);
+    }
+
+    /**
+     * 闇堕ち度プリセット×立ち位置の各層から同数ずつ抽出するストリームを返します。
+     * <p>
+     * 層内では闇堕ち選択を一様に抽出します。要素は層を巡回する順に並ぶため、先頭から切り出しても層の偏りは1件以内に収まります。
+     *
+     * @param perStratum 1層あたりの抽出数
+     * @param seed       シード
+     * @return 抽出結果のストリーム
+     */
+    public Stream<SelectionCombination> stratifiedSample(long perStratum, long seed) {
+        requireNonNegative(perStratum, "perStratum");
+        requireNonEmptySpace();
+        long total = Math.multiplyExact(perStratum, STRATUM_COUNT);
+        return stream(ordinal -> randomCombination((int) (ordinal % STRATUM_COUNT), randomFor(seed, ordinal)),
+                total, 0);
+    }
+
+    /**
+     * 層の番号と闇堕ち選択の通し番号から要素を組み立てます。
+     *
+     * @param stratum        層の番号
+     * @param selectionIndex 空選択も含めた闇堕ち選択の通し番号
+     * @return 要素
+     */
+    private SelectionCombination combination(int stratum, long selectionIndex) {
+        long[] ranks = new long[axes.length];
+        long remaining = selectionIndex;
+        for (int i = 0; i < axes.length; i++) {
+            ranks[i] = remaining % axes[i].count();
+            remaining /= axes[i].count();
+        }
+        return combination(stratum, ranks);
+    }
+
+    /**
+     * 層の番号とカテゴリごとの部分集合の順位から要素を組み立てます。
+     *
+     * @param stratum 層の番号
+     * @param ranks   カテゴリごとの部分集合の順位
+     * @return 要素
+     */
+    private SelectionCombination combination(int stratum, long[] ranks) {
+        Map<AttributeCategory, List<AttributeOption>> selections = new EnumMap<>(AttributeCategory.class);
+        for (int i = 0; i < axes.length; i++) {
+            List<AttributeOption> chosen = axes[i].unrank(ranks[i]);
+            if (!chosen.isEmpty()) {
+                selections.put(axes[i].category(), chosen);
+            }
+        }
+        DarknessPreset preset = PRESETS[stratum % PRESETS.length];
+        ProtagonistAlignment alignment = ALIGNMENTS[stratum / PRESETS.length];
+        return new SelectionCombination(new DarknessSelection(selections, preset), alignment);
+    }
+
+    /**
+     * 層の番号を指定して、闇堕ち選択を一様に抽出した要素を返します。
+     * <p>
+     * 通し番号が {@code long} に収まらない空間でも、カテゴリごとに独立に順位を引くことで一様に抽出できます。
+     *
+     * @param stratum 層の番号
+     * @param random  乱数
+     * @return 要素
+     */
+    private SelectionCombination randomCombination(int stratum, SplittableRandom random) {
+        if (selectionCount.bitLength() < Long.SIZE) {
+            long index = random.nextLong(selectionCount.longValue());
+            return combination(stratum, requireNonEmpty ? index + 1 : index);
+        }
+        // requireNonEmpty が有効な場合、全カテゴリの順位 0 は空選択なので引き直す
+        long[] ranks = new long[axes.length];
+        boolean empty;
+        do {
+            empty = true;
+            for (int i = 0; i < axes.length; i++) {
+                ranks[i] = random.nextLong(axes[i].count());
+                empty &= ranks[i] == 0;
+            }
+        } while (requireNonEmpty && empty);
+        return combination(stratum, ranks);
+    }
+
+    private static Stream<SelectionCombination> stream(LongFunction<SelectionCombination> elementAt,
+            long count, int characteristics) {
+        return StreamSupport.stream(new IndexedSpliterator<>(elementAt, 0, count, characteristics), false);
+    }
+
+    private void requireNonEmptySpace() {
+        if (selectionCount.signum() == 0) {
+            throw new IllegalStateException("選択空間が空です。");
+        }
+    }
+
+    private static SplittableRandom randomFor(long seed, long ordinal) {
+        return new SplittableRandom(mix64(seed + ordinal * 0x9E3779B97F4A7C15L));
+    }
+
+    /**
+     * 64ビット値を攪拌します（SplitMix64 の最終化関数）。
+     */
+    private static long mix64(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long requireLongSize(BigInteger value, String hint) {
+        if (value.bitLength() >= Long.SIZE) {
+            throw new IllegalStateException("選択空間の要素数 " + value + " が大きすぎます。" + hint);
+        }
+        return value.longValue();
+    }
+
+    private static void requireNonNegative(long value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative");
+        }
+    }
+
+    private static boolean allowsEmptySelection(CategoryAxis[] axes) {
+        for (CategoryAxis axis : axes) {
+            if (axis.minSize() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@link SelectionSpace} のビルダーです。
+     */
+    public static final class Builder {
+
+        private final Map<AttributeCategory, List<AttributeOption>> options;
+        private final Map<AttributeCategory, int[]> bounds = new EnumMap<>(AttributeCategory.class);
+        private int defaultMin;
+        private int defaultMax = Integer.MAX_VALUE;
+        private boolean requireNonEmpty = true;
+
+        private Builder(Map<AttributeCategory, List<AttributeOption>> options) {
+            this.options = Objects.requireNonNull(options, "options");
+        }
+
+        /**
+         * 全カテゴリ共通の選択数の範囲を指定します。
+         *
+         * @param min 最小選択数
+         * @param max 最大選択数
+         * @return このビルダー
+         */
+        public Builder optionsPerCategory(int min, int max) {
+            validateBounds(min, max);
+            this.defaultMin = min;
+            this.defaultMax = max;
+            return this;
+        }
+
+        /**
+         * 特定カテゴリの選択数の範囲を指定します。共通の範囲より優先されます。
+         *
+         * @param category カテゴリ
+         * @param min      最小選択数
+         * @param max      最大選択数
+         * @return このビルダー
+         */
+        public Builder optionsPerCategory(AttributeCategory category, int min, int max) {
+            validateBounds(min, max);
+            bounds.put(Objects.requireNonNull(category, "category"), new int[] { min, max });
+            return this;
+        }
+
+        /**
+         * 全カテゴリが未選択となる組み合わせを除外するかどうかを指定します。既定は除外します。
+         *
+         * @param requireNonEmpty 除外する場合は {@code true}
+         * @return このビルダー
+         */
+        public Builder requireNonEmpty(boolean requireNonEmpty) {
+            this.requireNonEmpty = requireNonEmpty;
+            return this;
+        }
+
+        /**
+         * 選択空間を作成します。
+         *
+         * @return 選択空間
+         * @throws IllegalArgumentException 最小選択数が選択肢数を超えるカテゴリがある場合
+         */
+        public SelectionSpace build() {
+            List<CategoryAxis> axes = new ArrayList<>(DARKNESS_CATEGORIES.size());
+            for (AttributeCategory category : DARKNESS_CATEGORIES) {
+                List<AttributeOption> categoryOptions = List.copyOf(options.getOrDefault(category, List.of()));
+                int[] range = bounds.getOrDefault(category, new int[] { defaultMin, defaultMax });
+                int max = Math.min(range[1], categoryOptions.size());
+                if (range[0] > max) {
+                    throw new IllegalArgumentException(category.getDisplayName() + "の選択肢が最小選択数 "
+                            + range[0] + " に足りません。");
+                }
+                axes.add(new CategoryAxis(category, categoryOptions, range[0], max));
+            }
+            return new SelectionSpace(axes.toArray(CategoryAxis[]::new), requireNonEmpty);
+        }
+
+        private static void validateBounds(int min, int max) {
+            if (min < 0 || max < min) {
+                throw new IllegalArgumentException("invalid bounds: min=" + min + ", max=" + max);
+            }
+        }
+    }
+
+    /**
+     * 1カテゴリ分の部分集合の並び（選択数の昇順、同数内は辞書順）を表します。
+     * <p>
+     * 順位から部分集合への復元は組み合わせ数体系で行い、二項係数表は選択数の上限列までのみ保持します。
+     */
+    private static final class CategoryAxis {
+
+        private final AttributeCategory category;
+        private final AttributeOption[] options;
+        private final int minSize;
+        private final int maxSize;
+        /** binomial[n][k] = C(n, k)。long を超える値は {@link Long#MAX_VALUE} に飽和させる。 */
+        private final long[][] binomial;
+        private final long count;
+
+        CategoryAxis(AttributeCategory category, List<AttributeOption> options, int minSize, int maxSize) {
+            this.category = category;
+            this.options = options.toArray(AttributeOption[]::new);
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            int n = this.options.length;
+            this.binomial = new long[n + 1][maxSize + 1];
+            for (int row = 0; row <= n; row++) {
+                binomial[row][0] = 1;
+                for (int k = 1; k <= Math.min(row, maxSize); k++) {
+                    long left = binomial[row - 1][k - 1];
+                    long right = k <= row - 1 ? binomial[row - 1][k] : 0;
+                    binomial[row][k] = saturatedAdd(left, right);
+                }
+            }
+            long total = 0;
+            for (int k = minSize; k <= maxSize; k++) {
+                total = saturatedAdd(total, binomial[n][k]);
+            }
+            if (total == Long.MAX_VALUE) {
+                throw new IllegalArgumentException(category.getDisplayName()
+                        + "の部分集合が多すぎます。選択数の上限を絞ってください。");
+            }
+            this.count = total;
+        }
+
+        AttributeCategory category() {
+            return category;
+        }
+
+        int minSize() {
+            return minSize;
+        }
+
+        long count() {
+            return count;
+        }
+
+        /**
+         * 順位に対応する部分集合を返します。
+         *
+         * @param rank 順位（0 以上 {@link #count()} 未満）
+         * @return 選択肢の部分集合（カタログ順）
+         */
+        List<AttributeOption> unrank(long rank) {
+            int n = options.length;
+            int size = minSize;
+            long remaining = rank;
+            while (remaining >= binomial[n][size]) {
+                remaining -= binomial[n][size];
+                size++;
+            }
+            if (size == 0) {
+                return List.of();
+            }
+            List<AttributeOption> chosen = new ArrayList<>(size);
+            int left = size;
+            for (int i = 0; i < n && left > 0; i++) {
+                // i 番目を選ぶ場合の残り組み合わせ数 C(n - i - 1, left - 1)
+                long withCurrent = binomial[n - i - 1][left - 1];
+                if (remaining < withCurrent) {
+                    chosen.add(options[i]);
+                    left--;
+                } else {
+                    remaining -= withCurrent;
+                }
+            }
+            return List.copyOf(chosen);
+        }
+
+        private static long saturatedAdd(long a, long b) {
+            long sum = a + b;
+            return sum < 0 ? Long.MAX_VALUE : sum;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.darkchar.service.history;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import com.example.darkchar.domain.GeneratedCharacter;
+import com.example.darkchar.service.ai.ProviderType;
+import com.example.darkchar.service.ai.TokenUsage;
+
+/**
+ * 生成履歴として永続化する1件分の情報です。
+ *
+ * @param character    生成キャラクター
+ * @param prompt       使用したプロンプト
+ * @param providerType 指定されたプロバイダ
+ * @param usedProvider プロバイダの出力を採用したか（フォールバック時は {@code false}）
+ * @param model        使用したモデルID
+ * @param usage        トークン使用量
+ * @param latency      生成に要した時間
+ */
+public record GenerationHistoryEntry(
+        GeneratedCharacter character,
+        Optional<String> prompt,
+        ProviderType providerType,
+        boolean usedProvider,
+        Optional<String> model,
+        Optional<TokenUsage> usage,
+        Duration latency) {
+
+    /**
+     * 値を検証して正規化します。
+     */
+    public GenerationHistoryEntry {
+        if (character == null) {
+            throw new IllegalArgumentException("character must not be null");
+        }
+        if (providerType == null) {
+            throw new IllegalArgumentException("providerType must not be null");
+        }
+        prompt = prompt == null ? Optional.empty() : prompt;
+        model = model == null ? Optional.empty() : model;
+        usage = usage == null ? Optional.empty() : usage;
+        latency = latency == null ? Duration.ZERO : latency;
+    }
+}
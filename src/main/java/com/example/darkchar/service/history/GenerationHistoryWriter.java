@@ -0,0 +1,183 @@
+package com.example.darkchar.service.history;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.darkchar.repository.GeneratedCharacterRepository;
+
+/**
+ * 生成履歴を非同期にまとめて保存するライトビハインド方式のライターです。
+ * <p>
+ * 呼び出し側はキューへ積むだけで戻り、専用スレッドが溜まった履歴を
+ * {@link GeneratedCharacterRepository#batchInsert(List)} で一括登録し、続けて
+ * {@link NarrativeSearchService} の全文検索索引へ追加します。登録と索引の追加は1つのトランザクションで行うため、
+ * 索引の追加に失敗した場合はそのバッチの登録も取り消され、検索に出てこない履歴は残りません。
+ * キューが満杯のときは生成処理を待たせず、その履歴を破棄して警告を出します。
+ * アプリ終了時には残っている履歴をすべて書き出してから停止します。
+ */
+@Component
+public class GenerationHistoryWriter implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenerationHistoryWriter.class);
+    private static final long POLL_INTERVAL_MILLIS = 200L;
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+    private static final long DROP_LOG_INTERVAL = 1000L;
+
+    private final GeneratedCharacterRepository repository;
+    private final NarrativeSearchService searchService;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<GenerationHistoryEntry> queue;
+    private final int batchSize;
+    private final Thread worker;
+    private final Object progressLock = new Object();
+    private volatile boolean running = true;
+    private long submittedCount;
+    private long processedCount;
+    private long droppedCount;
+
+    /**
+     * 依存コンポーネントと設定値を注入し、書き込みスレッドを開始します。
+     *
+     * @param repository          生成履歴リポジトリ
+     * @param searchService       物語全文検索サービス
+     * @param transactionTemplate 登録と索引の追加をまとめるトランザクション
+     * @param queueCapacity       キューの上限件数
+     * @param batchSize           1回の一括登録で書き込む最大件数
+     */
+    public GenerationHistoryWriter(GeneratedCharacterRepository repository, NarrativeSearchService searchService,
+            TransactionTemplate transactionTemplate,
+            @Value("${darkchar.history.queue-capacity:1024}") int queueCapacity,
+            @Value("${darkchar.history.batch-size:64}") int batchSize) {
+        if (queueCapacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("queueCapacity and batchSize must be positive");
+        }
+        this.repository = repository;
+        this.searchService = searchService;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.worker = new Thread(this::drainLoop, "generation-history-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 履歴を書き込みキューへ積みます。呼び出し元をブロックしません。
+     *
+     * @param entry 履歴
+     * @return キューへ積めた場合は {@code true}、満杯または停止済みで破棄した場合は {@code false}
+     */
+    public boolean submit(GenerationHistoryEntry entry) {
+        synchronized (progressLock) {
+            if (running && queue.offer(entry)) {
+                submittedCount++;
+                return true;
+            }
+            droppedCount++;
+            if (droppedCount == 1 || droppedCount % DROP_LOG_INTERVAL == 0) {
+                logger.warn("Generation history writer is {}; {} entries dropped so far.",
+                        running ? "saturated" : "stopped", droppedCount);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 呼び出し時点までに積まれた履歴がすべて書き込まれるまで待機します。
+     *
+     * @param timeout 最大待機時間
+     * @return 期限内に書き込みが完了した場合は {@code true}
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    public boolean flush(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (progressLock) {
+            long target = submittedCount;
+            while (processedCount < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(progressLock, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 新規の受け付けを止め、残りの履歴を書き出してからスレッドを停止します。
+     *
+     * @throws InterruptedException 停止待ちの間に割り込まれた場合
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        // submit と同じロックの中で止めるため、受け付けた履歴はすべて、書き込みスレッドが停止を見る前にキューへ入っている
+        synchronized (progressLock) {
+            running = false;
+        }
+        worker.join(SHUTDOWN_TIMEOUT.toMillis());
+        if (worker.isAlive()) {
+            logger.warn("Generation history writer did not finish within {}; {} entries may be lost.",
+                    SHUTDOWN_TIMEOUT, queue.size());
+        }
+    }
+
+    /**
+     * キューから履歴を取り出して一括登録するループです。停止後もキューが空になるまで続けます。
+     * <p>
+     * JDBC 処理中の割り込みはファイルチャネルを閉じてしまうため、停止通知には割り込みではなくポーリングを使います。
+     */
+    private void drainLoop() {
+        List<GenerationHistoryEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            GenerationHistoryEntry first;
+            try {
+                first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * 1バッチ分を登録し、索引へ追加します。失敗してもスレッドは継続し、そのバッチのみ破棄します。
+     *
+     * @param batch 登録する履歴
+     */
+    private void write(List<GenerationHistoryEntry> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Long> ids = repository.batchInsert(batch);
+                searchService.index(ids, batch.stream().map(entry -> entry.character().narrative()).toList());
+            });
+            logger.debug("Persisted {} generation history entries.", batch.size());
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to persist {} generation history entries; the batch was rolled back: {}",
+                    batch.size(), ex.getMessage());
+        } finally {
+            synchronized (progressLock) {
+                processedCount += batch.size();
+                progressLock.notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.darkchar.service.history;
+
+import java.text.Normalizer;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 物語本文を検索用に正規化し、文字バイグラムへ分割するユーティリティです。
+ * <p>
+ * 日本語は語境界が空白で区切られないため、形態素解析の代わりに隣接する2文字を索引語とします。
+ * NFKC で全角英数と半角カナを揃え、英字は小文字化します。空白・句読点・記号は区切りとして扱い、
+ * それをまたぐバイグラムは作りません。
+ */
+final class NarrativeBigrams {
+
+    private NarrativeBigrams() {
+    }
+
+    /**
+     * 検索用に文字列を正規化します。
+     *
+     * @param text 対象文字列
+     * @return 正規化した文字列
+     */
+    static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 正規化済みの文字列からバイグラムごとの出現回数を数えます。
+     *
+     * @param normalized 正規化済みの文字列
+     * @return バイグラムから出現回数へのマップ（初出順）
+     */
+    static Map<String, Integer> count(String normalized) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        int previous = -1;
+        for (int offset = 0; offset < normalized.length();) {
+            int codePoint = normalized.codePointAt(offset);
+            offset += Character.charCount(codePoint);
+            if (isBoundary(codePoint)) {
+                previous = -1;
+                continue;
+            }
+            if (previous >= 0) {
+                String gram = new StringBuilder(4).appendCodePoint(previous).appendCodePoint(codePoint).toString();
+                frequencies.merge(gram, 1, Integer::sum);
+            }
+            previous = codePoint;
+        }
+        return frequencies;
+    }
+
+    /**
+     * 索引語の区切りとなる文字か判定します。
+     *
+     * @param codePoint コードポイント
+     * @return 空白・句読点・記号であれば {@code true}
+     */
+    private static boolean isBoundary(int codePoint) {
+        if (Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint)) {
+            return true;
+        }
+        return switch (Character.getType(codePoint)) {
+            case Character.CONNECTOR_PUNCTUATION, Character.DASH_PUNCTUATION, Character.START_PUNCTUATION,
+                    Character.END_PUNCTUATION, Character.INITIAL_QUOTE_PUNCTUATION,
+                    Character.FINAL_QUOTE_PUNCTUATION, Character.OTHER_PUNCTUATION, Character.MATH_SYMBOL,
+                    Character.CURRENCY_SYMBOL, Character.MODIFIER_SYMBOL, Character.OTHER_SYMBOL,
+                    Character.CONTROL -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.darkchar.service.history;
+
+import java.time.Instant;
+
+/**
+ * 物語検索の1件分の結果です。
+ *
+ * @param characterId 生成履歴のID
+ * @param generatedAt 生成日時
+ * @param worldGenre  世界観ジャンル名
+ * @param score       関連度スコア（大きいほど上位）
+ * @param snippet     一致箇所周辺の抜粋（正規化済み）
+ */
+public record NarrativeSearchHit(long characterId, Instant generatedAt, String worldGenre, double score,
+        String snippet) {
+}
@@ -0,0 +1,350 @@
+package com.example.darkchar.service.history;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.example.darkchar.repository.GeneratedCharacterRepository;
+import com.example.darkchar.repository.NarrativeIndexRepository;
+
+/**
+ * 生成履歴の物語本文を文字バイグラム転置索引で全文検索するサービスです。
+ * <p>
+ * 索引は {@link GenerationHistoryWriter} が履歴を保存するたびに、バイグラムごとのブロックを追記する形で
+ * 増分更新します。ブロックが一定数を超えたバイグラムは、新しい側から大きさの揃ったブロックだけをまとめ直します
+ * （サイズ段階型のマージ）。古く大きなブロックは書き直さないため、頻出するバイグラムでも1回のまとめ直しは
+ * 直近のポスティングの量で済み、各ポスティングが書き直される回数は全体の件数の対数程度に収まります。
+ * <p>
+ * 検索は出現文書数の少ないバイグラムから順にポスティングをメモリ上で突き合わせて候補を絞り込み（AND 検索）、
+ * BM25 の語頻度飽和と IDF で順位付けしたうえで、上位候補だけ本文にフレーズが連続して含まれるかを確認します。
+ * 候補に比べて極端に頻出するバイグラムはポスティングを読まず、フレーズ照合で代替します。
+ */
+@Service
+public class NarrativeSearchService {
+
+    /** BM25 の語頻度飽和パラメータ。 */
+    private static final double K1 = 1.2d;
+    /** 1バイグラムあたりのブロック数の目安。超えたら末尾のブロックをまとめ直す。 */
+    private static final int MAX_BLOCKS_PER_GRAM = 8;
+    /** 候補数に対してこの倍率を超えて頻出するバイグラムは絞り込みに使わない。 */
+    private static final int FREQUENT_GRAM_RATIO = 8;
+    private static final int SNIPPET_RADIUS = 40;
+
+    private final NarrativeIndexRepository indexRepository;
+    private final GeneratedCharacterRepository characterRepository;
+
+    /**
+     * 依存リポジトリを注入します。
+     *
+     * @param indexRepository     転置索引リポジトリ
+     * @param characterRepository 生成履歴リポジトリ
+     */
+    public NarrativeSearchService(NarrativeIndexRepository indexRepository,
+            GeneratedCharacterRepository characterRepository) {
+        this.indexRepository = indexRepository;
+        this.characterRepository = characterRepository;
+    }
+
+    /**
+     * 保存済みの履歴を索引へ追加します。IDは既存の索引より大きい昇順で渡してください。
+     *
+     * @param characterIds 履歴ID
+     * @param narratives   物語本文（{@code characterIds} と同じ順）
+     */
+    public void index(List<Long> characterIds, List<String> narratives) {
+        if (characterIds.size() != narratives.size()) {
+            throw new IllegalArgumentException("characterIds and narratives must have the same size");
+        }
+        Map<String, PostingList> postingsByGram = new LinkedHashMap<>();
+        for (int i = 0; i < characterIds.size(); i++) {
+            long characterId = characterIds.get(i);
+            NarrativeBigrams.count(NarrativeBigrams.normalize(narratives.get(i)))
+                    .forEach((gram, frequency) -> postingsByGram
+                            .computeIfAbsent(gram, key -> new PostingList(characterIds.size()))
+                            .add(characterId, frequency));
+        }
+        if (postingsByGram.isEmpty()) {
+            return;
+        }
+        List<Object[]> blocks = new ArrayList<>(postingsByGram.size());
+        Map<String, Long> documentFrequencies = new HashMap<>();
+        postingsByGram.forEach((gram, postings) -> {
+            blocks.add(new Object[] { gram, postings.id(0), postings.size(), postings.encode() });
+            documentFrequencies.put(gram, (long) postings.size());
+        });
+        indexRepository.appendBlocks(blocks, documentFrequencies);
+        for (String gram : indexRepository.findGramsWithBlocksAbove(postingsByGram.keySet(), MAX_BLOCKS_PER_GRAM)) {
+            compact(gram);
+        }
+    }
+
+    /**
+     * フレーズを含む物語を関連度の高い順に検索します。
+     *
+     * @param query 検索語（2文字以上）
+     * @param limit 最大件数
+     * @return 検索結果
+     */
+    public List<NarrativeSearchHit> search(String query, int limit) {
+        String normalizedQuery = NarrativeBigrams.normalize(query).strip();
+        Map<String, Integer> queryGrams = NarrativeBigrams.count(normalizedQuery);
+        if (queryGrams.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Map<String, Long> documentFrequencies = indexRepository.findDocumentFrequencies(queryGrams.keySet());
+        if (documentFrequencies.size() < queryGrams.size()) {
+            return List.of();
+        }
+        long documentCount = characterRepository.count();
+
+        List<String> grams = new ArrayList<>(queryGrams.keySet());
+        grams.sort(Comparator.comparingLong(documentFrequencies::get));
+        Candidates candidates = null;
+        for (String gram : grams) {
+            long documentFrequency = documentFrequencies.get(gram);
+            if (candidates != null && documentFrequency > (long) candidates.size * FREQUENT_GRAM_RATIO) {
+                // 以降はさらに頻出するバイグラムのみ。IDF が小さく絞り込み効果も薄いため、フレーズ照合に任せる
+                break;
+            }
+            PostingList postings = PostingList.decode(indexRepository.findBlocks(gram));
+            double idf = Math.log(1d + (documentCount - documentFrequency + 0.5d) / (documentFrequency + 0.5d));
+            if (candidates == null) {
+                candidates = Candidates.of(postings, idf);
+            } else {
+                candidates.retain(postings, idf);
+            }
+            if (candidates.size == 0) {
+                return List.of();
+            }
+        }
+        return verifyPhrases(normalizedQuery, candidates, limit);
+    }
+
+    /**
+     * バイグラムの末尾のブロックをまとめ直します。最も新しいブロックから遡り、手前のブロックの文書数が
+     * それより後ろのブロックの合計以下である間だけ取り込みます。2ブロック以上そろわなければ何もしません。
+     *
+     * @param gram バイグラム
+     */
+    private void compact(String gram) {
+        List<NarrativeIndexRepository.BlockSize> blocks = indexRepository.findBlockSizes(gram);
+        int from = blocks.size();
+        long mergedDocuments = 0;
+        while (from > 0) {
+            int documentCount = blocks.get(from - 1).documentCount();
+            if (from < blocks.size() && documentCount > mergedDocuments) {
+                break;
+            }
+            mergedDocuments += documentCount;
+            from--;
+        }
+        int mergedBlockCount = blocks.size() - from;
+        if (mergedBlockCount < 2) {
+            return;
+        }
+        long fromCharacterId = blocks.get(from).firstCharacterId();
+        PostingList merged = PostingList.decode(indexRepository.findBlocksFrom(gram, fromCharacterId));
+        indexRepository.replaceTailBlocks(gram, fromCharacterId, mergedBlockCount, merged.size(), merged.encode());
+    }
+
+    /**
+     * 上位候補から順に本文を読み、フレーズが連続して現れるものだけを結果にします。
+     *
+     * @param normalizedQuery 正規化済み検索語
+     * @param candidates      候補
+     * @param limit           最大件数
+     * @return 検索結果
+     */
+    private List<NarrativeSearchHit> verifyPhrases(String normalizedQuery, Candidates candidates, int limit) {
+        List<NarrativeSearchHit> hits = new ArrayList<>(limit);
+        int pageSize = Math.max(limit * 2, 16);
+        long upperBound = Long.MAX_VALUE;
+        while (hits.size() < limit) {
+            int[] page = candidates.topBelow(upperBound, pageSize);
+            if (page.length == 0) {
+                break;
+            }
+            upperBound = candidates.rankKey(page[page.length - 1]);
+            List<Long> ids = new ArrayList<>(page.length);
+            for (int index : page) {
+                ids.add(candidates.ids[index]);
+            }
+            Map<Long, StoredNarrative> narratives = new HashMap<>();
+            characterRepository.findNarratives(ids)
+                    .forEach(narrative -> narratives.put(narrative.characterId(), narrative));
+            for (int index : page) {
+                StoredNarrative narrative = narratives.get(candidates.ids[index]);
+                if (narrative == null) {
+                    continue;
+                }
+                String normalizedNarrative = NarrativeBigrams.normalize(narrative.narrative());
+                int position = normalizedNarrative.indexOf(normalizedQuery);
+                if (position < 0) {
+                    continue;
+                }
+                hits.add(new NarrativeSearchHit(narrative.characterId(), narrative.generatedAt(),
+                        narrative.worldGenre(), candidates.scores[index],
+                        snippet(normalizedNarrative, position, normalizedQuery.length())));
+                if (hits.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * BM25 の語頻度飽和（文書長の正規化なし）で重みを計算します。
+     *
+     * @param idf       逆文書頻度
+     * @param frequency 出現回数
+     * @return 重み
+     */
+    private static double weight(double idf, int frequency) {
+        return idf * frequency * (K1 + 1d) / (frequency + K1);
+    }
+
+    /**
+     * 一致箇所の前後を切り出します。
+     *
+     * @param text     正規化済み本文
+     * @param position 一致位置
+     * @param length   一致長
+     * @return 抜粋
+     */
+    private static String snippet(String text, int position, int length) {
+        int from = Math.max(0, position - SNIPPET_RADIUS);
+        int to = Math.min(text.length(), position + length + SNIPPET_RADIUS);
+        String body = text.substring(from, to).replace('\n', ' ');
+        return (from > 0 ? "…" : "") + body + (to < text.length() ? "…" : "");
+    }
+
+    /**
+     * 履歴IDの昇順に並んだ検索候補とスコアです。
+     */
+    private static final class Candidates {
+
+        private final long[] ids;
+        private final double[] scores;
+        private int size;
+
+        private Candidates(long[] ids, double[] scores, int size) {
+            this.ids = ids;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        /**
+         * 最初のバイグラムのポスティングから候補を作ります。
+         */
+        static Candidates of(PostingList postings, double idf) {
+            int size = postings.size();
+            long[] ids = new long[size];
+            double[] scores = new double[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = postings.id(i);
+                scores[i] = weight(idf, postings.frequency(i));
+            }
+            return new Candidates(ids, scores, size);
+        }
+
+        /**
+         * ポスティングにも含まれる候補だけを残し、スコアを加算します（昇順同士の突き合わせ）。
+         */
+        void retain(PostingList postings, double idf) {
+            int kept = 0;
+            int p = 0;
+            for (int i = 0; i < size && p < postings.size(); i++) {
+                while (p < postings.size() && postings.id(p) < ids[i]) {
+                    p++;
+                }
+                if (p < postings.size() && postings.id(p) == ids[i]) {
+                    ids[kept] = ids[i];
+                    scores[kept] = scores[i] + weight(idf, postings.frequency(p));
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+
+        /**
+         * 並び順のキーを返します。スコアは正の値なので float のビット列がそのまま大小順になり、
+         * 下位32ビットの添字で同点時は新しい履歴を上位にします。
+         */
+        long rankKey(int index) {
+            return ((long) Float.floatToIntBits((float) scores[index]) << 32) | index;
+        }
+
+        /**
+         * キーが上限未満の候補から上位を最大 {@code count} 件、順位順に返します。
+         */
+        int[] topBelow(long upperBound, int count) {
+            long[] heap = new long[count];
+            int heapSize = 0;
+            for (int i = 0; i < size; i++) {
+                long key = rankKey(i);
+                if (key >= upperBound) {
+                    continue;
+                }
+                if (heapSize < count) {
+                    heap[heapSize++] = key;
+                    siftUp(heap, heapSize - 1);
+                } else if (key > heap[0]) {
+                    heap[0] = key;
+                    siftDown(heap, heapSize);
+                }
+            }
+            long[] sorted = Arrays.copyOf(heap, heapSize);
+            Arrays.sort(sorted);
+            int[] result = new int[heapSize];
+            for (int i = 0; i < heapSize; i++) {
+                result[i] = (int) sorted[heapSize - 1 - i];
+            }
+            return result;
+        }
+
+        private static void siftUp(long[] heap, int index) {
+            int child = index;
+            while (child > 0) {
+                int parent = (child - 1) >>> 1;
+                if (heap[parent] <= heap[child]) {
+                    return;
+                }
+                swap(heap, parent, child);
+                child = parent;
+            }
+        }
+
+        private static void siftDown(long[] heap, int heapSize) {
+            int parent = 0;
+            while (true) {
+                int smallest = parent;
+                int left = parent * 2 + 1;
+                int right = left + 1;
+                if (left < heapSize && heap[left] < heap[smallest]) {
+                    smallest = left;
+                }
+                if (right < heapSize && heap[right] < heap[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == parent) {
+                    return;
+                }
+                swap(heap, parent, smallest);
+                parent = smallest;
+            }
+        }
+
+        private static void swap(long[] heap, int a, int b) {
+            long tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.darkchar.service.history;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 1バイグラム分のポスティング（履歴IDの昇順と出現回数）を保持し、可変長整数で符号化します。
+ * <p>
+ * 符号化形式は件数に続けて「直前IDとの差分」と「出現回数」を交互に並べたもので、
+ * 同じバイグラムの複数ブロックは先頭IDの昇順に連結するだけで1つのリストに戻せます。
+ */
+final class PostingList {
+
+    private long[] ids;
+    private int[] frequencies;
+    private int size;
+
+    /**
+     * 初期容量を指定して空のリストを作成します。
+     *
+     * @param capacity 初期容量
+     */
+    PostingList(int capacity) {
+        this.ids = new long[Math.max(capacity, 4)];
+        this.frequencies = new int[this.ids.length];
+    }
+
+    /**
+     * 末尾へ追加します。IDは昇順で追加してください。
+     *
+     * @param id        履歴ID
+     * @param frequency 出現回数
+     */
+    void add(long id, int frequency) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            frequencies = Arrays.copyOf(frequencies, size * 2);
+        }
+        ids[size] = id;
+        frequencies[size] = frequency;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long id(int index) {
+        return ids[index];
+    }
+
+    int frequency(int index) {
+        return frequencies[index];
+    }
+
+    /**
+     * 可変長整数で符号化します。
+     *
+     * @return 符号化したバイト列
+     */
+    byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size * 3 + 5);
+        writeVarLong(out, size);
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            writeVarLong(out, ids[i] - previous);
+            writeVarLong(out, frequencies[i]);
+            previous = ids[i];
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 先頭IDの昇順に並んだブロックを復号して連結します。
+     *
+     * @param blocks 符号化済みブロック
+     * @return 連結したポスティング
+     */
+    static PostingList decode(List<byte[]> blocks) {
+        int total = 0;
+        for (byte[] block : blocks) {
+            total += (int) new Reader(block).readVarLong();
+        }
+        PostingList list = new PostingList(total);
+        for (byte[] block : blocks) {
+            Reader reader = new Reader(block);
+            long count = reader.readVarLong();
+            long id = 0;
+            for (long i = 0; i < count; i++) {
+                id += reader.readVarLong();
+                list.add(id, (int) reader.readVarLong());
+            }
+        }
+        return list;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.write((int) remaining);
+    }
+
+    /**
+     * 符号化済みバイト列を先頭から読むカーソルです。
+     */
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = bytes[position++];
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.darkchar.service.history;
+
+import java.time.Instant;
+
+/**
+ * 保存済みの生成履歴から検索結果の表示に必要な項目だけを取り出したものです。
+ *
+ * @param characterId 生成履歴のID
+ * @param generatedAt 生成日時
+ * @param worldGenre  世界観ジャンル名
+ * @param narrative   物語本文
+ */
+public record StoredNarrative(long characterId, Instant generatedAt, String worldGenre, String narrative) {
+}
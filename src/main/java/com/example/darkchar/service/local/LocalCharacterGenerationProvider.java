@@ -0,0 +1,74 @@
+package com.example.darkchar.service.local;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.service.ai.AiProviderContext;
+import com.example.darkchar.service.ai.CharacterGenerationProvider;
+import com.example.darkchar.service.ai.ProviderConfigurationStatus;
+import com.example.darkchar.service.ai.ProviderGenerationResult;
+import com.example.darkchar.service.ai.ProviderType;
+
+/**
+ * {@link LocalNarrativeEngine} を用いてオフラインで生成するプロバイダです。
+ * <p>
+ * API キーやネットワークを必要とせず、生成ごとに新しいシードを使うため毎回異なる文章になります。
+ */
+@Component
+public class LocalCharacterGenerationProvider implements CharacterGenerationProvider {
+
+    private final LocalNarrativeEngine narrativeEngine;
+
+    /**
+     * ローカル生成エンジンを注入します。
+     *
+     * @param narrativeEngine ローカル生成エンジン
+     */
+    public LocalCharacterGenerationProvider(LocalNarrativeEngine narrativeEngine) {
+        this.narrativeEngine = narrativeEngine;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProviderType getProviderType() {
+        return ProviderType.LOCAL;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDisplayName() {
+        return ProviderType.LOCAL.getDisplayName();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean requiresApiKey() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProviderConfigurationStatus assessConfiguration(AiProviderContext context) {
+        return ProviderConfigurationStatus.onReady();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProviderGenerationResult generate(AiProviderContext context, CharacterInput input, DarknessSelection selection) {
+        long seed = ThreadLocalRandom.current().nextLong();
+        return new ProviderGenerationResult(narrativeEngine.generate(input, selection, seed));
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.darkchar.service.local;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import com.example.darkchar.config.AttributeOptionSeed;
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.DarknessPreset;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.domain.InputMode;
+import com.example.darkchar.domain.ProtagonistAlignment;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * フレーズバンクと属性の説明文からオフラインで闇堕ちストーリーを組み立てるエンジンです。
+ * <p>
+ * 同じシードと入力からは常に同じ文章を生成します。テンプレートは起動時に分解済みのため、
+ * 生成時の処理は乱数によるフレーズ選択と {@link StringBuilder} への追記のみです。
+ */
+@Component
+public class LocalNarrativeEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalNarrativeEngine.class);
+    private static final String PHRASE_BANK_RESOURCE_PATH = "data/local-narrative/phrase-bank.json";
+    private static final String ATTRIBUTE_OPTIONS_RESOURCE_PATTERN = "classpath:data/attribute-options/*.json";
+    private static final String DESCRIPTION_SEPARATOR = "：";
+    private static final String UNKNOWN_WORLD = "名もなき世界";
+    private static final String PARAGRAPH_SEPARATOR = "\n\n";
+    private static final int MAX_TRAIT_SENTENCES = 3;
+    private static final int MAX_SENTENCES_PER_CATEGORY = 3;
+    private static final int SLOT_COUNT = NarrativeSlot.values().length;
+
+    private final List<String> names;
+    private final List<String> connectors;
+    private final PhraseTemplate[] titles;
+    private final PhraseTemplate[] openings;
+    private final PhraseTemplate[] alignments;
+    private final PhraseTemplate[] traits;
+    private final PhraseTemplate[] traitMemos;
+    private final PhraseTemplate[] darknessMemos;
+    private final PhraseTemplate[] closings;
+    private final Map<AttributeCategory, PhraseTemplate[]> categoryTemplates;
+    private final Map<DarknessPreset, PhraseTemplate[]> darknessTemplates;
+    private final List<AttributeOption> fallbackTraits;
+
+    /**
+     * フレーズバンクと属性シードを読み込みます。
+     *
+     * @param objectMapper JSON マッパー
+     */
+    public LocalNarrativeEngine(ObjectMapper objectMapper) {
+        LocalPhraseBank bank = loadPhraseBank(objectMapper);
+        this.names = requireEntries(bank.names(), "names");
+        this.connectors = requireEntries(bank.connectors(), "connectors");
+        this.titles = compile(bank.titles(), "titles");
+        this.openings = compile(bank.openings(), "openings");
+        this.alignments = compile(bank.alignments(), "alignments");
+        this.traits = compile(bank.traits(), "traits");
+        this.traitMemos = compile(bank.traitMemos(), "traitMemos");
+        this.darknessMemos = compile(bank.darknessMemos(), "darknessMemos");
+        this.closings = compile(bank.closings(), "closings");
+
+        Map<AttributeCategory, PhraseTemplate[]> categoryMap = new EnumMap<>(AttributeCategory.class);
+        for (AttributeCategory category : AttributeCategory.values()) {
+            if (category != AttributeCategory.CHARACTER_TRAIT) {
+                categoryMap.put(category, compile(bank.categories().get(category.name()), "categories." + category));
+            }
+        }
+        this.categoryTemplates = categoryMap;
+
+        Map<DarknessPreset, PhraseTemplate[]> darknessMap = new EnumMap<>(DarknessPreset.class);
+        for (DarknessPreset preset : DarknessPreset.values()) {
+            darknessMap.put(preset, compile(bank.darkness().get(preset.name()), "darkness." + preset));
+        }
+        this.darknessTemplates = darknessMap;
+        this.fallbackTraits = loadFallbackTraits(objectMapper);
+    }
+
+    /**
+     * 入力とシードからストーリーを生成します。
+     *
+     * @param input     キャラクター入力
+     * @param selection 闇堕ち選択
+     * @param seed      乱数シード
+     * @return 生成したストーリー
+     */
+    public String generate(CharacterInput input, DarknessSelection selection, long seed) {
+        Objects.requireNonNull(input, "input");
+        Objects.requireNonNull(selection, "selection");
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] slots = new String[SLOT_COUNT];
+        slots[NarrativeSlot.NAME.ordinal()] = names.get(random.nextInt(names.size()));
+        slots[NarrativeSlot.WORLD.ordinal()] = input.worldGenre() != null && hasText(input.worldGenre().name())
+                ? input.worldGenre().name().trim()
+                : UNKNOWN_WORLD;
+
+        StringBuilder builder = new StringBuilder(2048);
+        pick(titles, random).appendTo(builder, slots);
+        builder.append(PARAGRAPH_SEPARATOR);
+        appendOpening(builder, input, slots, random);
+
+        for (AttributeCategory category : AttributeCategory.values()) {
+            List<AttributeOption> options = selection.selections().get(category);
+            if (category == AttributeCategory.CHARACTER_TRAIT || options == null || options.isEmpty()) {
+                continue;
+            }
+            builder.append(PARAGRAPH_SEPARATOR);
+            appendCategory(builder, categoryTemplates.get(category), options, slots, random);
+        }
+
+        builder.append(PARAGRAPH_SEPARATOR);
+        slots[NarrativeSlot.PRESET_DESCRIPTION.ordinal()] = selection.darknessDescription();
+        pick(darknessTemplates.get(selection.preset()), random).appendTo(builder, slots);
+
+        if (hasText(input.darknessFreeText())) {
+            builder.append(PARAGRAPH_SEPARATOR);
+            slots[NarrativeSlot.MEMO.ordinal()] = ensureSentenceEnd(input.darknessFreeText().trim());
+            pick(darknessMemos, random).appendTo(builder, slots);
+        }
+
+        builder.append(PARAGRAPH_SEPARATOR);
+        pick(closings, random).appendTo(builder, slots);
+        return builder.toString();
+    }
+
+    /**
+     * 闇堕ち前の姿を描く段落を追記します。
+     *
+     * @param builder 追記先
+     * @param input   キャラクター入力
+     * @param slots   スロット値
+     * @param random  乱数
+     */
+    private void appendOpening(StringBuilder builder, CharacterInput input, String[] slots, SplittableRandom random) {
+        pick(openings, random).appendTo(builder, slots);
+
+        ProtagonistAlignment alignment = ProtagonistAlignment.fromScore(input.protagonistScore()).orElse(null);
+        if (alignment != null) {
+            slots[NarrativeSlot.ALIGNMENT.ordinal()] = alignment.getPromptDescription();
+            pick(alignments, random).appendTo(builder, slots);
+        }
+
+        List<AttributeOption> characterTraits = input.mode() == InputMode.SEMI_AUTO && input.characterTraits() != null
+                ? input.characterTraits()
+                : List.of();
+        if (characterTraits.isEmpty() && !fallbackTraits.isEmpty()) {
+            characterTraits = List.of(fallbackTraits.get(random.nextInt(fallbackTraits.size())));
+        }
+        int traitCount = Math.min(characterTraits.size(), MAX_TRAIT_SENTENCES);
+        int traitOffset = characterTraits.isEmpty() ? 0 : random.nextInt(characterTraits.size());
+        int templateOffset = random.nextInt(traits.length);
+        for (int i = 0; i < traitCount; i++) {
+            AttributeOption trait = characterTraits.get((traitOffset + i) % characterTraits.size());
+            if (trait == null || !hasText(trait.name())) {
+                continue;
+            }
+            slots[NarrativeSlot.TRAIT_NAME.ordinal()] = trait.name().trim();
+            slots[NarrativeSlot.TRAIT.ordinal()] = extractFragment(trait);
+            traits[(templateOffset + i) % traits.length].appendTo(builder, slots);
+        }
+
+        if (input.mode() == InputMode.SEMI_AUTO && hasText(input.traitFreeText())) {
+            slots[NarrativeSlot.MEMO.ordinal()] = ensureSentenceEnd(input.traitFreeText().trim());
+            pick(traitMemos, random).appendTo(builder, slots);
+        }
+    }
+
+    /**
+     * 闇堕ちカテゴリ1つ分の段落を追記します。
+     *
+     * @param builder   追記先
+     * @param templates カテゴリのテンプレート
+     * @param options   選択された属性
+     * @param slots     スロット値
+     * @param random    乱数
+     */
+    private void appendCategory(StringBuilder builder, PhraseTemplate[] templates, List<AttributeOption> options,
+            String[] slots, SplittableRandom random) {
+        int count = Math.min(options.size(), MAX_SENTENCES_PER_CATEGORY);
+        int optionOffset = options.size() > count ? random.nextInt(options.size()) : 0;
+        int templateOffset = random.nextInt(templates.length);
+        boolean first = true;
+        for (int i = 0; i < count; i++) {
+            AttributeOption option = options.get((optionOffset + i) % options.size());
+            if (option == null || !hasText(option.name())) {
+                continue;
+            }
+            if (!first && random.nextBoolean()) {
+                builder.append(connectors.get(random.nextInt(connectors.size())));
+            }
+            slots[NarrativeSlot.OPTION_NAME.ordinal()] = option.name().trim();
+            slots[NarrativeSlot.OPTION.ordinal()] = extractFragment(option);
+            templates[(templateOffset + i) % templates.length].appendTo(builder, slots);
+            first = false;
+        }
+    }
+
+    /**
+     * 説明文から「名称：」の接頭辞を除いた描写部分を取り出します。
+     *
+     * @param option 属性
+     * @return 描写文
+     */
+    private static String extractFragment(AttributeOption option) {
+        String description = option.description();
+        if (!hasText(description)) {
+            return option.name().trim();
+        }
+        int separator = description.indexOf(DESCRIPTION_SEPARATOR);
+        String fragment = separator >= 0 ? description.substring(separator + DESCRIPTION_SEPARATOR.length()) : description;
+        return hasText(fragment) ? fragment.trim() : option.name().trim();
+    }
+
+    /**
+     * 文末に句点がなければ補います。
+     *
+     * @param text 対象文字列
+     * @return 句点で終わる文字列
+     */
+    private static String ensureSentenceEnd(String text) {
+        char lastChar = text.charAt(text.length() - 1);
+        if (lastChar == '。' || lastChar == '！' || lastChar == '？' || lastChar == '」' || lastChar == '』'
+                || lastChar == '.' || lastChar == '!' || lastChar == '?') {
+            return text;
+        }
+        return text + "。";
+    }
+
+    /**
+     * テンプレートを1つ選びます。
+     *
+     * @param templates 候補
+     * @param random    乱数
+     * @return 選ばれたテンプレート
+     */
+    private static PhraseTemplate pick(PhraseTemplate[] templates, SplittableRandom random) {
+        return templates[random.nextInt(templates.length)];
+    }
+
+    /**
+     * フレーズバンクを読み込みます。
+     *
+     * @param objectMapper JSON マッパー
+     * @return フレーズバンク
+     */
+    private static LocalPhraseBank loadPhraseBank(ObjectMapper objectMapper) {
+        Resource resource = new ClassPathResource(PHRASE_BANK_RESOURCE_PATH);
+        try (InputStream inputStream = resource.getInputStream()) {
+            return objectMapper.readValue(inputStream, LocalPhraseBank.class);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to load phrase bank from " + PHRASE_BANK_RESOURCE_PATH, ex);
+        }
+    }
+
+    /**
+     * オートモードで使うキャラクター属性を属性シードから読み込みます。
+     *
+     * @param objectMapper JSON マッパー
+     * @return キャラクター属性
+     */
+    private static List<AttributeOption> loadFallbackTraits(ObjectMapper objectMapper) {
+        List<AttributeOption> loaded = new ArrayList<>();
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver()
+                    .getResources(ATTRIBUTE_OPTIONS_RESOURCE_PATTERN);
+            for (Resource resource : resources) {
+                try (InputStream inputStream = resource.getInputStream()) {
+                    List<AttributeOptionSeed> seeds = objectMapper.readValue(inputStream,
+                            new TypeReference<List<AttributeOptionSeed>>() {});
+                    for (AttributeOptionSeed seed : seeds) {
+                        if (AttributeCategory.CHARACTER_TRAIT.name().equalsIgnoreCase(seed.category())) {
+                            loaded.add(new AttributeOption(null, AttributeCategory.CHARACTER_TRAIT, seed.name(),
+                                    seed.description()));
+                        }
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            logger.warn("Failed to read attribute option seeds for local narratives; auto mode will omit traits.", ex);
+        }
+        return List.copyOf(loaded);
+    }
+
+    /**
+     * フレーズ一覧をテンプレートへ変換します。
+     *
+     * @param phrases フレーズ一覧
+     * @param section セクション名
+     * @return テンプレート配列
+     */
+    private static PhraseTemplate[] compile(List<String> phrases, String section) {
+        return requireEntries(phrases, section).stream()
+                .map(PhraseTemplate::compile)
+                .toArray(PhraseTemplate[]::new);
+    }
+
+    /**
+     * セクションに1件以上のエントリがあることを検証します。
+     *
+     * @param entries エントリ
+     * @param section セクション名
+     * @return 検証済みエントリ
+     */
+    private static List<String> requireEntries(List<String> entries, String section) {
+        if (entries == null || entries.isEmpty()) {
+            throw new IllegalStateException("Phrase bank section '" + section + "' must not be empty.");
+        }
+        return List.copyOf(entries);
+    }
+
+    /**
+     * テキストが存在するか判定します。
+     *
+     * @param value 文字列
+     * @return 有効なら true
+     */
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.darkchar.service.local;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ローカル生成で利用するフレーズバンクの JSON 表現です。
+ * <p>
+ * 各テンプレートは {@code {name}} のようなスロットを含み、
+ * {@link NarrativeSlot} の値で置き換えられます。
+ */
+public record LocalPhraseBank(
+        List<String> names,
+        List<String> titles,
+        List<String> openings,
+        List<String> alignments,
+        List<String> traits,
+        List<String> traitMemos,
+        Map<String, List<String>> categories,
+        List<String> connectors,
+        Map<String, List<String>> darkness,
+        List<String> darknessMemos,
+        List<String> closings) {
+}
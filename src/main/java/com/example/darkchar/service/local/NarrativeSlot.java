@@ -0,0 +1,49 @@
+package com.example.darkchar.service.local;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * フレーズテンプレートで利用できるスロットの列挙です。
+ */
+enum NarrativeSlot {
+    NAME("name"),
+    WORLD("world"),
+    ALIGNMENT("alignment"),
+    TRAIT_NAME("traitName"),
+    TRAIT("trait"),
+    OPTION_NAME("optionName"),
+    OPTION("option"),
+    MEMO("memo"),
+    PRESET_DESCRIPTION("presetDescription");
+
+    private static final Map<String, NarrativeSlot> BY_KEY = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(NarrativeSlot::getKey, Function.identity()));
+
+    private final String key;
+
+    NarrativeSlot(String key) {
+        this.key = key;
+    }
+
+    /**
+     * テンプレート中で使うキーを返します。
+     *
+     * @return スロットキー
+     */
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * キーからスロットを取得します。
+     *
+     * @param key スロットキー
+     * @return 対応するスロット（未知のキーは null）
+     */
+    static NarrativeSlot fromKey(String key) {
+        return BY_KEY.get(key);
+    }
+}
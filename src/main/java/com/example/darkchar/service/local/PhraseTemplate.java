@@ -0,0 +1,70 @@
+package com.example.darkchar.service.local;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * スロットを含むフレーズを事前に分解したテンプレートです。
+ * <p>
+ * 生成時に文字列の検索や置換を行わず、固定文字列とスロット値を順に追記するだけで済むようにします。
+ */
+final class PhraseTemplate {
+
+    private final String[] literals;
+    private final NarrativeSlot[] slots;
+
+    private PhraseTemplate(String[] literals, NarrativeSlot[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+    }
+
+    /**
+     * フレーズを解析してテンプレートを作成します。未知のスロットは固定文字列として残します。
+     *
+     * @param phrase フレーズ
+     * @return テンプレート
+     */
+    static PhraseTemplate compile(String phrase) {
+        List<String> literalParts = new ArrayList<>();
+        List<NarrativeSlot> slotParts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int index = 0;
+        while (index < phrase.length()) {
+            int open = phrase.indexOf('{', index);
+            int close = open < 0 ? -1 : phrase.indexOf('}', open + 1);
+            if (open < 0 || close < 0) {
+                literal.append(phrase, index, phrase.length());
+                break;
+            }
+            literal.append(phrase, index, open);
+            NarrativeSlot slot = NarrativeSlot.fromKey(phrase.substring(open + 1, close));
+            if (slot == null) {
+                literal.append(phrase, open, close + 1);
+            } else {
+                literalParts.add(literal.toString());
+                slotParts.add(slot);
+                literal.setLength(0);
+            }
+            index = close + 1;
+        }
+        literalParts.add(literal.toString());
+        return new PhraseTemplate(literalParts.toArray(String[]::new), slotParts.toArray(NarrativeSlot[]::new));
+    }
+
+    /**
+     * スロットを埋めて追記します。
+     *
+     * @param target 追記先
+     * @param values {@link NarrativeSlot#ordinal()} で引けるスロット値
+     */
+    void appendTo(StringBuilder target, String[] values) {
+        for (int i = 0; i < slots.length; i++) {
+            target.append(literals[i]);
+            String value = values[slots[i].ordinal()];
+            if (value != null) {
+                target.append(value);
+            }
+        }
+        target.append(literals[slots.length]);
+    }
+}
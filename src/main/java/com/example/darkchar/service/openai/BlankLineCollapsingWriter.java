@@ -0,0 +1,123 @@
+package com.example.darkchar.service.openai;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 連続する空行を1行にまとめながら出力先へ書き込むフィルタリングライターです。
+ * <p>
+ * 空白文字のみの行は確定するまで内部に保持し、直前の行も空行であれば破棄します。
+ * 出力先の {@link Appendable} はクローズしません。
+ */
+final class BlankLineCollapsingWriter extends Writer {
+
+    private final Appendable out;
+    private final StringBuilder pendingWhitespace = new StringBuilder();
+    private boolean lineBlank = true;
+    private boolean previousLineBlank;
+    private boolean closed;
+
+    /**
+     * 出力先を指定して初期化します。
+     *
+     * @param out 出力先
+     */
+    BlankLineCollapsingWriter(Appendable out) {
+        this.out = out;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            writeChar(cbuf[i]);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            writeChar(str.charAt(i));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(int c) throws IOException {
+        writeChar((char) c);
+    }
+
+    /**
+     * 出力先が {@link Flushable} であればフラッシュします。保留中の空白は出力しません。
+     *
+     * @throws IOException 出力先のフラッシュに失敗した場合
+     */
+    @Override
+    public void flush() throws IOException {
+        if (out instanceof Flushable flushable) {
+            flushable.flush();
+        }
+    }
+
+    /**
+     * 末尾に保留している空白行を確定させます。出力先自体はクローズしません。
+     *
+     * @throws IOException 書き込みに失敗した場合
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (pendingWhitespace.length() > 0 && !(lineBlank && previousLineBlank)) {
+            out.append(pendingWhitespace);
+        }
+        pendingWhitespace.setLength(0);
+        flush();
+    }
+
+    /**
+     * 1文字を処理します。
+     *
+     * @param c 文字
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private void writeChar(char c) throws IOException {
+        if (closed) {
+            throw new IOException("Writer already closed");
+        }
+        if (c == '\n') {
+            if (lineBlank && previousLineBlank) {
+                pendingWhitespace.setLength(0);
+            } else {
+                if (pendingWhitespace.length() > 0) {
+                    out.append(pendingWhitespace);
+                    pendingWhitespace.setLength(0);
+                }
+                out.append('\n');
+            }
+            previousLineBlank = lineBlank;
+            lineBlank = true;
+            return;
+        }
+        if (lineBlank && Character.isWhitespace(c)) {
+            pendingWhitespace.append(c);
+            return;
+        }
+        if (pendingWhitespace.length() > 0) {
+            out.append(pendingWhitespace);
+            pendingWhitespace.setLength(0);
+        }
+        lineBlank = false;
+        out.append(c);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.darkchar.service.openai;
 
+import java.util.function.Consumer;
+
 import com.example.darkchar.domain.CharacterInput;
 import com.example.darkchar.domain.DarknessSelection;
 import com.example.darkchar.service.ai.ProviderGenerationResult;
@@ -20,4 +22,23 @@ public interface OpenAiCharacterGenerationClient {
      * @throws OpenAiIntegrationException OpenAI連携に失敗した場合
      */
     ProviderGenerationResult generate(String apiKey, String modelId, CharacterInput input, DarknessSelection selection);
+
+    /**
+     * 入力情報を元にOpenAIへ問い合わせ、生成中のテキストを断片ごとに通知します。
+     * 既定の実装は {@link #generate} の結果を一度に通知します。
+     *
+     * @param apiKey        使用するAPIキー
+     * @param modelId       使用するモデルID
+     * @param input         キャラクター入力
+     * @param selection     闇堕ち選択情報
+     * @param deltaListener テキストの断片を受け取る処理
+     * @return 生成されたテキスト
+     * @throws OpenAiIntegrationException OpenAI連携に失敗した場合
+     */
+    default ProviderGenerationResult generateStreaming(String apiKey, String modelId, CharacterInput input,
+            DarknessSelection selection, Consumer<String> deltaListener) {
+        ProviderGenerationResult result = generate(apiKey, modelId, input, selection);
+        deltaListener.accept(result.narrative());
+        return result;
+    }
 }
@@ -1,5 +1,7 @@
 package com.example.darkchar.service.openai;
 
+import java.util.function.Consumer;
+
 import org.springframework.stereotype.Component;
 
 import com.example.darkchar.domain.CharacterInput;
@@ -70,4 +72,17 @@ public class OpenAiCharacterGenerationProvider implements CharacterGenerationPro
         return generationClient.generate(apiKey, modelId, input, selection);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProviderGenerationResult generateStreaming(AiProviderContext context, CharacterInput input,
+            DarknessSelection selection, Consumer<String> deltaListener) {
+        String apiKey = context.apiKey()
+                .orElseThrow(() -> new OpenAiIntegrationException("OpenAI APIキーが設定されていません。"));
+        String modelId = context.selectedModel()
+                .orElseThrow(() -> new OpenAiIntegrationException("OpenAIリクエストに使用するモデルが選択されていません。"));
+        return generationClient.generateStreaming(apiKey, modelId, input, selection, deltaListener);
+    }
+
 }
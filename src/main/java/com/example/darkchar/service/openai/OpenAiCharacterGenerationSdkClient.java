@@ -1,17 +1,25 @@
 package com.example.darkchar.service.openai;
 
+import java.util.Iterator;
+import java.util.function.Consumer;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import com.example.darkchar.domain.CharacterInput;
 import com.example.darkchar.domain.DarknessSelection;
 import com.example.darkchar.service.ai.ProviderGenerationResult;
+import com.example.darkchar.service.ai.TokenUsage;
 import com.openai.client.OpenAIClient;
+import com.openai.core.http.StreamResponse;
 import com.openai.errors.BadRequestException;
 import com.openai.errors.OpenAIException;
 import com.openai.models.chat.completions.ChatCompletion;
+import com.openai.models.chat.completions.ChatCompletionChunk;
 import com.openai.models.chat.completions.ChatCompletionCreateParams;
+import com.openai.models.chat.completions.ChatCompletionStreamOptions;
 
 /**
  * SDK を使用したキャラクター生成クライアント実装。
@@ -29,10 +37,10 @@ public class OpenAiCharacterGenerationSdkClient implements OpenAiCharacterGenera
     /**
      * 依存コンポーネントを注入します。
      *
-     * @param clientFactory OpenAI クライアントファクトリ
+     * @param clientFactory OpenAI クライアントファクトリ（初回利用時に作成される）
      * @param promptTemplateRenderer プロンプト生成器
      */
-    public OpenAiCharacterGenerationSdkClient(OpenAiClientFactory clientFactory,
+    public OpenAiCharacterGenerationSdkClient(@Lazy OpenAiClientFactory clientFactory,
             PromptTemplateRenderer promptTemplateRenderer) {
         this.clientFactory = clientFactory;
         this.promptTemplateRenderer = promptTemplateRenderer;
@@ -43,11 +51,7 @@ public class OpenAiCharacterGenerationSdkClient implements OpenAiCharacterGenera
      */
     @Override
     public ProviderGenerationResult generate(String apiKey, String modelId, CharacterInput input, DarknessSelection selection) {
-        String normalizedModel = modelId == null ? null : modelId.trim();
-        if (normalizedModel == null || normalizedModel.isEmpty()) {
-            throw new OpenAiIntegrationException("OpenAIリクエストに使用するモデルが選択されていません。");
-        }
-
+        String normalizedModel = normalizeModel(modelId);
         OpenAIClient client = clientFactory.createClient(apiKey);
 
         String prompt = promptTemplateRenderer.render(input, selection);
@@ -60,12 +64,12 @@ public class OpenAiCharacterGenerationSdkClient implements OpenAiCharacterGenera
             logger.info("Calling OpenAI responses API via SDK: model={}, temperature={}, maxOutputTokens={}",
                     normalizedModel, includeTemperature ? TEMPERATURE : "(omitted)", MAX_OUTPUT_TOKENS);
             try {
-                ChatCompletionCreateParams params = buildRequest(normalizedModel, prompt, includeTemperature);
+                ChatCompletionCreateParams params = buildRequest(normalizedModel, prompt, includeTemperature, false);
                 ChatCompletion chatCompletion = client.chat().completions().create(params);
                 logResponseMetadata(chatCompletion);
                 String text = extractText(chatCompletion);
                 if (text != null && !text.isBlank()) {
-                    return new ProviderGenerationResult(text.trim(), prompt);
+                    return new ProviderGenerationResult(text.trim(), prompt, extractUsage(chatCompletion));
                 }
             } catch (OpenAIException ex) {
                 logger.warn("OpenAI responses API call failed: message={}", ex.getMessage());
@@ -84,15 +88,88 @@ public class OpenAiCharacterGenerationSdkClient implements OpenAiCharacterGenera
         throw new OpenAiIntegrationException("OpenAIレスポンスからテキストを取得できませんでした。");
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Chat Completions API をストリーミングで呼び出し、受信したチャンクの本文をそのまま通知します。
+     * 温度パラメータ未対応によるリトライは、まだ何も通知していない場合に限って行います。
+     * 通知先が例外を投げた場合は、ストリームを閉じて接続を切ってから例外を伝播します。
+     */
+    @Override
+    public ProviderGenerationResult generateStreaming(String apiKey, String modelId, CharacterInput input,
+            DarknessSelection selection, Consumer<String> deltaListener) {
+        String normalizedModel = normalizeModel(modelId);
+        OpenAIClient client = clientFactory.createClient(apiKey);
+
+        String prompt = promptTemplateRenderer.render(input, selection);
+        for (int attempt = 0; attempt < 2; attempt++) {
+            boolean includeTemperature = attempt == 0;
+            logger.info("Calling OpenAI chat completions API via SDK (streaming): model={}, temperature={}, "
+                    + "maxOutputTokens={}", normalizedModel, includeTemperature ? TEMPERATURE : "(omitted)",
+                    MAX_OUTPUT_TOKENS);
+            StringBuilder text = new StringBuilder();
+            TokenUsage usage = null;
+            ChatCompletionCreateParams params = buildRequest(normalizedModel, prompt, includeTemperature, true);
+            try (StreamResponse<ChatCompletionChunk> stream = client.chat().completions().createStreaming(params)) {
+                Iterator<ChatCompletionChunk> chunks = stream.stream().iterator();
+                while (chunks.hasNext()) {
+                    ChatCompletionChunk chunk = chunks.next();
+                    for (ChatCompletionChunk.Choice choice : chunk.choices()) {
+                        String delta = choice.delta().content().orElse("");
+                        if (!delta.isEmpty()) {
+                            text.append(delta);
+                            deltaListener.accept(delta);
+                        }
+                    }
+                    if (chunk.usage().isPresent()) {
+                        usage = new TokenUsage(chunk.usage().get().promptTokens(),
+                                chunk.usage().get().completionTokens());
+                    }
+                }
+            } catch (OpenAIException ex) {
+                logger.warn("OpenAI streaming call failed: message={}", ex.getMessage());
+                if (includeTemperature && text.isEmpty() && isTemperatureUnsupported(ex)) {
+                    logger.info("Model {} does not support temperature; retrying without temperature.",
+                            normalizedModel);
+                    continue;
+                }
+                throw new OpenAiIntegrationException("OpenAI API呼び出しに失敗しました。", ex);
+            }
+            logger.info("Received OpenAI streaming response: chars={}, usage={}", text.length(), usage);
+            if (!text.toString().isBlank()) {
+                return new ProviderGenerationResult(text.toString().trim(), prompt, usage);
+            }
+        }
+
+        throw new OpenAiIntegrationException("OpenAIレスポンスからテキストを取得できませんでした。");
+    }
+
+    /**
+     * モデルIDの前後の空白を除きます。
+     *
+     * @param modelId モデルID
+     * @return 正規化したモデルID
+     * @throws OpenAiIntegrationException モデルが指定されていない場合
+     */
+    private String normalizeModel(String modelId) {
+        String normalizedModel = modelId == null ? null : modelId.trim();
+        if (normalizedModel == null || normalizedModel.isEmpty()) {
+            throw new OpenAiIntegrationException("OpenAIリクエストに使用するモデルが選択されていません。");
+        }
+        return normalizedModel;
+    }
+
     /**
      * Chat Completions API へのリクエストを構築します。
      *
      * @param modelId            使用するモデルID
      * @param prompt             送信するプロンプト
      * @param includeTemperature 温度パラメータを含めるか
+     * @param streaming          ストリーミングで受信するか（最後のチャンクでトークン使用量を受け取ります）
      * @return 生成したパラメータ
      */
-    private ChatCompletionCreateParams buildRequest(String modelId, String prompt, boolean includeTemperature) {
+    private ChatCompletionCreateParams buildRequest(String modelId, String prompt, boolean includeTemperature,
+            boolean streaming) {
         ChatCompletionCreateParams.Builder builder = ChatCompletionCreateParams.builder()
                 .model(modelId)
                 .addUserMessage(prompt)
@@ -100,6 +177,9 @@ public class OpenAiCharacterGenerationSdkClient implements OpenAiCharacterGenera
         if (includeTemperature) {
             builder.temperature(TEMPERATURE);
         }
+        if (streaming) {
+            builder.streamOptions(ChatCompletionStreamOptions.builder().includeUsage(true).build());
+        }
         return builder.build();
     }
 
@@ -120,6 +200,18 @@ public class OpenAiCharacterGenerationSdkClient implements OpenAiCharacterGenera
                 .get();
     }
 
+    /**
+     * レスポンスからトークン使用量を取り出します。
+     *
+     * @param chatCompletion OpenAI レスポンス
+     * @return トークン使用量。含まれていなければ {@code null}
+     */
+    private TokenUsage extractUsage(ChatCompletion chatCompletion) {
+        return chatCompletion.usage()
+                .map(usage -> new TokenUsage(usage.promptTokens(), usage.completionTokens()))
+                .orElse(null);
+    }
+
     /**
      * レスポンスのメタ情報をログへ出力します。
      *
@@ -1,5 +1,6 @@
 package com.example.darkchar.service.openai;
 
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import com.openai.client.OpenAIClient;
@@ -7,8 +8,11 @@ import com.openai.client.okhttp.OpenAIOkHttpClient;
 
 /**
  * APIキーから OpenAI クライアントを生成するファクトリです。
+ * <p>
+ * OpenAI を使って最初に生成するまで不要なため、起動時には作成しません。
  */
 @Component
+@Lazy
 public class OpenAiClientFactory {
 
     /**
@@ -2,7 +2,9 @@ package com.example.darkchar.service.openai;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
@@ -25,8 +27,11 @@ import com.example.darkchar.domain.ProtagonistAlignment;
 public class PromptTemplateRenderer {
 
     private static final String TEMPLATE_LOCATION = "classpath:prompts/dark_character_prompt.txt";
+    private static final String PLACEHOLDER_OPEN = "{{";
+    private static final String PLACEHOLDER_CLOSE = "}}";
 
     private final String template;
+    private final List<TemplateSegment> segments;
 
     /**
      * テンプレートファイルを読み込みます。
@@ -35,6 +40,7 @@ public class PromptTemplateRenderer {
      */
     public PromptTemplateRenderer(ResourceLoader resourceLoader) {
         this.template = loadTemplate(resourceLoader);
+        this.segments = parseTemplate(template);
     }
 
     /**
@@ -45,6 +51,28 @@ public class PromptTemplateRenderer {
      * @return レンダリング済みプロンプト
      */
     public String render(CharacterInput input, DarknessSelection selection) {
+        StringBuilder builder = new StringBuilder(template.length() + 512);
+        try {
+            render(input, selection, builder);
+        } catch (IOException ex) {
+            // StringBuilder への書き込みでは発生しない
+            throw new UncheckedIOException(ex);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 入力内容をテンプレートに埋め込み、指定した出力先へ直接書き込みます。
+     * <p>
+     * 中間の文字列を生成せずにリクエストボディやファイルへ流し込む用途を想定しています。
+     * 連続する空行は書き込み時に1行へまとめられます。出力先はクローズしません。
+     *
+     * @param input     キャラクター入力
+     * @param selection 闇堕ち選択
+     * @param out       出力先
+     * @throws IOException 出力先への書き込みに失敗した場合
+     */
+    public void render(CharacterInput input, DarknessSelection selection, Appendable out) throws IOException {
         Map<String, String> placeholders = Map.of(
                 "outputTokens", getOutputTokens(5000),
                 "worldGenre", getWorldGenreName(input),
@@ -55,7 +83,16 @@ public class PromptTemplateRenderer {
                 "darknessLevel", selection != null ? formatDarknessLevel(selection.preset()) : "",
                 "darknessFreeTextSection", buildDarknessFreeTextSection(input));
 
-        return renderTemplate(placeholders);
+        BlankLineCollapsingWriter writer = new BlankLineCollapsingWriter(out);
+        for (TemplateSegment segment : segments) {
+            if (segment.placeholder() == null) {
+                writer.write(segment.text());
+                continue;
+            }
+            String value = placeholders.get(segment.placeholder());
+            writer.write(value != null ? value : segment.text());
+        }
+        writer.close();
     }
 
     /**
@@ -190,62 +227,30 @@ public class PromptTemplateRenderer {
     }
 
     /**
-     * テンプレート中のプレースホルダを置き換えます。
+     * テンプレートを固定文字列とプレースホルダの並びに分解します。
      *
-     * @param placeholders 差し込み値
-     * @return 置換後の文字列
+     * @param text テンプレート文字列
+     * @return セグメント一覧
      */
-    private String renderTemplate(Map<String, String> placeholders) {
-        String rendered = template;
-        for (var entry : placeholders.entrySet()) {
-            rendered = rendered.replace("{{" + entry.getKey() + "}}", entry.getValue());
-        }
-        return collapseConsecutiveBlankLines(rendered);
-    }
-
-    /**
-     * 連続する空行を1行にまとめます。
-     *
-     * @param text 対象文字列
-     * @return 整形後の文字列
-     */
-    private String collapseConsecutiveBlankLines(String text) {
-        if (text == null || text.isEmpty()) {
-            return text;
-        }
-        StringBuilder result = new StringBuilder(text.length());
-        int length = text.length();
+    private static List<TemplateSegment> parseTemplate(String text) {
+        List<TemplateSegment> parsed = new ArrayList<>();
         int index = 0;
-        boolean previousBlankLine = false;
-
-        while (index < length) {
-            int newlineIndex = text.indexOf('\n', index);
-            String line;
-            int nextIndex;
-            if (newlineIndex >= 0) {
-                line = text.substring(index, newlineIndex);
-                nextIndex = newlineIndex + 1;
-            } else {
-                line = text.substring(index);
-                nextIndex = length;
+        while (index < text.length()) {
+            int open = text.indexOf(PLACEHOLDER_OPEN, index);
+            int close = open < 0 ? -1 : text.indexOf(PLACEHOLDER_CLOSE, open + PLACEHOLDER_OPEN.length());
+            if (open < 0 || close < 0) {
+                parsed.add(new TemplateSegment(text.substring(index), null));
+                break;
             }
-
-            boolean isBlankLine = line.isBlank();
-            if (isBlankLine && previousBlankLine) {
-                index = nextIndex;
-                continue;
-            }
-
-            result.append(line);
-            if (newlineIndex >= 0) {
-                result.append('\n');
+            if (open > index) {
+                parsed.add(new TemplateSegment(text.substring(index, open), null));
             }
-
-            previousBlankLine = isBlankLine;
-            index = nextIndex;
+            int end = close + PLACEHOLDER_CLOSE.length();
+            parsed.add(new TemplateSegment(text.substring(open, end),
+                    text.substring(open + PLACEHOLDER_OPEN.length(), close)));
+            index = end;
         }
-
-        return result.toString();
+        return List.copyOf(parsed);
     }
 
     /**
@@ -321,4 +326,13 @@ public class PromptTemplateRenderer {
     private boolean hasText(String value) {
         return value != null && !value.isBlank();
     }
+
+    /**
+     * テンプレートの構成要素です。
+     *
+     * @param text        元のテンプレート文字列
+     * @param placeholder プレースホルダ名（固定文字列の場合は null）
+     */
+    private record TemplateSegment(String text, String placeholder) {
+    }
 }
@@ -1,54 +1,94 @@
 package com.example.darkchar.ui;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.ConfigurableApplicationContext;
 
-import com.example.darkchar.DarkCharacterGeneratorApplication;
+import com.example.darkchar.DesktopApplication;
+import com.example.darkchar.cli.StartupBenchmark;
+import com.example.darkchar.service.AttributeQueryService;
+import com.example.darkchar.ui.controller.MainViewController;
+import com.example.darkchar.ui.diagnostics.UiLatencyMonitor;
 
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.StackPane;
 import javafx.stage.Screen;
+import javafx.scene.text.Font;
 import javafx.stage.Stage;
 
 /**
  * JavaFX アプリケーションの起点となるクラスです。
+ * <p>
+ * 起動を速く見せるため、{@link #init()} で Spring コンテキスト（{@link DesktopApplication} の構成。H2 の初期化と
+ * シード投入を含む）と日本語フォントの読み込みをバックグラウンドで並行して開始し、{@link #start(Stage)} では
+ * まず進捗表示だけのウィンドウを表示します。
+ * 両方が揃った時点で FXML を読み込み、画面を差し替えます。各フェーズの所要時間はログに出力します。
+ * <p>
+ * Spring の起動ステップは {@link BufferingApplicationStartup} で記録し、時間のかかったステップもログに出します。
+ * {@code --startup-probe} 付きで起動された場合（{@link StartupBenchmark} から起動された場合）は、
+ * メイン画面を表示した時点で計測結果を標準出力へ書いて終了します。
+ * 通常の起動では、メイン画面の表示後に結果表示ウィンドウと設定ウィンドウをバックグラウンドで構築しておき、
+ * {@link UiLatencyMonitor} による FX スレッドの停止の監視を始めます。
  */
 public class DarkCharacterGeneratorFxApp extends Application {
 
     private static final Logger logger = LoggerFactory.getLogger(DarkCharacterGeneratorFxApp.class);
-    private ConfigurableApplicationContext context;
+    private static final String MAIN_VIEW_RESOURCE = "/com/example/darkchar/ui/main-view.fxml";
+    private static final String STYLESHEET_RESOURCE = "/com/example/darkchar/ui/application.css";
+    // リソース内の OTF を読み込む（※ build で /fonts に入っている前提）
+    private static final String[] FONT_PATHS = {
+            "/fonts/NotoSansCJKjp-Regular.otf"
+    };
+    private static final int SPRING_STARTUP_STEP_CAPACITY = 10_000;
+
+    private final StartupTimeline timeline = new StartupTimeline();
+    private boolean probe;
+    private ExecutorService startupExecutor;
+    private CompletableFuture<ConfigurableApplicationContext> contextFuture;
+    private CompletableFuture<Optional<String>> fontFuture;
 
     /**
-     * Spring コンテキストを初期化します。
+     * Spring コンテキストの初期化とフォントの読み込みをバックグラウンドで開始します。
      */
     @Override
     public void init() {
-        context = new SpringApplicationBuilder(DarkCharacterGeneratorApplication.class)
-                .headless(false)
-                .run(getParameters().getRaw().toArray(new String[0]));
+        List<String> rawArgs = getParameters().getRaw();
+        probe = StartupBenchmark.isProbe(rawArgs);
+        String[] args = rawArgs.toArray(new String[0]);
+        startupExecutor = Executors.newFixedThreadPool(2, Thread.ofPlatform().name("startup-", 0).daemon().factory());
+        contextFuture = CompletableFuture.supplyAsync(() -> startContext(args), startupExecutor);
+        fontFuture = CompletableFuture.supplyAsync(
+                () -> timeline.measure("font", this::loadJapaneseFontFamily), startupExecutor);
     }
 
     /**
-     * メインウィンドウを表示します。
+     * 進捗表示だけのメインウィンドウをすぐに表示し、準備ができたら画面を差し替えます。
      *
      * @param stage メインステージ
-     * @throws Exception ロード失敗時
      */
     @Override
-    public void start(Stage stage) throws Exception {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/darkchar/ui/main-view.fxml"));
-        loader.setControllerFactory(context::getBean);
-        Parent root = loader.load();
+    public void start(Stage stage) {
         var bounds = Screen.getPrimary().getVisualBounds();
         double width = Math.min(960, bounds.getWidth() * 0.9);
         double height = Math.min(720, bounds.getHeight() * 0.9);
-        Scene scene = new Scene(root, width, height);
-        loadJapaneseFont(scene);
+        Scene scene = new Scene(new StackPane(new ProgressIndicator()), width, height);
+        applyStylesheet(scene);
         // OSによっては文字化けするのでstage.setTitleは使わない
         // stage.setTitle("闇堕ちキャラクターメーカー");
         stage.setMinWidth(640);
@@ -56,6 +96,15 @@ public class DarkCharacterGeneratorFxApp extends Application {
         stage.setMaxHeight(bounds.getHeight());
         stage.setScene(scene);
         stage.show();
+        runAfterNextPulse(scene, () -> timeline.milestone("first-frame"));
+
+        CompletableFuture.allOf(contextFuture, fontFuture).whenComplete((ignored, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                showStartupFailure(error);
+                return;
+            }
+            bindMainView(scene, contextFuture.join(), fontFuture.join());
+        }));
     }
 
     /**
@@ -63,59 +112,174 @@ public class DarkCharacterGeneratorFxApp extends Application {
      */
     @Override
     public void stop() {
-        if (context != null) {
-            context.close();
+        if (contextFuture != null) {
+            // 起動途中で閉じられた場合は、起動完了後に閉じる
+            contextFuture.thenAccept(ConfigurableApplicationContext::close);
+        }
+        if (startupExecutor != null) {
+            startupExecutor.shutdown();
         }
         Platform.exit();
     }
 
     /**
-     * UI で日本語フォントが使えるよう設定します。
+     * Spring コンテキストを起動し、画面が最初に使う属性マスタを読み込んでおきます。
+     *
+     * @param args コマンドライン引数
+     * @return 起動したコンテキスト
+     */
+    private ConfigurableApplicationContext startContext(String[] args) {
+        BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(SPRING_STARTUP_STEP_CAPACITY);
+        ConfigurableApplicationContext context = timeline.measure("spring-context",
+                () -> new SpringApplicationBuilder(DesktopApplication.class)
+                        .profiles(DesktopApplication.PROFILE)
+                        .headless(false)
+                        .applicationStartup(applicationStartup)
+                        .run(args));
+        timeline.recordSpringSteps(applicationStartup);
+        timeline.measure("attribute-catalog", () -> context.getBean(AttributeQueryService.class).catalog());
+        return context;
+    }
+
+    /**
+     * FXML を読み込んでメイン画面に差し替えます。
+     *
+     * @param scene      メインシーン
+     * @param context    Spring コンテキスト
+     * @param fontFamily 読み込めた日本語フォントのファミリ名
+     */
+    private void bindMainView(Scene scene, ConfigurableApplicationContext context, Optional<String> fontFamily) {
+        Parent root;
+        try {
+            root = timeline.measure("fxml", () -> loadMainView(context));
+        } catch (RuntimeException ex) {
+            showStartupFailure(ex);
+            return;
+        }
+        fontFamily.ifPresent(family -> {
+            String css = String.format(
+                    "-fx-font-family: '%s','Noto Sans JP','Yu Gothic UI','Meiryo',sans-serif;", family);
+            root.setStyle(css);
+            logger.info("Applied UI font-family: {}", css);
+        });
+        scene.setRoot(root);
+        runAfterNextPulse(scene, () -> {
+            timeline.milestone("main-view");
+            timeline.logSummary();
+            if (probe) {
+                System.out.println(StartupBenchmark.PROBE_PREFIX + timeline.report());
+                System.out.flush();
+                Platform.exit();
+                return;
+            }
+            UiLatencyMonitor monitor = context.getBean(UiLatencyMonitor.class);
+            monitor.start(scene);
+            monitor.instrument(scene.getWindow(), "main");
+            context.getBean(MainViewController.class).prewarmWindows();
+        });
+    }
+
+    /**
+     * 次のパルスでシーンのレイアウトが済んだ後に一度だけ処理を実行します。表示した内容が描画される時点の目安です。
+     *
+     * @param scene  対象のシーン
+     * @param action 処理
+     */
+    private static void runAfterNextPulse(Scene scene, Runnable action) {
+        Runnable listener = new Runnable() {
+            private boolean done;
+
+            @Override
+            public void run() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                // パルスリスナーの呼び出し中は一覧を変更できないため、解除は後回しにする
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+                action.run();
+            }
+        };
+        scene.addPostLayoutPulseListener(listener);
+        Platform.requestNextPulse();
+    }
+
+    /**
+     * メイン画面の FXML を読み込みます。コントローラーは Spring コンテキストから取得します。
+     *
+     * @param context Spring コンテキスト
+     * @return 画面のルート
+     */
+    private Parent loadMainView(ConfigurableApplicationContext context) {
+        FXMLLoader loader = new FXMLLoader(getClass().getResource(MAIN_VIEW_RESOURCE));
+        loader.setControllerFactory(context::getBean);
+        try {
+            return loader.load();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to load " + MAIN_VIEW_RESOURCE, ex);
+        }
+    }
+
+    /**
+     * 起動に失敗したことを表示して終了します。
+     *
+     * @param error 失敗の原因
+     */
+    private void showStartupFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        logger.error("Failed to start the application", cause);
+        if (probe) {
+            Platform.exit();
+            return;
+        }
+        Alert alert = new Alert(Alert.AlertType.ERROR, String.valueOf(cause.getMessage()));
+        alert.setHeaderText("起動に失敗しました");
+        AppStyleUtil.applyToAlert(alert);
+        alert.showAndWait();
+        Platform.exit();
+    }
+
+    /**
+     * 任意の CSS を読み込みます（あるなら）。
      *
      * @param scene 適用対象のシーン
      */
-    private void loadJapaneseFont(Scene scene) {
-        // 任意CSS（あるなら読み込む）
-        var stylesheetUrl = getClass().getResource("/com/example/darkchar/ui/application.css");
+    private void applyStylesheet(Scene scene) {
+        var stylesheetUrl = getClass().getResource(STYLESHEET_RESOURCE);
         if (stylesheetUrl != null) {
             scene.getStylesheets().add(stylesheetUrl.toExternalForm());
+            AppStyleUtil.setUiStylesheetUrl(stylesheetUrl.toExternalForm());
         } else {
             logger.warn("Japanese UI stylesheet not found; using code-based font setup.");
         }
+    }
 
-        // リソース内の OTF を読み込む（※ build で /fonts に入っている前提）
-        final String[] fontPaths = {
-                "/fonts/NotoSansCJKjp-Regular.otf"
-        };
-
+    /**
+     * UI で使う日本語フォントを読み込みます。FX スレッド以外から呼び出します。
+     *
+     * @return 最初に読み込めたフォントのファミリ名
+     */
+    private Optional<String> loadJapaneseFontFamily() {
         String chosenFamily = null;
-        for (String cp : fontPaths) {
+        for (String cp : FONT_PATHS) {
             String fam = loadFontAndGetFamily(cp, 14);
             if (fam != null && chosenFamily == null) {
                 chosenFamily = fam; // 最初に成功したファミリ名を採用
             }
         }
-
-        // 読み込めたファミリ名をそのまま Scene ルートに適用（←これが一番確実）
-        if (chosenFamily != null) {
-            String css = String.format(
-                    "-fx-font-family: '%s','Noto Sans JP','Yu Gothic UI','Meiryo',sans-serif;", chosenFamily);
-            scene.getRoot().setStyle(css);
-            logger.info("Applied UI font-family: {}", css);
-            // 一元化のため、AppStyleUtil に stylesheet とファミリ名を保存
-            if (stylesheetUrl != null) {
-                AppStyleUtil.setUiStylesheetUrl(stylesheetUrl.toExternalForm());
-            }
-            AppStyleUtil.setFontFamily(chosenFamily);
-        } else {
+        if (chosenFamily == null) {
             logger.warn("No Japanese font loaded from resources; UI text may show tofu glyphs.");
+            return Optional.empty();
         }
+        // 一元化のため、AppStyleUtil にファミリ名を保存
+        AppStyleUtil.setFontFamily(chosenFamily);
 
         // デバッグ：利用可能ファミリを少しログ出し
-        var sampleFamilies = javafx.scene.text.Font.getFamilies().stream()
+        var sampleFamilies = timeline.measure("font-families", Font::getFamilies).stream()
                 .filter(f -> f.toLowerCase().contains("noto") || f.contains("Gothic") || f.contains("Meiryo"))
                 .limit(20).toList();
         logger.info("Font families (excerpt): {}", sampleFamilies);
+        return Optional.of(chosenFamily);
     }
 
     /**
@@ -131,7 +295,7 @@ public class DarkCharacterGeneratorFxApp extends Application {
                 logger.debug("Font resource not found: {}", cp);
                 return null;
             }
-            var font = javafx.scene.text.Font.loadFont(in, size);
+            var font = Font.loadFont(in, size);
             if (font == null) {
                 logger.warn("Failed to load font: {}", cp);
                 return null;
@@ -0,0 +1,296 @@
+package com.example.darkchar.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.SelectionMode;
+import javafx.scene.control.TextField;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextFlow;
+
+/**
+ * 長い文章を段落単位で表示する読み取り専用のビューアです。
+ * <p>
+ * {@link javafx.scene.control.TextArea} は全文を 1 つのテキストとしてレイアウトするため、文章が長いほど
+ * レイアウトと CSS の処理が重くなります。ここでは改行で区切った段落を {@link ListView} の行として持ち、
+ * 表示中の段落だけをセルとしてレイアウトします。段落を選んでコピーでき（未選択なら全文）、検索欄では
+ * 大文字・小文字を区別せずに一致箇所を強調して、前後の一致段落へ移動できます。
+ * <p>
+ * 生成結果とプロンプトの表示で共用します。FXML からも利用できます。
+ */
+public final class ParagraphViewer extends BorderPane {
+
+    private static final String STYLE_CLASS = "paragraph-viewer";
+    private static final String HIT_STYLE_CLASS = "search-hit";
+    /** セル内の余白とスクロールバーの分だけ、段落の折り返し幅を一覧の幅より狭くします。 */
+    private static final double WRAP_MARGIN = 28;
+
+    private final ObservableList<String> paragraphs = FXCollections.observableArrayList();
+    private final ListView<String> listView = new ListView<>(paragraphs);
+    private final TextField searchField = new TextField();
+    private final Label matchLabel = new Label();
+    private final List<Integer> matches = new ArrayList<>();
+    private String query = "";
+    private int currentMatch = -1;
+
+    /**
+     * 空のビューアを作ります。
+     */
+    public ParagraphViewer() {
+        getStyleClass().add(STYLE_CLASS);
+
+        listView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        listView.setCellFactory(view -> new ParagraphCell());
+        listView.setOnKeyPressed(event -> {
+            if (new KeyCodeCombination(KeyCode.C, KeyCombination.SHORTCUT_DOWN).match(event)) {
+                copy();
+                event.consume();
+            }
+        });
+        setCenter(listView);
+
+        searchField.setPromptText("本文を検索");
+        searchField.textProperty().addListener((obs, oldText, newText) -> search(newText));
+        searchField.setOnKeyPressed(event -> {
+            if (event.getCode() == KeyCode.ENTER) {
+                moveMatch(event.isShiftDown() ? -1 : 1);
+                event.consume();
+            }
+        });
+        Button previousButton = new Button("前へ");
+        previousButton.setOnAction(event -> moveMatch(-1));
+        Button nextButton = new Button("次へ");
+        nextButton.setOnAction(event -> moveMatch(1));
+        Button copyButton = new Button("コピー");
+        copyButton.setOnAction(event -> copy());
+        HBox.setHgrow(searchField, Priority.ALWAYS);
+        HBox toolbar = new HBox(6, searchField, previousButton, nextButton, matchLabel, copyButton);
+        toolbar.setAlignment(Pos.CENTER_LEFT);
+        toolbar.setPadding(new Insets(0, 0, 6, 0));
+        setTop(toolbar);
+
+        setOnKeyPressed(event -> {
+            if (new KeyCodeCombination(KeyCode.F, KeyCombination.SHORTCUT_DOWN).match(event)) {
+                searchField.requestFocus();
+                searchField.selectAll();
+                event.consume();
+            }
+        });
+    }
+
+    /**
+     * 表示する文章を設定します。
+     *
+     * @param text 文章（{@code null} の場合は空）
+     */
+    public void setText(String text) {
+        listView.getSelectionModel().clearSelection();
+        if (text == null || text.isEmpty()) {
+            paragraphs.clear();
+        } else {
+            paragraphs.setAll(text.split("\n", -1));
+        }
+        listView.scrollTo(0);
+        search(query);
+    }
+
+    /**
+     * 文章の末尾に追記します。改行を含む場合は新しい段落を作ります。
+     * 変更するのは最後の段落と追加した段落だけなので、既に表示している段落は作り直しません。
+     * 検索中であれば、変更した段落だけを検索し直して一致件数に加えます。選択中の一致箇所は動かしません。
+     *
+     * @param delta 追記する文字列
+     */
+    public void appendText(String delta) {
+        if (delta == null || delta.isEmpty()) {
+            return;
+        }
+        String[] parts = delta.split("\n", -1);
+        if (paragraphs.isEmpty()) {
+            paragraphs.add("");
+        }
+        int last = paragraphs.size() - 1;
+        paragraphs.set(last, paragraphs.get(last) + parts[0]);
+        if (parts.length > 1) {
+            paragraphs.addAll(List.of(parts).subList(1, parts.length));
+        }
+        if (query.isEmpty()) {
+            return;
+        }
+        // 追記で一致が消えることはないため、まだ一致に含まれていない段落だけを調べる
+        for (int i = last; i < paragraphs.size(); i++) {
+            boolean known = !matches.isEmpty() && matches.get(matches.size() - 1) >= i;
+            if (!known && indexOfIgnoreCase(paragraphs.get(i), query, 0) >= 0) {
+                matches.add(i);
+            }
+        }
+        updateMatchLabel();
+    }
+
+    /**
+     * 表示中の文章を返します。
+     *
+     * @return 文章
+     */
+    public String getText() {
+        return String.join("\n", paragraphs);
+    }
+
+    /**
+     * 文章を空にします。
+     */
+    public void clear() {
+        setText(null);
+    }
+
+    /**
+     * 最後の段落まで移動します。
+     */
+    public void scrollToEnd() {
+        if (!paragraphs.isEmpty()) {
+            listView.scrollTo(paragraphs.size() - 1);
+        }
+    }
+
+    /**
+     * 選択中の段落をクリップボードへコピーします。選択がなければ全文をコピーします。
+     */
+    public void copy() {
+        List<Integer> selected = new ArrayList<>(listView.getSelectionModel().getSelectedIndices());
+        String text;
+        if (selected.isEmpty()) {
+            text = getText();
+        } else {
+            selected.sort(null);
+            StringBuilder builder = new StringBuilder();
+            for (int index : selected) {
+                builder.append(builder.isEmpty() ? "" : "\n").append(paragraphs.get(index));
+            }
+            text = builder.toString();
+        }
+        ClipboardContent content = new ClipboardContent();
+        content.putString(text);
+        Clipboard.getSystemClipboard().setContent(content);
+    }
+
+    private void search(String newQuery) {
+        query = newQuery == null ? "" : newQuery.strip();
+        matches.clear();
+        currentMatch = -1;
+        if (!query.isEmpty()) {
+            for (int i = 0; i < paragraphs.size(); i++) {
+                if (indexOfIgnoreCase(paragraphs.get(i), query, 0) >= 0) {
+                    matches.add(i);
+                }
+            }
+        }
+        listView.refresh();
+        if (matches.isEmpty()) {
+            updateMatchLabel();
+        } else {
+            moveMatch(1);
+        }
+    }
+
+    private void moveMatch(int step) {
+        if (matches.isEmpty()) {
+            return;
+        }
+        currentMatch = Math.floorMod(currentMatch + step, matches.size());
+        int paragraph = matches.get(currentMatch);
+        listView.getSelectionModel().clearAndSelect(paragraph);
+        listView.scrollTo(paragraph);
+        updateMatchLabel();
+    }
+
+    private void updateMatchLabel() {
+        if (query.isEmpty()) {
+            matchLabel.setText("");
+        } else if (currentMatch < 0) {
+            matchLabel.setText(matches.size() + " 件");
+        } else {
+            matchLabel.setText((currentMatch + 1) + " / " + matches.size() + " 件");
+        }
+    }
+
+    /**
+     * 大文字・小文字を区別せずに検索します。元の文字列の位置を返すため、強調表示にそのまま使えます。
+     */
+    private static int indexOfIgnoreCase(String text, String target, int from) {
+        for (int i = from; i <= text.length() - target.length(); i++) {
+            if (text.regionMatches(true, i, target, 0, target.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 1 段落を折り返して表示するセルです。検索語に一致した部分は別の {@link Text} にして強調します。
+     */
+    private final class ParagraphCell extends ListCell<String> {
+
+        private final TextFlow flow = new TextFlow();
+
+        ParagraphCell() {
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+            // セル自身の幅の要求で横スクロールが出ないようにし、折り返し幅は一覧の幅に合わせる
+            setPrefWidth(0);
+            flow.maxWidthProperty().bind(listView.widthProperty().subtract(WRAP_MARGIN));
+            flow.prefWidthProperty().bind(flow.maxWidthProperty());
+        }
+
+        @Override
+        protected void updateItem(String item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null) {
+                flow.getChildren().clear();
+                setGraphic(null);
+                return;
+            }
+            flow.getChildren().setAll(fragments(item));
+            setGraphic(flow);
+        }
+
+        private List<Text> fragments(String paragraph) {
+            if (paragraph.isEmpty()) {
+                // 空行も 1 行分の高さを保つ
+                return List.of(new Text(" "));
+            }
+            List<Text> fragments = new ArrayList<>();
+            int start = 0;
+            int hit = query.isEmpty() ? -1 : indexOfIgnoreCase(paragraph, query, 0);
+            while (hit >= 0) {
+                if (hit > start) {
+                    fragments.add(new Text(paragraph.substring(start, hit)));
+                }
+                Text highlighted = new Text(paragraph.substring(hit, hit + query.length()));
+                highlighted.getStyleClass().add(HIT_STYLE_CLASS);
+                fragments.add(highlighted);
+                start = hit + query.length();
+                hit = indexOfIgnoreCase(paragraph, query, start);
+            }
+            if (start < paragraph.length()) {
+                fragments.add(new Text(paragraph.substring(start)));
+            }
+            return fragments;
+        }
+    }
+}
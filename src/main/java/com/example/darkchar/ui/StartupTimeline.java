@@ -0,0 +1,131 @@
+package com.example.darkchar.ui;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * 起動処理の各フェーズの所要時間を記録します。
+ * <p>
+ * フェーズは別スレッドで並行して進むため、記録はスレッドセーフにしています。
+ * Spring の起動ステップは {@link BufferingApplicationStartup} に記録させ、コンテキストの起動後にまとめて取り込みます。
+ */
+final class StartupTimeline {
+
+    /** アプリ独自の起動ステップ名の接頭辞。この接頭辞を持つステップはフェーズとしても記録します。 */
+    static final String APPLICATION_STEP_PREFIX = "darkchar.";
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimeline.class);
+    private static final int SLOWEST_SPRING_STEPS = 10;
+
+    private final Map<String, Long> durations = new LinkedHashMap<>();
+    private final Map<String, Long> milestones = new LinkedHashMap<>();
+
+    /**
+     * 処理を実行し、その所要時間をフェーズとして記録します。
+     *
+     * @param phase  フェーズ名
+     * @param action 処理
+     * @param <T>    戻り値の型
+     * @return 処理の戻り値
+     */
+    <T> T measure(String phase, Supplier<T> action) {
+        long started = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(phase, System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * フェーズの所要時間を記録します。
+     *
+     * @param phase フェーズ名
+     * @param nanos 所要時間（ナノ秒）
+     */
+    synchronized void record(String phase, long nanos) {
+        durations.put(phase, nanos);
+        logger.info("Startup phase {} took {} ms on {}.", phase, TimeUnit.NANOSECONDS.toMillis(nanos),
+                Thread.currentThread().getName());
+    }
+
+    /**
+     * JVM 起動からの経過時間をマイルストーンとして記録します。
+     *
+     * @param milestone マイルストーン名
+     */
+    synchronized void milestone(String milestone) {
+        long elapsed = sinceJvmStartMillis();
+        milestones.put(milestone, elapsed);
+        logger.info("Startup milestone {} reached {} ms after JVM start.", milestone, elapsed);
+    }
+
+    /**
+     * Spring が記録した起動ステップを取り込みます。
+     * <p>
+     * 時間のかかったステップを上位から出力し、{@link #APPLICATION_STEP_PREFIX} で始まるアプリ独自のステップは
+     * 接頭辞を除いた名前でフェーズとして記録します。
+     *
+     * @param applicationStartup コンテキストの起動に使った記録先
+     */
+    void recordSpringSteps(BufferingApplicationStartup applicationStartup) {
+        List<TimelineEvent> events = applicationStartup.drainBufferedTimeline().getEvents();
+        events.stream()
+                .sorted(Comparator.comparing(TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_SPRING_STEPS)
+                .forEach(event -> logger.info("Spring startup step {} took {} ms {}.", event.getStartupStep().getName(),
+                        event.getDuration().toMillis(), tags(event.getStartupStep())));
+        for (TimelineEvent event : events) {
+            String name = event.getStartupStep().getName();
+            if (name.startsWith(APPLICATION_STEP_PREFIX)) {
+                record(name.substring(APPLICATION_STEP_PREFIX.length()), event.getDuration().toNanos());
+            }
+        }
+    }
+
+    /**
+     * 記録済みのフェーズと JVM 起動からの経過時間をまとめてログに出します。
+     */
+    synchronized void logSummary() {
+        StringBuilder summary = new StringBuilder();
+        durations.forEach((phase, nanos) -> summary.append(summary.isEmpty() ? "" : ", ")
+                .append(phase).append('=').append(TimeUnit.NANOSECONDS.toMillis(nanos)).append("ms"));
+        logger.info("Startup completed {} ms after JVM start ({}).", sinceJvmStartMillis(), summary);
+    }
+
+    /**
+     * マイルストーンとフェーズを {@code 名前=ミリ秒} の空白区切りで返します。起動時間の計測結果として出力します。
+     *
+     * @return マイルストーン、フェーズの順に並べた計測結果
+     */
+    synchronized String report() {
+        StringBuilder report = new StringBuilder();
+        milestones.forEach((name, millis) -> report.append(report.isEmpty() ? "" : " ")
+                .append(name).append('=').append(millis));
+        durations.forEach((phase, nanos) -> report.append(report.isEmpty() ? "" : " ")
+                .append(phase).append('=').append(TimeUnit.NANOSECONDS.toMillis(nanos)));
+        return report.toString();
+    }
+
+    private static List<String> tags(StartupStep step) {
+        return step.getTags() == null ? List.of() : StreamSupport.stream(step.getTags().spliterator(), false)
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .toList();
+    }
+
+    private static long sinceJvmStartMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.darkchar.ui.controller;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.ui.JapaneseTextInputSupport;
+
+import javafx.collections.FXCollections;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.KeyCode;
+
+/**
+ * 属性をチェックボックス付きで選ぶ仮想化された一覧を作ります。
+ * <p>
+ * {@link ListView} は表示中の行の分だけセルを作って使い回すため、カタログの件数が増えてもノード数は
+ * 一覧の高さで決まる一定の数に収まります。選択状態は {@link AttributeSelectionModel} に持たせ、セルは表示の
+ * たびにモデルから状態を読み直します。絞り込みは {@link com.example.darkchar.service.AttributeSearchIndex} を使い、
+ * 入力のたびに一覧の中身だけを差し替えます。
+ */
+final class AttributeOptionPicker {
+
+    /** 1 行の高さ。固定にしておくと、仮想化の際に全行の高さを測らずに済みます。 */
+    private static final double ROW_HEIGHT = 28;
+
+    private AttributeOptionPicker() {
+    }
+
+    /**
+     * 一覧に属性を表示し、選択をモデルと結び付けます。スペースキーでも、フォーカスのある行の選択を切り替えられます。
+     *
+     * @param listView    対象の一覧（FXML で定義したものでも構いません）
+     * @param options     表示する属性（カタログの一覧をそのまま渡します）
+     * @param selection   選択状態を保持するモデル
+     * @param visibleRows 一度に表示する最大行数
+     * @return 対象の一覧
+     */
+    static ListView<AttributeOption> bind(ListView<AttributeOption> listView, List<AttributeOption> options,
+            AttributeSelectionModel selection, int visibleRows) {
+        listView.setItems(FXCollections.observableList(options));
+        listView.setFixedCellSize(ROW_HEIGHT);
+        listView.setPrefHeight(Math.max(1, Math.min(options.size(), visibleRows)) * ROW_HEIGHT + 2);
+        listView.setCellFactory(view -> new OptionCell(selection));
+        listView.setOnKeyPressed(event -> {
+            AttributeOption focused = listView.getFocusModel().getFocusedItem();
+            if (event.getCode() == KeyCode.SPACE && focused != null) {
+                selection.setSelected(focused, !selection.isSelected(focused));
+                listView.refresh();
+                event.consume();
+            }
+        });
+        return listView;
+    }
+
+    /**
+     * 入力欄の文字が変わるたびに一覧を絞り込みます。選択状態はモデルにあるため、絞り込んでも失われません。
+     *
+     * @param filter   絞り込み用の入力欄
+     * @param listView 対象の一覧
+     * @param search   検索語から表示する属性を返す処理（空の場合は全件を返すもの）
+     */
+    static void bindFilter(TextField filter, ListView<AttributeOption> listView,
+            Function<String, List<AttributeOption>> search) {
+        JapaneseTextInputSupport.enable(filter);
+        filter.textProperty().addListener((obs, oldText, newText) -> {
+            listView.setItems(FXCollections.observableList(search.apply(newText)));
+            listView.scrollTo(0);
+        });
+    }
+
+    /**
+     * チェックボックスと説明のツールチップを持つセルです。ノードはセルごとに一度だけ作ります。
+     */
+    private static final class OptionCell extends ListCell<AttributeOption> {
+
+        private final AttributeSelectionModel selection;
+        private final CheckBox checkBox = new CheckBox();
+        private final Tooltip tooltip = new Tooltip();
+
+        OptionCell(AttributeSelectionModel selection) {
+            this.selection = selection;
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+            checkBox.setOnAction(event -> {
+                if (getItem() != null) {
+                    selection.setSelected(getItem(), checkBox.isSelected());
+                }
+            });
+        }
+
+        @Override
+        protected void updateItem(AttributeOption item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null) {
+                setGraphic(null);
+                setTooltip(null);
+                return;
+            }
+            checkBox.setText(item.name());
+            checkBox.setSelected(selection.isSelected(item));
+            tooltip.setText(item.description());
+            setGraphic(checkBox);
+            setTooltip(tooltip);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.darkchar.ui.controller;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+
+/**
+ * 画面で選択された属性を保持するモデルです。
+ * <p>
+ * 選択状態をチェックボックスなどのノードではなくここで持つことで、一覧を仮想化して表示中の行だけノードを
+ * 作る場合でも、スクロールで行が使い回されたときに選択が失われないようにします。FX スレッドから利用します。
+ */
+final class AttributeSelectionModel {
+
+    private final Set<AttributeOption> selected = new HashSet<>();
+
+    /**
+     * 選択されているかを返します。
+     *
+     * @param option 属性
+     * @return 選択されていれば true
+     */
+    boolean isSelected(AttributeOption option) {
+        return selected.contains(option);
+    }
+
+    /**
+     * 選択状態を設定します。
+     *
+     * @param option   属性
+     * @param selected 選択するなら true
+     */
+    void setSelected(AttributeOption option, boolean selected) {
+        if (selected) {
+            this.selected.add(option);
+        } else {
+            this.selected.remove(option);
+        }
+    }
+
+    /**
+     * 候補のうち選択されているものを、候補の並び順で返します。
+     *
+     * @param candidates 候補（カタログの一覧）
+     * @return 選択されている属性
+     */
+    List<AttributeOption> selectedAmong(List<AttributeOption> candidates) {
+        if (selected.isEmpty()) {
+            return List.of();
+        }
+        return candidates.stream().filter(selected::contains).toList();
+    }
+
+    /**
+     * 指定カテゴリの選択をすべて解除します。
+     *
+     * @param category カテゴリ
+     */
+    void clear(AttributeCategory category) {
+        selected.removeIf(option -> option.category() == category);
+    }
+}
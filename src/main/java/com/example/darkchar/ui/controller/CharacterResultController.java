@@ -1,35 +1,49 @@
 package com.example.darkchar.ui.controller;
 
 import java.util.Optional;
+import java.util.Queue;
 
 import org.springframework.stereotype.Component;
 
 import com.example.darkchar.domain.GeneratedCharacter;
 import com.example.darkchar.ui.AppStyleUtil;
+import com.example.darkchar.ui.ParagraphViewer;
 
+import javafx.animation.AnimationTimer;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
-import javafx.scene.control.TextArea;
 import javafx.scene.layout.Region;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 
 /**
  * 生成結果表示ダイアログのコントローラです。
+ * <p>
+ * 生成中の文章を流し込む場合は {@link #beginStreaming(Queue, String)} を呼び出します。生成スレッドはデルタを
+ * ロックフリーのキューへ積むだけにし、FX スレッドは {@link AnimationTimer} でパルスごとに一度だけキューを
+ * 取り出して {@link ParagraphViewer} へ追記します。トークンごとに {@code Platform.runLater} で追記すると
+ * FX スレッドが溢れるためです。生成が終わったら {@link #setResult} で最終的な文章を一度だけ設定します。
+ * 本文とプロンプトはどちらも {@link ParagraphViewer} で表示します。
  */
 @Component
 public class CharacterResultController {
 
+    private static final double PROMPT_VIEWER_WIDTH = 640;
+    private static final double PROMPT_VIEWER_HEIGHT = 360;
+
     @FXML
-    private TextArea resultTextArea;
+    private ParagraphViewer resultViewer;
 
     @FXML
     private Button showPromptButton;
 
     private Stage stage;
     private String promptText;
+    private AnimationTimer streamingTimer;
+    private Queue<String> pendingDeltas;
 
     /**
      * ダイアログのステージを設定します。
@@ -38,19 +52,76 @@ public class CharacterResultController {
      */
     public void setStage(Stage stage) {
         this.stage = stage;
+        stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, event -> stopStreaming());
+    }
+
+    /**
+     * 生成中の文章の表示を開始します。表示中の文章はそれまでに届いた本文で置き換え、プロンプト表示は結果が
+     * 確定するまで無効にします。FX スレッドから呼び出してください。
+     *
+     * @param deltas      生成スレッドがデルタを積むキュー（並行アクセスに対応したもの）
+     * @param initialText それまでに届いた本文
+     */
+    public void beginStreaming(Queue<String> deltas, String initialText) {
+        if (streamingTimer == null) {
+            streamingTimer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    drainPendingDeltas();
+                }
+            };
+        }
+        pendingDeltas = deltas;
+        promptText = null;
+        resultViewer.setText(initialText);
+        resultViewer.scrollToEnd();
+        if (showPromptButton != null) {
+            showPromptButton.setDisable(true);
+        }
+        streamingTimer.start();
+    }
+
+    /**
+     * 生成中の文章の表示をやめます。キューに残ったデルタは破棄します。
+     */
+    public void stopStreaming() {
+        if (streamingTimer != null) {
+            streamingTimer.stop();
+        }
+        pendingDeltas = null;
+    }
+
+    /**
+     * キューに溜まったデルタをまとめて追記し、末尾までスクロールします。
+     */
+    private void drainPendingDeltas() {
+        Queue<String> deltas = pendingDeltas;
+        if (deltas == null) {
+            return;
+        }
+        StringBuilder chunk = new StringBuilder();
+        for (String delta = deltas.poll(); delta != null; delta = deltas.poll()) {
+            chunk.append(delta);
+        }
+        if (chunk.isEmpty()) {
+            return;
+        }
+        resultViewer.appendText(chunk.toString());
+        resultViewer.scrollToEnd();
     }
 
     /**
-     * 画面に表示する結果を設定します。
+     * 画面に表示する結果を設定します。生成中の文章を表示していた場合は、その表示を終えて確定した文章に置き換えます。
      *
      * @param generatedCharacter 生成キャラクター
      * @param prompt 使用プロンプト
      */
     public void setResult(GeneratedCharacter generatedCharacter, Optional<String> prompt) {
+        stopStreaming();
         if (generatedCharacter == null) {
-            resultTextArea.clear();
+            resultViewer.clear();
         } else {
-            resultTextArea.setText(generatedCharacter.narrative());
+            resultViewer.setText(generatedCharacter.narrative());
         }
         this.promptText = prompt.filter(p -> !p.isBlank()).orElse(null);
         if (showPromptButton != null) {
@@ -93,16 +164,13 @@ public class CharacterResultController {
             }
         }
 
-        TextArea textArea = new TextArea(promptText);
-        textArea.setEditable(false);
-        textArea.setWrapText(true);
-        textArea.setPrefColumnCount(50);
-        textArea.setPrefRowCount(12);
-        textArea.setMinHeight(Region.USE_PREF_SIZE);
-        textArea.setMinWidth(Region.USE_PREF_SIZE);
-        textArea.setFocusTraversable(false);
+        ParagraphViewer viewer = new ParagraphViewer();
+        viewer.setText(promptText);
+        viewer.setPrefSize(PROMPT_VIEWER_WIDTH, PROMPT_VIEWER_HEIGHT);
+        viewer.setMinSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
 
-        alert.getDialogPane().setContent(textArea);
+        alert.getDialogPane().setContent(viewer);
+        alert.setResizable(true);
         AppStyleUtil.applyToAlert(alert);
         alert.showAndWait();
     }
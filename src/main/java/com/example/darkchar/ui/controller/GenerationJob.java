@@ -0,0 +1,214 @@
+package com.example.darkchar.ui.controller;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+import com.example.darkchar.service.GenerationResult;
+import com.example.darkchar.service.ai.TokenUsage;
+
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+
+/**
+ * ジョブ一覧に並ぶ 1 件分のキャラクター生成です。
+ * <p>
+ * 生成スレッドから届いたデルタはジョブ自身が本文として溜めておくため、実行中のジョブを後から結果画面で開いても、
+ * それまでの本文に続けて表示できます。結果画面が見ている間は、届いたデルタを {@link #watch(Queue)} で
+ * 渡されたキューにも積みます。経過時間とトークン数の表示は、{@link #refreshProgress()} を呼んだときにだけ
+ * 更新します（デルタごとに FX スレッドへ通知しないため）。
+ */
+final class GenerationJob extends Task<GenerationResult> {
+
+    /**
+     * 生成処理の本体です。デルタを受け取るリスナーを渡して呼び出します。
+     */
+    @FunctionalInterface
+    interface Generation {
+
+        /**
+         * 生成を実行します。
+         *
+         * @param deltaListener 生成中の文章の断片を受け取るリスナー
+         * @return 生成結果
+         */
+        GenerationResult generate(Consumer<String> deltaListener);
+    }
+
+    private static final String NOT_AVAILABLE = "-";
+
+    private final int number;
+    private final String description;
+    private final Generation generation;
+    private final StringBuilder text = new StringBuilder();
+    private final ReadOnlyStringWrapper elapsed = new ReadOnlyStringWrapper(NOT_AVAILABLE);
+    private final ReadOnlyStringWrapper tokens = new ReadOnlyStringWrapper(NOT_AVAILABLE);
+    private long deltaCount;
+    private Queue<String> watcher;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile boolean started;
+    private volatile boolean finished;
+
+    /**
+     * ジョブを作成します。実行はしません。
+     *
+     * @param number      表示用の通し番号
+     * @param description 生成条件の要約
+     * @param generation  生成処理
+     */
+    GenerationJob(int number, String description, Generation generation) {
+        this.number = number;
+        this.description = description;
+        this.generation = generation;
+    }
+
+    @Override
+    protected GenerationResult call() {
+        startedNanos = System.nanoTime();
+        started = true;
+        try {
+            return generation.generate(this::appendDelta);
+        } finally {
+            finishedNanos = System.nanoTime();
+            finished = true;
+        }
+    }
+
+    /**
+     * 生成スレッドから届いたデルタを本文に追記し、見ている結果画面があればそのキューにも積みます。
+     *
+     * @param delta 生成中の文章の断片
+     */
+    synchronized void appendDelta(String delta) {
+        if (delta == null || delta.isEmpty()) {
+            return;
+        }
+        text.append(delta);
+        deltaCount++;
+        if (watcher != null) {
+            watcher.add(delta);
+        }
+    }
+
+    /**
+     * 以降のデルタを指定のキューにも積むようにし、それまでに届いた本文を返します。
+     * 本文の取得とキューの登録は同時に行うため、デルタの取りこぼしや重複はありません。
+     *
+     * @param deltas デルタを受け取るキュー（並行アクセスに対応したもの）
+     * @return それまでに届いた本文
+     */
+    synchronized String watch(Queue<String> deltas) {
+        watcher = deltas;
+        return text.toString();
+    }
+
+    /**
+     * {@link #watch(Queue)} で登録したキューへの転送をやめます。
+     *
+     * @param deltas 登録したキュー
+     */
+    synchronized void unwatch(Queue<String> deltas) {
+        if (watcher == deltas) {
+            watcher = null;
+        }
+    }
+
+    /**
+     * 経過時間とトークン数の表示を更新します。FX スレッドから呼び出してください。
+     */
+    void refreshProgress() {
+        if (started) {
+            long end = finished ? finishedNanos : System.nanoTime();
+            elapsed.set(formatElapsed(Duration.ofNanos(end - startedNanos)));
+        }
+        GenerationResult result = getState() == Worker.State.SUCCEEDED ? getValue() : null;
+        if (result != null && result.usage().isPresent()) {
+            tokens.set(formatUsage(result.usage().get()));
+        } else {
+            long count;
+            synchronized (this) {
+                count = deltaCount;
+            }
+            if (count > 0) {
+                // ストリーミングの 1 チャンクはおおむね 1 トークンなので、確定するまでは受信数を目安として表示する
+                tokens.set("約 " + count);
+            }
+        }
+    }
+
+    /**
+     * 表示用の通し番号を返します。
+     *
+     * @return 通し番号
+     */
+    int getNumber() {
+        return number;
+    }
+
+    /**
+     * 生成条件の要約を返します。
+     *
+     * @return 要約
+     */
+    String getDescription() {
+        return description;
+    }
+
+    /**
+     * 経過時間の表示を返します。
+     *
+     * @return 経過時間
+     */
+    ReadOnlyStringProperty elapsedProperty() {
+        return elapsed.getReadOnlyProperty();
+    }
+
+    /**
+     * トークン数の表示を返します。
+     *
+     * @return トークン数
+     */
+    ReadOnlyStringProperty tokensProperty() {
+        return tokens.getReadOnlyProperty();
+    }
+
+    /**
+     * ジョブの状態を表示用の文言にします。
+     *
+     * @param state 状態
+     * @return 表示文言
+     */
+    static String stateLabel(Worker.State state) {
+        return switch (state) {
+            case READY, SCHEDULED -> "待機中";
+            case RUNNING -> "生成中";
+            case SUCCEEDED -> "完了";
+            case FAILED -> "失敗";
+            case CANCELLED -> "取消";
+        };
+    }
+
+    /**
+     * 経過時間を {@code 分:秒} で表します。
+     *
+     * @param duration 経過時間
+     * @return 表示文字列
+     */
+    static String formatElapsed(Duration duration) {
+        long seconds = Math.max(0, duration.toSeconds());
+        return String.format("%d:%02d", seconds / 60, seconds % 60);
+    }
+
+    /**
+     * 確定したトークン使用量を表します。
+     *
+     * @param usage トークン使用量
+     * @return 表示文字列
+     */
+    static String formatUsage(TokenUsage usage) {
+        return usage.totalTokens() + "（出力 " + usage.completionTokens() + "）";
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.darkchar.ui.controller;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Worker;
+import javafx.util.Duration;
+
+/**
+ * 画面から投入されたキャラクター生成ジョブを、設定した上限数まで並行して実行します。
+ * <p>
+ * 上限を超えた分は投入順に待機し、空いたスレッドから順に実行します。実行中のジョブがある間だけ
+ * {@link Timeline} で経過時間とトークン数の表示を定期的に更新します。
+ * 投入・一覧の参照・取消はすべて FX スレッドから行ってください。
+ */
+@Component
+public class GenerationJobQueue implements DisposableBean {
+
+    private static final Duration PROGRESS_INTERVAL = Duration.millis(500);
+
+    private final int maxConcurrentJobs;
+    private final ObservableList<GenerationJob> jobs = FXCollections.observableArrayList();
+    private ExecutorService executor;
+    private Timeline progressTicker;
+    private int nextNumber = 1;
+
+    /**
+     * 並行実行数の上限を注入します。
+     *
+     * @param maxConcurrentJobs 同時に実行するジョブ数の上限
+     */
+    public GenerationJobQueue(@Value("${darkchar.generation.max-concurrent-jobs:2}") int maxConcurrentJobs) {
+        if (maxConcurrentJobs <= 0) {
+            throw new IllegalArgumentException("maxConcurrentJobs must be positive");
+        }
+        this.maxConcurrentJobs = maxConcurrentJobs;
+    }
+
+    /**
+     * ジョブを一覧に加えて実行を予約します。
+     *
+     * @param description 生成条件の要約
+     * @param generation  生成処理
+     * @return 作成したジョブ
+     */
+    GenerationJob submit(String description, GenerationJob.Generation generation) {
+        GenerationJob job = new GenerationJob(nextNumber++, description, generation);
+        job.stateProperty().addListener((obs, oldState, newState) -> {
+            job.refreshProgress();
+            updateTicker();
+        });
+        jobs.add(job);
+        executor().execute(job);
+        return job;
+    }
+
+    /**
+     * 投入済みのジョブの一覧を返します。
+     *
+     * @return ジョブ一覧（投入順）
+     */
+    ObservableList<GenerationJob> jobs() {
+        return jobs;
+    }
+
+    /**
+     * 終了したジョブ（完了・失敗・取消）を一覧から取り除きます。
+     */
+    void removeFinished() {
+        jobs.removeIf(job -> job.isDone());
+    }
+
+    /**
+     * 実行中のジョブを中断し、スレッドを停止します。
+     */
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(maxConcurrentJobs,
+                    Thread.ofPlatform().name("generation-job-", 0).daemon().factory());
+        }
+        return executor;
+    }
+
+    /**
+     * 実行中のジョブがあれば表示の定期更新を動かし、なければ止めます。
+     */
+    private void updateTicker() {
+        boolean running = jobs.stream().anyMatch(job -> job.getState() == Worker.State.RUNNING);
+        if (!running) {
+            if (progressTicker != null) {
+                progressTicker.stop();
+            }
+            return;
+        }
+        if (progressTicker == null) {
+            progressTicker = new Timeline(new KeyFrame(PROGRESS_INTERVAL, event -> jobs.stream()
+                    .filter(job -> job.getState() == Worker.State.RUNNING)
+                    .forEach(GenerationJob::refreshProgress)));
+            progressTicker.setCycleCount(Animation.INDEFINITE);
+        }
+        if (progressTicker.getStatus() != Animation.Status.RUNNING) {
+            progressTicker.play();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.darkchar.ui.controller;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Worker;
+import javafx.scene.control.Button;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+
+/**
+ * 生成ジョブの一覧表を組み立てます。
+ * <p>
+ * 行ごとに番号・生成条件・状態・経過時間・トークン数と、結果を開くボタン・取り消すボタンを表示します。
+ * 状態と進捗は {@link GenerationJob} のプロパティに結び付けているため、一覧を作り直さずに更新されます。
+ */
+final class GenerationJobTable {
+
+    private static final double ROW_HEIGHT = 30;
+
+    private GenerationJobTable() {
+    }
+
+    /**
+     * 表にジョブ一覧を表示し、列を構成します。
+     *
+     * @param table  対象の表（FXML で定義したもの）
+     * @param jobs   表示するジョブ一覧
+     * @param onOpen 結果ボタンが押されたときの処理
+     */
+    static void bind(TableView<GenerationJob> table, ObservableList<GenerationJob> jobs,
+            Consumer<GenerationJob> onOpen) {
+        TableColumn<GenerationJob, Integer> numberColumn = new TableColumn<>("#");
+        numberColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue().getNumber()));
+        numberColumn.setPrefWidth(40);
+
+        TableColumn<GenerationJob, String> descriptionColumn = new TableColumn<>("内容");
+        descriptionColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().getDescription()));
+        descriptionColumn.setPrefWidth(300);
+
+        TableColumn<GenerationJob, String> stateColumn = new TableColumn<>("状態");
+        stateColumn.setCellValueFactory(cell -> Bindings.createStringBinding(
+                () -> GenerationJob.stateLabel(cell.getValue().getState()), cell.getValue().stateProperty()));
+        stateColumn.setPrefWidth(70);
+
+        TableColumn<GenerationJob, String> elapsedColumn = new TableColumn<>("経過");
+        elapsedColumn.setCellValueFactory(cell -> cell.getValue().elapsedProperty());
+        elapsedColumn.setPrefWidth(60);
+
+        TableColumn<GenerationJob, String> tokensColumn = new TableColumn<>("トークン");
+        tokensColumn.setCellValueFactory(cell -> cell.getValue().tokensProperty());
+        tokensColumn.setPrefWidth(120);
+
+        TableColumn<GenerationJob, GenerationJob> actionColumn = new TableColumn<>("");
+        actionColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue()));
+        actionColumn.setCellFactory(column -> new ActionCell(onOpen));
+        actionColumn.setSortable(false);
+        actionColumn.setPrefWidth(130);
+
+        table.getColumns().setAll(List.of(numberColumn, descriptionColumn, stateColumn, elapsedColumn,
+                tokensColumn, actionColumn));
+        table.setFixedCellSize(ROW_HEIGHT);
+        table.setPlaceholder(new Label("生成ジョブはまだありません。"));
+        table.setItems(jobs);
+    }
+
+    /**
+     * 結果ボタンと取消ボタンを並べたセルです。ボタンの有効・無効はジョブの状態に結び付けます。
+     */
+    private static final class ActionCell extends TableCell<GenerationJob, GenerationJob> {
+
+        private final Button openButton = new Button("結果");
+        private final Button cancelButton = new Button("取消");
+        private final HBox buttons = new HBox(6, openButton, cancelButton);
+
+        ActionCell(Consumer<GenerationJob> onOpen) {
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+            openButton.setOnAction(event -> {
+                if (getItem() != null) {
+                    onOpen.accept(getItem());
+                }
+            });
+            cancelButton.setOnAction(event -> {
+                if (getItem() != null) {
+                    getItem().cancel();
+                }
+            });
+        }
+
+        @Override
+        protected void updateItem(GenerationJob job, boolean empty) {
+            super.updateItem(job, empty);
+            openButton.disableProperty().unbind();
+            cancelButton.disableProperty().unbind();
+            if (empty || job == null) {
+                setGraphic(null);
+                return;
+            }
+            // 実行中のジョブも開けるようにし、生成途中の文章から表示する
+            openButton.disableProperty().bind(Bindings.createBooleanBinding(
+                    () -> job.getState() != Worker.State.RUNNING && job.getState() != Worker.State.SUCCEEDED,
+                    job.stateProperty()));
+            cancelButton.disableProperty().bind(Bindings.createBooleanBinding(job::isDone, job.stateProperty()));
+            setGraphic(buttons);
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package com.example.darkchar.ui.controller;
 
-import java.util.ArrayList;
 import java.util.EnumMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
@@ -16,7 +15,6 @@ import com.example.darkchar.domain.AttributeOption;
 import com.example.darkchar.domain.CharacterInput;
 import com.example.darkchar.domain.DarknessPreset;
 import com.example.darkchar.domain.DarknessSelection;
-import com.example.darkchar.domain.GeneratedCharacter;
 import com.example.darkchar.domain.InputMode;
 import com.example.darkchar.domain.ProtagonistAlignment;
 import com.example.darkchar.domain.WorldGenre;
@@ -27,35 +25,39 @@ import com.example.darkchar.service.ai.AiProviderContextStore;
 import com.example.darkchar.service.ai.ProviderType;
 import com.example.darkchar.ui.AppStyleUtil;
 import com.example.darkchar.ui.JapaneseTextInputSupport;
+import com.example.darkchar.ui.ParagraphViewer;
+import com.example.darkchar.ui.diagnostics.UiLatencyMonitor;
 
 import javafx.collections.FXCollections;
+import javafx.concurrent.Worker;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
-import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.RadioButton;
 import javafx.scene.control.Slider;
+import javafx.scene.control.TableView;
 import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
 import javafx.scene.control.TitledPane;
 import javafx.scene.control.ToggleGroup;
-import javafx.scene.control.Tooltip;
-import javafx.concurrent.Task;
-import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
-import javafx.scene.Cursor;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 import javafx.util.StringConverter;
 
 /**
  * メイン画面の操作をまとめるコントローラです。
+ * <p>
+ * 生成ボタンは押すたびに {@link GenerationJobQueue} へジョブを投入するだけなので、生成中も続けて別の条件を
+ * 投入できます。結果画面はモーダルにせず、ジョブ一覧から開いたジョブの文章を表示します。
  */
 @Component
 public class MainViewController {
@@ -63,6 +65,8 @@ public class MainViewController {
     private final AttributeQueryService attributeQueryService;
     private final CharacterGenerationService characterGenerationService;
     private final AiProviderContextStore providerContextStore;
+    private final GenerationJobQueue jobQueue;
+    private final UiLatencyMonitor uiLatencyMonitor;
 
     @FXML
     private RadioButton autoModeButton;
@@ -74,7 +78,10 @@ public class MainViewController {
     private ComboBox<WorldGenre> worldGenreComboBox;
 
     @FXML
-    private FlowPane characterTraitContainer;
+    private TextField characterTraitFilter;
+
+    @FXML
+    private ListView<AttributeOption> characterTraitList;
 
     @FXML
     private TextArea traitFreeTextArea;
@@ -106,15 +113,25 @@ public class MainViewController {
     @FXML
     private Button settingsButton;
 
+    @FXML
+    private TableView<GenerationJob> jobTable;
+
     private final ToggleGroup modeToggleGroup = new ToggleGroup();
-    private final Map<AttributeOption, CheckBox> traitCheckBoxes = new LinkedHashMap<>();
-    private final Map<AttributeCategory, List<CheckBox>> darknessCheckBoxes = new EnumMap<>(AttributeCategory.class);
+    private static final int TRAIT_VISIBLE_ROWS = 8;
+    private static final int DARKNESS_VISIBLE_ROWS = 6;
+    private static final String FILTER_PROMPT = "名称・説明で絞り込み";
+    private final AttributeSelectionModel attributeSelection = new AttributeSelectionModel();
+    private List<AttributeOption> characterTraits = List.of();
+    private Map<AttributeCategory, List<AttributeOption>> darknessOptions = Map.of();
     private static final String DEFAULT_PROTAGONIST_PREVIEW = "例: 選択すると例文を表示します。";
-    private final ApplicationContext applicationContext;
-    private Stage resultStage;
-    private CharacterResultController resultController;
-    private Stage settingsStage;
-    private SettingsController settingsController;
+    private static final String RESULT_VIEW_RESOURCE = "/com/example/darkchar/ui/character-result-view.fxml";
+    private static final String SETTINGS_VIEW_RESOURCE = "/com/example/darkchar/ui/settings-view.fxml";
+    private static final double DIAGNOSTICS_VIEWER_WIDTH = 720;
+    private static final double DIAGNOSTICS_VIEWER_HEIGHT = 420;
+    private final ReusableWindow<CharacterResultController> resultWindow;
+    private final ReusableWindow<SettingsController> settingsWindow;
+    private GenerationJob watchedJob;
+    private Queue<String> watchedDeltas;
 
     /**
      * 画面で利用するサービスを注入します。
@@ -122,16 +139,48 @@ public class MainViewController {
      * @param attributeQueryService 属性取得サービス
      * @param characterGenerationService 生成サービス
      * @param providerContextStore プロバイダ設定ストア
+     * @param jobQueue 生成ジョブのキュー
+     * @param uiLatencyMonitor 画面の応答性の計測
      * @param applicationContext Spring アプリケーションコンテキスト
      */
     public MainViewController(AttributeQueryService attributeQueryService,
             CharacterGenerationService characterGenerationService,
             AiProviderContextStore providerContextStore,
+            GenerationJobQueue jobQueue,
+            UiLatencyMonitor uiLatencyMonitor,
             ApplicationContext applicationContext) {
         this.attributeQueryService = attributeQueryService;
         this.characterGenerationService = characterGenerationService;
         this.providerContextStore = providerContextStore;
-        this.applicationContext = applicationContext;
+        this.jobQueue = jobQueue;
+        this.uiLatencyMonitor = uiLatencyMonitor;
+        // 結果を読みながら次のジョブを投入できるよう、結果画面はモーダルにしない
+        this.resultWindow = new ReusableWindow<>(RESULT_VIEW_RESOURCE, applicationContext::getBean, Modality.NONE,
+                stage -> {
+                    stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, event -> releaseWatchedJob());
+                    uiLatencyMonitor.instrument(stage, "result");
+                },
+                CharacterResultController::setStage);
+        this.settingsWindow = new ReusableWindow<>(SETTINGS_VIEW_RESOURCE, applicationContext::getBean,
+                Modality.WINDOW_MODAL, stage -> {
+                    stage.setResizable(false);
+                    uiLatencyMonitor.instrument(stage, "settings");
+                },
+                SettingsController::setStage);
+    }
+
+    /**
+     * 結果表示ウィンドウと設定ウィンドウをバックグラウンドで構築しておきます。
+     * メイン画面を表示した後に呼び出すと、初回の表示でも FXML の読み込みを待たずに済みます。
+     * FX スレッドから呼び出してください。
+     */
+    public void prewarmWindows() {
+        Scene ownerScene = generateButton.getScene();
+        if (ownerScene == null || ownerScene.getWindow() == null) {
+            return;
+        }
+        resultWindow.prepare(ownerScene);
+        settingsWindow.prepare(ownerScene);
     }
 
     /**
@@ -156,6 +205,8 @@ public class MainViewController {
         populateCharacterTraits();
         populateDarknessOptions();
         updateMode();
+
+        GenerationJobTable.bind(jobTable, jobQueue.jobs(), this::openJobResult);
     }
 
     private void setupWorldGenreComboBox() {
@@ -240,46 +291,34 @@ public class MainViewController {
     }
 
     /**
-     * キャラクター属性のチェックボックスを構築します。
+     * キャラクター属性の一覧を構築します。一覧は仮想化されているため、属性の件数によらずノード数は一定です。
      */
     private void populateCharacterTraits() {
-        characterTraitContainer.getChildren().clear();
-        List<AttributeOption> traits = attributeQueryService.loadCharacterTraits();
-        for (AttributeOption trait : traits) {
-            CheckBox checkBox = new CheckBox(trait.name());
-            checkBox.setUserData(trait);
-            checkBox.setTooltip(new Tooltip(trait.description()));
-            traitCheckBoxes.put(trait, checkBox);
-            characterTraitContainer.getChildren().add(checkBox);
-        }
+        characterTraits = attributeQueryService.loadCharacterTraits();
+        AttributeOptionPicker.bind(characterTraitList, characterTraits, attributeSelection, TRAIT_VISIBLE_ROWS);
+        AttributeOptionPicker.bindFilter(characterTraitFilter, characterTraitList,
+                query -> attributeQueryService.searchOptions(query, AttributeCategory.CHARACTER_TRAIT));
     }
 
     /**
-     * 闇堕ちカテゴリのチェックボックスを構築します。
+     * 闇堕ちカテゴリごとに属性の一覧を構築します。
      */
     private void populateDarknessOptions() {
         darknessCategoryContainer.getChildren().clear();
-        darknessCheckBoxes.clear();
-        Map<AttributeCategory, List<AttributeOption>> options = attributeQueryService.loadDarknessOptions();
-        for (Map.Entry<AttributeCategory, List<AttributeOption>> entry : options.entrySet()) {
-            AttributeCategory category = entry.getKey();
-            if (category == AttributeCategory.CHARACTER_TRAIT) {
-                continue;
-            }
-            VBox box = new VBox(4);
-            List<CheckBox> categoryBoxes = new ArrayList<>();
-            for (AttributeOption option : entry.getValue()) {
-                CheckBox checkBox = new CheckBox(option.name());
-                checkBox.setUserData(option);
-                checkBox.setTooltip(new Tooltip(option.description()));
-                box.getChildren().add(checkBox);
-                categoryBoxes.add(checkBox);
-            }
-            TitledPane pane = new TitledPane(category.getDisplayName(), box);
+        darknessOptions = new EnumMap<>(AttributeCategory.class);
+        darknessOptions.putAll(attributeQueryService.loadDarknessOptions());
+        darknessOptions.remove(AttributeCategory.CHARACTER_TRAIT);
+        darknessOptions.forEach((category, options) -> {
+            ListView<AttributeOption> listView = AttributeOptionPicker.bind(new ListView<>(), options,
+                    attributeSelection, DARKNESS_VISIBLE_ROWS);
+            TextField filter = new TextField();
+            filter.setPromptText(FILTER_PROMPT);
+            AttributeOptionPicker.bindFilter(filter, listView,
+                    query -> attributeQueryService.searchOptions(query, category));
+            TitledPane pane = new TitledPane(category.getDisplayName(), new VBox(6, filter, listView));
             pane.setCollapsible(false);
             darknessCategoryContainer.getChildren().add(pane);
-            darknessCheckBoxes.put(category, categoryBoxes);
-        }
+        });
     }
 
     /**
@@ -287,15 +326,13 @@ public class MainViewController {
      */
     private void updateMode() {
         boolean semiAuto = semiAutoModeButton.isSelected();
-        characterTraitContainer.setDisable(!semiAuto);
+        characterTraitFilter.setDisable(!semiAuto);
+        characterTraitList.setDisable(!semiAuto);
         traitFreeTextArea.setDisable(!semiAuto);
-        traitCheckBoxes.values().forEach(checkBox -> {
-            checkBox.setDisable(!semiAuto);
-            if (!semiAuto) {
-                checkBox.setSelected(false);
-            }
-        });
         if (!semiAuto) {
+            attributeSelection.clear(AttributeCategory.CHARACTER_TRAIT);
+            characterTraitFilter.clear();
+            characterTraitList.refresh();
             traitFreeTextArea.clear();
         }
     }
@@ -310,20 +347,11 @@ public class MainViewController {
         try {
             InputMode mode = autoModeButton.isSelected() ? InputMode.AUTO : InputMode.SEMI_AUTO;
             WorldGenre worldGenre = worldGenreComboBox.getValue();
-            List<AttributeOption> selectedTraits = traitCheckBoxes.entrySet().stream()
-                    .filter(entry -> entry.getValue().isSelected())
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toList());
-
-            Map<AttributeCategory, List<AttributeOption>> darknessSelections = darknessCheckBoxes.entrySet().stream()
-                    .collect(Collectors.toMap(
-                            Map.Entry::getKey,
-                            entry -> entry.getValue().stream()
-                                    .filter(CheckBox::isSelected)
-                                    .map(checkBox -> (AttributeOption) checkBox.getUserData())
-                                    .collect(Collectors.toList()),
-                            (a, b) -> a,
-                            () -> new EnumMap<>(AttributeCategory.class)));
+            List<AttributeOption> selectedTraits = attributeSelection.selectedAmong(characterTraits);
+
+            Map<AttributeCategory, List<AttributeOption>> darknessSelections = new EnumMap<>(AttributeCategory.class);
+            darknessOptions.forEach((category, options) -> darknessSelections.put(category,
+                    attributeSelection.selectedAmong(options)));
 
             CharacterInput input = new CharacterInput(
                     mode,
@@ -337,7 +365,7 @@ public class MainViewController {
                     darknessSelections,
                     getDarknessPreset(darknessSlider.getValue()));
 
-            runGenerationTask(input, selection);
+            submitGenerationJob(input, selection);
         } catch (IllegalArgumentException ex) {
             showAlert(Alert.AlertType.WARNING, ex.getMessage());
         } catch (Exception ex) {
@@ -346,112 +374,122 @@ public class MainViewController {
     }
 
     /**
-     * 結果表示ウィンドウを表示します。
+     * 終了したジョブを一覧から取り除きます。
      *
-     * @param generatedCharacter 生成キャラクター
-     * @param prompt 使用したプロンプト
+     * @param event 発生したイベント
      */
-    private void showResultWindow(GeneratedCharacter generatedCharacter, Optional<String> prompt) {
-        try {
-            if (resultStage == null) {
-                FXMLLoader loader = new FXMLLoader(
-                        getClass().getResource("/com/example/darkchar/ui/character-result-view.fxml"));
-                loader.setControllerFactory(applicationContext::getBean);
-                Parent root = loader.load();
-                resultController = loader.getController();
-
-                Scene ownerScene = generateButton.getScene();
-                Scene scene = new Scene(root);
-                scene.getStylesheets().addAll(ownerScene.getStylesheets());
-                String ownerStyle = ownerScene.getRoot().getStyle();
-                if (ownerStyle != null && !ownerStyle.isBlank()) {
-                    scene.getRoot().setStyle(ownerStyle);
-                }
-
-                resultStage = new Stage();
-                resultStage.initOwner(ownerScene.getWindow());
-                resultStage.initModality(Modality.WINDOW_MODAL);
-                resultStage.setScene(scene);
-                resultStage.setOnHidden(event -> {
-                    resultStage = null;
-                    resultController = null;
-                });
-                resultController.setStage(resultStage);
-            }
-
-            if (resultController != null) {
-                resultController.setResult(generatedCharacter, prompt);
-            }
-
-            if (resultStage != null && !resultStage.isShowing()) {
-                resultStage.show();
-            } else if (resultStage != null) {
-                resultStage.toFront();
-                resultStage.requestFocus();
-            }
-        } catch (Exception ex) {
-            showAlert(Alert.AlertType.ERROR, "結果画面の表示中にエラーが発生しました: " + ex.getMessage());
-        }
+    @FXML
+    void handleClearFinishedJobs(ActionEvent event) {
+        jobQueue.removeFinished();
     }
 
     /**
-     * 非同期でキャラクター生成処理を実行します。
+     * 生成ジョブを投入します。結果画面で見ているジョブが終わったら、確定した文章に置き換えます。
      *
      * @param input 入力情報
      * @param selection 闇堕ち選択
      */
-    private void runGenerationTask(CharacterInput input, DarknessSelection selection) {
+    private void submitGenerationJob(CharacterInput input, DarknessSelection selection) {
         ProviderType providerType = providerContextStore.getActiveProviderType();
-        Task<GenerationResult> task = new Task<>() {
-            @Override
-            protected GenerationResult call() {
-                return characterGenerationService.generate(input, selection, providerType);
-            }
-        };
+        GenerationJob job = jobQueue.submit(describe(input, selection), deltaListener ->
+                characterGenerationService.generateStreaming(input, selection, providerType, deltaListener));
 
-        task.setOnSucceeded(event -> {
-            generateButton.setDisable(false);
-            setSceneCursor(Cursor.DEFAULT);
-            GenerationResult result = task.getValue();
-            if (result != null) {
-                result.warningMessage().ifPresent(message -> showAlert(Alert.AlertType.WARNING, message));
-                showResultWindow(result.generatedCharacter(), result.prompt());
+        job.setOnSucceeded(event -> {
+            if (watchedJob == job) {
+                openJobResult(job);
             }
         });
 
-        task.setOnFailed(event -> {
-            generateButton.setDisable(false);
-            setSceneCursor(Cursor.DEFAULT);
-            Throwable ex = task.getException();
+        job.setOnFailed(event -> {
+            if (watchedJob == job) {
+                hideResultWindow();
+            }
+            Throwable ex = job.getException();
             if (ex instanceof IllegalArgumentException iae) {
                 showAlert(Alert.AlertType.WARNING, iae.getMessage());
             } else {
                 String message = ex == null ? "不明なエラーが発生しました。" : ex.getMessage();
-                showAlert(Alert.AlertType.ERROR, "生成中にエラーが発生しました: " + message);
+                showAlert(Alert.AlertType.ERROR,
+                        "ジョブ #" + job.getNumber() + " の生成中にエラーが発生しました: " + message);
             }
         });
 
-        task.setOnCancelled(event -> {
-            generateButton.setDisable(false);
-            setSceneCursor(Cursor.DEFAULT);
+        job.setOnCancelled(event -> {
+            if (watchedJob == job) {
+                hideResultWindow();
+            }
         });
+    }
+
+    /**
+     * ジョブ一覧に表示する生成条件の要約を作ります。
+     *
+     * @param input 入力情報
+     * @param selection 闇堕ち選択
+     * @return 要約
+     */
+    private static String describe(CharacterInput input, DarknessSelection selection) {
+        String genre = input.worldGenre() == null ? "ジャンル未指定" : input.worldGenre().name();
+        String mode = input.mode() == InputMode.AUTO ? "オート" : "セミオート";
+        return genre + " / " + mode + " / " + selection.preset().formatValueWithLabel();
+    }
 
-        generateButton.setDisable(true);
-        setSceneCursor(Cursor.WAIT);
+    /**
+     * ジョブの結果を結果表示ウィンドウに表示します。完了したジョブは確定した文章を、
+     * 実行中のジョブはそれまでの文章に続けて生成中の文章を表示します。
+     *
+     * @param job 対象のジョブ
+     */
+    private void openJobResult(GenerationJob job) {
+        resultWindow.whenReady(generateButton.getScene(), (controller, stage) -> {
+            releaseWatchedJob();
+            if (job.getState() == Worker.State.SUCCEEDED) {
+                GenerationResult result = job.getValue();
+                controller.setResult(result.generatedCharacter(), result.prompt());
+                showOrFocus(stage);
+                result.warningMessage().ifPresent(message -> showAlert(Alert.AlertType.WARNING, message));
+            } else if (job.getState() == Worker.State.RUNNING) {
+                Queue<String> deltas = new ConcurrentLinkedQueue<>();
+                controller.beginStreaming(deltas, job.watch(deltas));
+                watchedJob = job;
+                watchedDeltas = deltas;
+                showOrFocus(stage);
+            }
+        }, ex -> showAlert(Alert.AlertType.ERROR, "結果画面の表示中にエラーが発生しました: " + ex.getMessage()));
+    }
 
-        Thread thread = new Thread(task, "character-generation-task");
-        thread.setDaemon(true);
-        thread.start();
+    /**
+     * 結果表示ウィンドウで見ていたジョブが失敗・取消になったときに、ウィンドウを閉じます。
+     */
+    private void hideResultWindow() {
+        resultWindow.whenReady(generateButton.getScene(), (controller, stage) -> {
+            controller.stopStreaming();
+            stage.hide();
+        }, ex -> { });
     }
 
     /**
-     * シーン全体のカーソルを変更します。
+     * 結果表示ウィンドウで見ていたジョブからのデルタの転送をやめます。
+     */
+    private void releaseWatchedJob() {
+        if (watchedJob != null) {
+            watchedJob.unwatch(watchedDeltas);
+            watchedJob = null;
+            watchedDeltas = null;
+        }
+    }
+
+    /**
+     * ステージを表示します。表示中であれば前面に出します。
      *
-     * @param cursor 設定するカーソル
+     * @param stage 対象のステージ
      */
-    private void setSceneCursor(Cursor cursor) {
-        if (generateButton != null && generateButton.getScene() != null) {
-            generateButton.getScene().setCursor(cursor);
+    private static void showOrFocus(Stage stage) {
+        if (!stage.isShowing()) {
+            stage.show();
+        } else {
+            stage.toFront();
+            stage.requestFocus();
         }
     }
 
@@ -494,55 +532,35 @@ public class MainViewController {
      */
     @FXML
     void handleOpenSettings(ActionEvent event) {
-        try {
-            if (settingsStage == null) {
-                FXMLLoader loader = new FXMLLoader(
-                        getClass().getResource("/com/example/darkchar/ui/settings-view.fxml"));
-                loader.setControllerFactory(applicationContext::getBean);
-                Parent root = loader.load();
-                settingsController = loader.getController();
-
-                Scene ownerScene = settingsButton.getScene();
-                Scene scene = new Scene(root);
-                if (ownerScene != null) {
-                    scene.getStylesheets().addAll(ownerScene.getStylesheets());
-                    String ownerStyle = ownerScene.getRoot().getStyle();
-                    if (ownerStyle != null && !ownerStyle.isBlank()) {
-                        scene.getRoot().setStyle(ownerStyle);
-                    }
-                }
+        settingsWindow.whenReady(settingsButton.getScene(), (controller, stage) -> {
+            controller.refreshFromStore();
+            showOrFocus(stage);
+        }, ex -> showAlert(Alert.AlertType.ERROR, "設定画面の表示中にエラーが発生しました: " + ex.getMessage()));
+    }
 
-                settingsStage = new Stage();
-                if (ownerScene != null) {
-                    settingsStage.initOwner(ownerScene.getWindow());
-                }
-                settingsStage.initModality(Modality.WINDOW_MODAL);
-                settingsStage.setResizable(false);
-                settingsStage.setScene(scene);
-                settingsStage.setOnHidden(e -> {
-                    settingsStage = null;
-                    settingsController = null;
-                });
-                if (settingsController != null) {
-                    settingsController.setStage(settingsStage);
-                }
-            }
+    /**
+     * 診断ボタン押下時に、FX スレッドの停止とイベント処理時間の集計結果を表示します。
+     *
+     * @param event 発生したイベント
+     */
+    @FXML
+    void handleOpenDiagnostics(ActionEvent event) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setHeaderText("画面の応答性の診断");
+        if (settingsButton.getScene() != null) {
+            alert.initOwner(settingsButton.getScene().getWindow());
+            alert.initModality(Modality.WINDOW_MODAL);
+        }
 
-            if (settingsController != null) {
-                settingsController.refreshFromStore();
-            }
+        ParagraphViewer viewer = new ParagraphViewer();
+        viewer.setText(uiLatencyMonitor.report());
+        viewer.setPrefSize(DIAGNOSTICS_VIEWER_WIDTH, DIAGNOSTICS_VIEWER_HEIGHT);
+        viewer.setMinSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
 
-            if (settingsStage != null) {
-                if (!settingsStage.isShowing()) {
-                    settingsStage.show();
-                } else {
-                    settingsStage.toFront();
-                    settingsStage.requestFocus();
-                }
-            }
-        } catch (Exception ex) {
-            showAlert(Alert.AlertType.ERROR, "設定画面の表示中にエラーが発生しました: " + ex.getMessage());
-        }
+        alert.getDialogPane().setContent(viewer);
+        alert.setResizable(true);
+        AppStyleUtil.applyToAlert(alert);
+        alert.showAndWait();
     }
 
     /**
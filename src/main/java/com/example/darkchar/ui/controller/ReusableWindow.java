@@ -0,0 +1,162 @@
+package com.example.darkchar.ui.controller;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.util.Callback;
+
+/**
+ * FXML から作る子ウィンドウを一度だけ構築し、閉じた後も使い回します。
+ * <p>
+ * FXML の解析とノードの生成はまだシーンに載っていないためバックグラウンドで行い、{@link Scene} と {@link Stage}
+ * の作成だけを FX スレッドで行います。{@link #prepare(Scene)} で先読みしておけば、初めて表示するときにも
+ * 読み込みを待たずに済みます。先読みが終わる前に表示を求められた場合は、読み込みの完了後に受け付けた順で処理します。
+ * <p>
+ * {@link #prepare(Scene)} と {@link #whenReady(Scene, BiConsumer, Consumer)} は FX スレッドから呼び出してください。
+ *
+ * @param <C> コントローラーの型
+ */
+final class ReusableWindow<C> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReusableWindow.class);
+    private static final Executor LOADER = runnable -> Thread.ofPlatform()
+            .name("window-prewarm")
+            .daemon()
+            .start(runnable);
+
+    private final String fxmlResource;
+    private final Callback<Class<?>, Object> controllerFactory;
+    private final Modality modality;
+    private final Consumer<Stage> stageCustomizer;
+    private final BiConsumer<C, Stage> stageBinder;
+    private C controller;
+    private Stage stage;
+    private List<PendingAction<C>> pendingActions;
+
+    /**
+     * 構築方法を指定してウィンドウを定義します。この時点では読み込みません。
+     *
+     * @param fxmlResource      FXML のリソースパス
+     * @param controllerFactory FXML のコントローラーを作るファクトリ
+     * @param modality          ステージのモダリティ
+     * @param stageCustomizer   ステージ作成時の追加設定
+     * @param stageBinder       コントローラーへステージを渡す処理
+     */
+    ReusableWindow(String fxmlResource, Callback<Class<?>, Object> controllerFactory, Modality modality,
+            Consumer<Stage> stageCustomizer, BiConsumer<C, Stage> stageBinder) {
+        this.fxmlResource = fxmlResource;
+        this.controllerFactory = controllerFactory;
+        this.modality = modality;
+        this.stageCustomizer = stageCustomizer;
+        this.stageBinder = stageBinder;
+    }
+
+    /**
+     * ウィンドウの構築をまだ始めていなければ開始します。
+     * スタイルシートとルートのスタイル（フォント指定）はオーナーのシーンから引き継ぎます。
+     *
+     * @param ownerScene オーナーとなるシーン
+     */
+    void prepare(Scene ownerScene) {
+        if (stage != null || pendingActions != null) {
+            return;
+        }
+        pendingActions = new ArrayList<>();
+        long started = System.nanoTime();
+        CompletableFuture.supplyAsync(this::load, LOADER)
+                .whenComplete((root, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        fail(error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error);
+                        return;
+                    }
+                    try {
+                        Stage created = createStage(root, ownerScene);
+                        logger.debug("Prepared {} in {} ms.", fxmlResource,
+                                (System.nanoTime() - started) / 1_000_000L);
+                        complete(created);
+                    } catch (RuntimeException ex) {
+                        fail(ex);
+                    }
+                }));
+    }
+
+    /**
+     * ウィンドウの準備ができ次第、FX スレッドで処理を実行します。準備済みであればその場で実行します。
+     * 準備中に受け付けた処理は、受け付けた順に実行します。
+     * 構築に失敗した場合は例外を {@code onFailure} へ渡し、次の呼び出しで構築をやり直します。
+     *
+     * @param ownerScene オーナーとなるシーン（未構築の場合に使います）
+     * @param action     コントローラーとステージを受け取る処理
+     * @param onFailure  構築に失敗したときの処理
+     */
+    void whenReady(Scene ownerScene, BiConsumer<C, Stage> action, Consumer<Throwable> onFailure) {
+        prepare(ownerScene);
+        if (stage != null) {
+            action.accept(controller, stage);
+            return;
+        }
+        pendingActions.add(new PendingAction<>(action, onFailure));
+    }
+
+    private void complete(Stage created) {
+        List<PendingAction<C>> actions = pendingActions;
+        pendingActions = null;
+        stage = created;
+        actions.forEach(pending -> pending.action().accept(controller, created));
+    }
+
+    private void fail(Throwable error) {
+        logger.warn("Failed to prepare {}", fxmlResource, error);
+        List<PendingAction<C>> actions = pendingActions;
+        pendingActions = null;
+        actions.forEach(pending -> pending.onFailure().accept(error));
+    }
+
+    private Parent load() {
+        FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlResource));
+        loader.setControllerFactory(controllerFactory);
+        try {
+            Parent root = loader.load();
+            controller = loader.getController();
+            return root;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to load " + fxmlResource, ex);
+        }
+    }
+
+    private Stage createStage(Parent root, Scene ownerScene) {
+        Scene scene = new Scene(root);
+        scene.getStylesheets().addAll(ownerScene.getStylesheets());
+        String ownerStyle = ownerScene.getRoot().getStyle();
+        if (ownerStyle != null && !ownerStyle.isBlank()) {
+            root.setStyle(ownerStyle);
+        }
+
+        Stage created = new Stage();
+        created.initOwner(ownerScene.getWindow());
+        created.initModality(modality);
+        created.setScene(scene);
+        stageCustomizer.accept(created);
+        stageBinder.accept(controller, created);
+        return created;
+    }
+
+    private record PendingAction<C>(BiConsumer<C, Stage> action, Consumer<Throwable> onFailure) {
+    }
+}
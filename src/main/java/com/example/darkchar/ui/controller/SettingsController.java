@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import com.example.darkchar.service.ai.AiProviderContext;
@@ -25,8 +26,11 @@ import javafx.util.StringConverter;
 
 /**
  * AIプロバイダ設定を行うダイアログのコントローラ。
+ * <p>
+ * 設定画面を初めて開いたときに FXML のコントローラファクトリから作成されます。
  */
 @Component
+@Lazy
 public class SettingsController {
 
     private final AiProviderContextStore providerContextStore;
@@ -116,6 +120,14 @@ public class SettingsController {
     void handleSave(ActionEvent event) {
         ProviderType providerType = getCurrentProviderType();
 
+        if (!requiresApiKey(providerType)) {
+            providerContextStore.setSelectedModel(providerType, null);
+            providerContextStore.setActiveProviderType(providerType);
+            updateStatus(providerDisplayName(providerType) + "の設定を保存しました。");
+            closeStage();
+            return;
+        }
+
         String key = apiKeyField.getText();
         if (key != null) {
             key = key.trim();
@@ -224,8 +236,10 @@ public class SettingsController {
     private void refreshForProvider(ProviderType providerType) {
         currentProviderType = providerType;
         AiProviderContext context = providerContextStore.getContext(providerType);
+        boolean requiresApiKey = requiresApiKey(providerType);
         if (apiKeyField != null) {
             apiKeyField.setText(context.apiKey().orElse(""));
+            apiKeyField.setDisable(!requiresApiKey);
         }
         boolean requiresModels = modelCatalog.requiresModelSelection(providerType);
         currentModels = requiresModels ? new ArrayList<>(modelCatalog.listModels(providerType)) : new ArrayList<>();
@@ -258,6 +272,10 @@ public class SettingsController {
             }
         }
 
+        if (!requiresApiKey) {
+            updateStatus(providerDisplayName(providerType) + "はAPIキーなしで利用できます。");
+            return;
+        }
         boolean hasKey = providerContextStore.hasApiKey(providerType);
         updateStatus(hasKey ? providerDisplayName(providerType) + "のAPIキーが設定されています。"
                 : providerDisplayName(providerType) + "のAPIキーは未設定です。");
@@ -284,6 +302,18 @@ public class SettingsController {
                 .orElse(providerType.getDisplayName());
     }
 
+    /**
+     * プロバイダの利用に API キーが必要か判定します。
+     *
+     * @param providerType プロバイダ種別
+     * @return API キーが必要なら true
+     */
+    private boolean requiresApiKey(ProviderType providerType) {
+        return strategyRegistry.findProvider(providerType)
+                .map(CharacterGenerationProvider::requiresApiKey)
+                .orElse(true);
+    }
+
     /**
      * 設定画面を閉じます。
      */
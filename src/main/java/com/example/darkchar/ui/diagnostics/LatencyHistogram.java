@@ -0,0 +1,112 @@
+package com.example.darkchar.ui.diagnostics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 所要時間の分布を、2 のべき乗ミリ秒の区間ごとの件数として集計します。
+ * <p>
+ * 区間は「1 ms 未満」「1〜2 ms」「2〜4 ms」…「4096 ms 以上」の 14 個です。記録はロックを取らないため、
+ * FX スレッドから呼び出しても待たされません。パーセンタイルは該当する区間の上限で近似します。
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKET_COUNT = 14;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * 所要時間を 1 件記録します。
+     *
+     * @param nanos 所要時間（ナノ秒）
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        buckets.incrementAndGet(bucketOf(value));
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * 現在の集計内容を取得します。記録と並行して呼び出した場合、件数と合計がわずかにずれることがあります。
+     *
+     * @return 集計内容
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        return new Snapshot(count, totalNanos.sum(), maxNanos.get(), counts);
+    }
+
+    /**
+     * 区間 {@code i} の上限（ミリ秒）を返します。最後の区間には上限がないため {@link Long#MAX_VALUE} を返します。
+     *
+     * @param bucket 区間の番号
+     * @return 上限（ミリ秒）
+     */
+    static long upperBoundMillis(int bucket) {
+        return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    private static int bucketOf(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (millis == 0) {
+            return 0;
+        }
+        // 1 ms 以上は 2 のべき乗で区切る（1〜2 ms が区間 1）
+        int bucket = 64 - Long.numberOfLeadingZeros(millis);
+        return Math.min(bucket, BUCKET_COUNT - 1);
+    }
+
+    /**
+     * ある時点の集計内容です。
+     *
+     * @param count      件数
+     * @param totalNanos 所要時間の合計（ナノ秒）
+     * @param maxNanos   最大の所要時間（ナノ秒）
+     * @param buckets    区間ごとの件数
+     */
+    public record Snapshot(long count, long totalNanos, long maxNanos, long[] buckets) {
+
+        /**
+         * 指定した割合の件数が収まる区間の上限を返します。最後の区間に該当する場合は最大値を返します。
+         *
+         * @param fraction 割合（0 より大きく 1 以下）
+         * @return 近似したパーセンタイル（ミリ秒）
+         */
+        public long percentileMillis(double fraction) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(count * fraction);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    long bound = upperBoundMillis(i);
+                    return bound == Long.MAX_VALUE ? TimeUnit.NANOSECONDS.toMillis(maxNanos) : bound;
+                }
+            }
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos);
+        }
+
+        /**
+         * 件数・平均・p50・p99・最大を 1 行にまとめます。
+         *
+         * @return 表示文字列
+         */
+        public String summary() {
+            double meanMillis = count == 0 ? 0 : totalNanos / 1_000_000.0 / count;
+            return String.format("n=%d 平均=%.1fms p50≦%dms p99≦%dms 最大=%dms", count, meanMillis,
+                    percentileMillis(0.5), percentileMillis(0.99), TimeUnit.NANOSECONDS.toMillis(maxNanos));
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.darkchar.ui.diagnostics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javafx.application.Platform;
+import javafx.event.ActionEvent;
+import javafx.event.Event;
+import javafx.event.EventDispatchChain;
+import javafx.event.EventDispatcher;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Labeled;
+import javafx.stage.Window;
+
+/**
+ * FX スレッドの停止を検出し、画面の応答性に関する計測値を集計します。
+ * <p>
+ * 監視スレッドが一定間隔でパルスを要求し、メインシーンのパルスリスナーがパルスの遅れを記録します。
+ * パルスの間隔そのものは要求間隔でほぼ決まってしまうため、要求間隔を超えた分だけを遅れとして集計します。
+ * FX スレッドが処理に掛かりきりになるとパルスが来なくなるため、最後のパルスからしきい値を超えた時点で
+ * FX スレッドのスタックを採取してログへ書きます。停止中に採取するので、固まっている箇所がそのまま分かります。
+ * <p>
+ * {@link #instrument(Window, String)} したウィンドウでは、{@link ActionEvent} の配送（コントローラーの
+ * イベントハンドラの実行）に掛かった時間を、ウィンドウ名と発生元のコントロールごとに集計します。
+ * ハンドラ内で {@code showAndWait} などの入れ子のイベントループに入った場合は、ユーザーの操作待ちの時間を
+ * 含んでしまうため集計しません（配送中にパルスが来たかどうかで判定します）。
+ * <p>
+ * 停止の記録と定期的な集計結果は専用のロガーへ出力し、{@code logback-spring.xml} でローテーションする
+ * ファイルへ書き出します。診断ダイアログには {@link #report()} の内容を表示します。
+ */
+@Component
+public class UiLatencyMonitor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(UiLatencyMonitor.class);
+    private static final int MAX_RECENT_STALLS = 20;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final boolean enabled;
+    private final long stallThresholdNanos;
+    private final long probeIntervalMillis;
+    private final long probeIntervalNanos;
+    private final long summaryIntervalNanos;
+    private final LatencyHistogram pulseLateness = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> handlerDurations = new ConcurrentHashMap<>();
+    private final Deque<StallReport> recentStalls = new ArrayDeque<>();
+    private final AtomicReference<StallCapture> pendingStall = new AtomicReference<>();
+    private volatile Thread fxThread;
+    private volatile Thread watchdog;
+    private volatile long lastPulseNanos;
+    private volatile long pulseCount;
+
+    /**
+     * 設定値を注入します。監視は {@link #start(Scene)} で開始します。
+     *
+     * @param enabled              監視を行うかどうか
+     * @param stallThresholdMillis 停止とみなすパルス間隔（ミリ秒）
+     * @param probeIntervalMillis  監視スレッドがパルスを要求する間隔（ミリ秒）
+     * @param summaryIntervalMinutes 集計結果をログへ書く間隔（分）
+     */
+    public UiLatencyMonitor(@Value("${darkchar.diagnostics.enabled:true}") boolean enabled,
+            @Value("${darkchar.diagnostics.stall-threshold-ms:500}") long stallThresholdMillis,
+            @Value("${darkchar.diagnostics.probe-interval-ms:100}") long probeIntervalMillis,
+            @Value("${darkchar.diagnostics.summary-interval-minutes:10}") long summaryIntervalMinutes) {
+        if (stallThresholdMillis <= 0 || probeIntervalMillis <= 0 || summaryIntervalMinutes <= 0) {
+            throw new IllegalArgumentException("diagnostics intervals must be positive");
+        }
+        this.enabled = enabled;
+        this.stallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(stallThresholdMillis);
+        this.probeIntervalMillis = probeIntervalMillis;
+        this.probeIntervalNanos = TimeUnit.MILLISECONDS.toNanos(probeIntervalMillis);
+        this.summaryIntervalNanos = TimeUnit.MINUTES.toNanos(summaryIntervalMinutes);
+    }
+
+    /**
+     * メインシーンのパルスの監視を開始します。FX スレッドから一度だけ呼び出してください。
+     *
+     * @param mainScene パルスを観測するシーン
+     */
+    public void start(Scene mainScene) {
+        if (!enabled || watchdog != null) {
+            return;
+        }
+        fxThread = Thread.currentThread();
+        lastPulseNanos = System.nanoTime();
+        mainScene.addPreLayoutPulseListener(this::onPulse);
+        watchdog = Thread.ofPlatform().name("fx-stall-watchdog").daemon().start(this::watchLoop);
+        logger.info("FX stall watchdog started (threshold {} ms, probe interval {} ms).",
+                TimeUnit.NANOSECONDS.toMillis(stallThresholdNanos), probeIntervalMillis);
+    }
+
+    /**
+     * ウィンドウ内のアクションイベントの処理時間を集計するようにします。
+     * ウィンドウの既存のイベントディスパッチャーを包むため、ウィンドウの作成後に一度だけ呼び出してください。
+     *
+     * @param window 対象のウィンドウ
+     * @param name   集計に使うウィンドウ名
+     */
+    public void instrument(Window window, String name) {
+        if (!enabled) {
+            return;
+        }
+        EventDispatcher original = window.getEventDispatcher();
+        window.setEventDispatcher(new TimingEventDispatcher(original, name));
+    }
+
+    /**
+     * 現在の集計結果と直近の停止の記録を文章にまとめます。
+     *
+     * @return 診断レポート
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        if (!enabled) {
+            return "診断は無効です（darkchar.diagnostics.enabled=false）。";
+        }
+        report.append("FX パルスの遅れ（要求間隔 ").append(probeIntervalMillis).append(" ms を超えた分）: ")
+                .append(pulseLateness.snapshot().summary()).append('\n');
+        report.append("停止とみなすしきい値: ").append(TimeUnit.NANOSECONDS.toMillis(stallThresholdNanos))
+                .append(" ms\n\n");
+
+        report.append("イベント処理時間:\n");
+        Map<String, LatencyHistogram> sorted = new TreeMap<>(handlerDurations);
+        if (sorted.isEmpty()) {
+            report.append("  （記録なし）\n");
+        }
+        sorted.forEach((key, histogram) -> report.append("  ").append(key).append("  ")
+                .append(histogram.snapshot().summary()).append('\n'));
+
+        List<StallReport> stalls;
+        synchronized (recentStalls) {
+            stalls = new ArrayList<>(recentStalls);
+        }
+        report.append("\n直近の停止（最大 ").append(MAX_RECENT_STALLS).append(" 件）:\n");
+        if (stalls.isEmpty()) {
+            report.append("  （記録なし）\n");
+        }
+        for (StallReport stall : stalls) {
+            report.append("  ").append(formatTime(stall.detectedAt())).append("  ")
+                    .append(stall.duration().toMillis()).append(" ms\n")
+                    .append(stall.stackTrace());
+        }
+        return report.toString();
+    }
+
+    /**
+     * 監視スレッドを停止し、最後の集計結果をログへ書きます。
+     */
+    @Override
+    public void destroy() {
+        Thread thread = watchdog;
+        if (thread != null) {
+            thread.interrupt();
+            logger.info("UI diagnostics summary at shutdown:\n{}", report());
+        }
+    }
+
+    private void onPulse() {
+        long now = System.nanoTime();
+        // 監視スレッドの要求より早く来たパルス（アニメーションや入力によるもの）は遅れなしとして数える
+        pulseLateness.record(Math.max(0L, now - lastPulseNanos - probeIntervalNanos));
+        StallCapture stall = pendingStall.getAndSet(null);
+        if (stall != null) {
+            Duration duration = Duration.ofNanos(now - stall.lastPulseNanos());
+            logger.warn("FX thread stall ended after {} ms.", duration.toMillis());
+            synchronized (recentStalls) {
+                if (recentStalls.size() == MAX_RECENT_STALLS) {
+                    recentStalls.removeFirst();
+                }
+                recentStalls.addLast(new StallReport(stall.detectedAt(), duration, stall.stackTrace()));
+            }
+        }
+        lastPulseNanos = now;
+        pulseCount++;
+    }
+
+    private void watchLoop() {
+        long lastSummary = System.nanoTime();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                TimeUnit.MILLISECONDS.sleep(probeIntervalMillis);
+                long last = lastPulseNanos;
+                long now = System.nanoTime();
+                if (now - last > stallThresholdNanos && pendingStall.get() == null) {
+                    captureStall(last, now);
+                }
+                // 何も変化がなくてもパルスを起こし、FX スレッドが応答できるかを確かめる
+                Platform.requestNextPulse();
+                if (now - lastSummary > summaryIntervalNanos) {
+                    lastSummary = now;
+                    logger.info("UI diagnostics summary:\n{}", report());
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void captureStall(long last, long now) {
+        StringBuilder stack = new StringBuilder();
+        for (StackTraceElement element : fxThread.getStackTrace()) {
+            stack.append("    at ").append(element).append('\n');
+        }
+        if (lastPulseNanos != last) {
+            // 採取している間にパルスが来た場合は停止ではない
+            return;
+        }
+        StallCapture capture = new StallCapture(Instant.now(), last, stack.toString());
+        if (pendingStall.compareAndSet(null, capture)) {
+            logger.warn("FX thread has not pulsed for {} ms. Stack of {}:\n{}",
+                    TimeUnit.NANOSECONDS.toMillis(now - last), fxThread.getName(), capture.stackTrace());
+        }
+    }
+
+    private void recordHandler(String key, long nanos) {
+        handlerDurations.computeIfAbsent(key, k -> new LatencyHistogram()).record(nanos);
+        if (nanos > stallThresholdNanos) {
+            logger.warn("Event handler {} took {} ms.", key, TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    private static String formatTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault()).format(TIME_FORMAT);
+    }
+
+    /**
+     * イベントの発生元を集計用の名前にします。fx:id があればそれを、なければボタンの文言やクラス名を使います。
+     */
+    private static String describeTarget(Event event) {
+        Object target = event.getTarget();
+        if (target instanceof Node node && node.getId() != null) {
+            return "#" + node.getId();
+        }
+        if (target instanceof Labeled labeled && labeled.getText() != null && !labeled.getText().isBlank()) {
+            return labeled.getText();
+        }
+        return target == null ? "?" : target.getClass().getSimpleName();
+    }
+
+    /**
+     * ウィンドウのイベント配送を包み、アクションイベントの配送時間を計ります。
+     * ウィンドウのディスパッチャーは配送経路の先頭にあるため、経路上のすべてのハンドラの実行時間を含みます。
+     */
+    private final class TimingEventDispatcher implements EventDispatcher {
+
+        private final EventDispatcher delegate;
+        private final String windowName;
+
+        TimingEventDispatcher(EventDispatcher delegate, String windowName) {
+            this.delegate = delegate;
+            this.windowName = windowName;
+        }
+
+        @Override
+        public Event dispatchEvent(Event event, EventDispatchChain tail) {
+            if (event.getEventType() != ActionEvent.ACTION) {
+                return delegate.dispatchEvent(event, tail);
+            }
+            long pulsesBefore = pulseCount;
+            long started = System.nanoTime();
+            try {
+                return delegate.dispatchEvent(event, tail);
+            } finally {
+                long elapsed = System.nanoTime() - started;
+                // 配送中にパルスが来たなら入れ子のイベントループに入っていたので、処理時間として数えない
+                if (pulseCount == pulsesBefore) {
+                    recordHandler(windowName + ":" + describeTarget(event), elapsed);
+                }
+            }
+        }
+    }
+
+    /**
+     * 停止を検出した時点で採取した情報です。
+     */
+    private record StallCapture(Instant detectedAt, long lastPulseNanos, String stackTrace) {
+    }
+
+    /**
+     * 終わった停止の記録です。
+     */
+    private record StallReport(Instant detectedAt, Duration duration, String stackTrace) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.darkchar.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * REST API の例外をレスポンスに変換します。入力の誤り（{@link IllegalArgumentException}）は 400 として、
+ * 生成サービスの検証メッセージをそのまま返します。
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * 入力の誤りを 400 Bad Request に変換します。
+     *
+     * @param ex 発生した例外
+     * @return 問題の詳細
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgument(IllegalArgumentException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.darkchar.web;
+
+import java.util.List;
+
+/**
+ * 複数のキャラクターをまとめて生成するリクエストです。
+ *
+ * @param requests 生成リクエスト
+ */
+public record BatchRequest(List<CharacterRequest> requests) {
+}
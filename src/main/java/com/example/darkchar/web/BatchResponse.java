@@ -0,0 +1,21 @@
+package com.example.darkchar.web;
+
+import java.util.List;
+
+/**
+ * まとめて生成した結果です。結果はリクエストと同じ順に並びます。
+ *
+ * @param results 各リクエストの結果
+ */
+public record BatchResponse(List<Item> results) {
+
+    /**
+     * 1 件分の結果です。成功した場合は {@code character}、失敗した場合は {@code error} だけを設定します。
+     *
+     * @param index     リクエスト内の位置
+     * @param character 生成結果
+     * @param error     失敗した理由
+     */
+    public record Item(int index, CharacterResponse character, String error) {
+    }
+}
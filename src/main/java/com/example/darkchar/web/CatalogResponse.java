@@ -0,0 +1,82 @@
+package com.example.darkchar.web;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.DarknessPreset;
+import com.example.darkchar.domain.WorldGenre;
+import com.example.darkchar.service.AttributeCatalog;
+
+/**
+ * 属性マスタ API のレスポンスです。生成リクエストで指定できる値の一覧を返します。
+ *
+ * @param worldGenres     世界観ジャンル
+ * @param options         カテゴリごとの属性
+ * @param darknessPresets 闇堕ち度のプリセット
+ */
+public record CatalogResponse(
+        List<Genre> worldGenres,
+        Map<AttributeCategory, List<Option>> options,
+        List<Preset> darknessPresets) {
+
+    /**
+     * 属性マスタのスナップショットからレスポンスを作ります。
+     *
+     * @param catalog 属性マスタ
+     * @return レスポンス
+     */
+    static CatalogResponse from(AttributeCatalog catalog) {
+        Map<AttributeCategory, List<Option>> options = new EnumMap<>(AttributeCategory.class);
+        catalog.optionsByCategory().forEach((category, list) -> options.put(category,
+                list.stream().map(Option::from).toList()));
+        return new CatalogResponse(
+                catalog.worldGenres().stream().map(Genre::from).toList(),
+                options,
+                Arrays.stream(DarknessPreset.values()).map(Preset::from).toList());
+    }
+
+    /**
+     * 世界観ジャンルです。
+     *
+     * @param id   ID
+     * @param name 名称
+     */
+    public record Genre(Long id, String name) {
+
+        static Genre from(WorldGenre genre) {
+            return new Genre(genre.id(), genre.name());
+        }
+    }
+
+    /**
+     * 属性です。
+     *
+     * @param id          ID
+     * @param name        名称
+     * @param description 説明
+     */
+    public record Option(Long id, String name, String description) {
+
+        static Option from(AttributeOption option) {
+            return new Option(option.id(), option.name(), option.description());
+        }
+    }
+
+    /**
+     * 闇堕ち度のプリセットです。
+     *
+     * @param value       値（パーセント）
+     * @param label       ラベル
+     * @param description 説明
+     */
+    public record Preset(int value, String label, String description) {
+
+        static Preset from(DarknessPreset preset) {
+            return new Preset(preset.getValue(), preset.getLabel(), preset.getDescription());
+        }
+    }
+}
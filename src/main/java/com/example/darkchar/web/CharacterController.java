@@ -0,0 +1,172 @@
+package com.example.darkchar.web;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.service.AttributeCatalog;
+import com.example.darkchar.service.AttributeQueryService;
+import com.example.darkchar.service.CharacterGenerationService;
+import com.example.darkchar.service.GenerationResult;
+
+/**
+ * キャラクター生成と属性マスタを REST API として公開します。
+ * <p>
+ * 生成はプロバイダの応答を待つ間ブロックしますが、リクエストは仮想スレッドで処理するため、待っている間も
+ * プラットフォームスレッドを占有しません。まとめて生成する場合も、1 件ごとに仮想スレッドを割り当てて並行に生成します。
+ * 生成途中の文章を受け取りたい場合は、{@code /characters/stream} で Server-Sent Events として配信します
+ * （{@link CharacterEventStreams}）。
+ */
+@RestController
+public class CharacterController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CharacterController.class);
+
+    private final CharacterGenerationService characterGenerationService;
+    private final AttributeQueryService attributeQueryService;
+    private final CharacterEventStreams eventStreams;
+    private final int maxBatchSize;
+
+    /**
+     * 依存サービスと設定値を注入します。
+     *
+     * @param characterGenerationService 生成サービス
+     * @param attributeQueryService      属性取得サービス
+     * @param eventStreams               生成途中の文章の配信
+     * @param maxBatchSize               まとめて生成できる最大件数
+     */
+    public CharacterController(CharacterGenerationService characterGenerationService,
+            AttributeQueryService attributeQueryService, CharacterEventStreams eventStreams,
+            @Value("${darkchar.server.max-batch-size:50}") int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.characterGenerationService = characterGenerationService;
+        this.attributeQueryService = attributeQueryService;
+        this.eventStreams = eventStreams;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * 属性マスタを返します。
+     *
+     * @return 世界観ジャンル・属性・闇堕ち度プリセットの一覧
+     */
+    @GetMapping("/catalog")
+    public CatalogResponse catalog() {
+        return CatalogResponse.from(attributeQueryService.catalog());
+    }
+
+    /**
+     * キャラクターを 1 件生成します。
+     *
+     * @param request 生成リクエスト
+     * @return 生成結果
+     */
+    @PostMapping("/characters")
+    public CharacterResponse generate(@RequestBody CharacterRequest request) {
+        return CharacterResponse.from(generate(request, attributeQueryService.catalog()));
+    }
+
+    /**
+     * キャラクターを 1 件生成し、生成途中の文章を Server-Sent Events で配信します。
+     * 入力の誤りは配信を始める前に検出し、{@link #generate(CharacterRequest)} と同じく 400 として返します。
+     *
+     * @param request 生成リクエスト
+     * @return 配信する接続
+     */
+    @PostMapping(value = "/characters/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestBody CharacterRequest request) {
+        return openStream(request);
+    }
+
+    /**
+     * {@link #stream(CharacterRequest)} のクエリパラメーター版です。ブラウザの {@code EventSource} から接続できます。
+     *
+     * @param request クエリパラメーターから組み立てた生成リクエスト
+     * @return 配信する接続
+     */
+    @GetMapping(value = "/characters/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamByQuery(CharacterRequest request) {
+        return openStream(request);
+    }
+
+    /**
+     * 複数のキャラクターを並行して生成します。1 件の失敗は他の生成に影響せず、その件の {@code error} に理由を設定します。
+     *
+     * @param request まとめて生成するリクエスト
+     * @return リクエストと同じ順の結果
+     * @throws InterruptedException 生成の完了を待つ間に割り込まれた場合
+     */
+    @PostMapping("/characters/batch")
+    public BatchResponse generateBatch(@RequestBody BatchRequest request) throws InterruptedException {
+        List<CharacterRequest> requests = request == null || request.requests() == null
+                ? List.of() : request.requests();
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("requests を1件以上指定してください。");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("一度に生成できるのは" + maxBatchSize + "件までです。");
+        }
+        // 全件で同じ版の属性マスタを使う
+        AttributeCatalog catalog = attributeQueryService.catalog();
+        List<BatchResponse.Item> results = new ArrayList<>(requests.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<GenerationResult>> futures = new ArrayList<>(requests.size());
+            for (CharacterRequest item : requests) {
+                futures.add(executor.submit(() -> generate(item, catalog)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(toItem(i, futures.get(i)));
+            }
+        }
+        return new BatchResponse(results);
+    }
+
+    private SseEmitter openStream(CharacterRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("リクエストが空です。");
+        }
+        AttributeCatalog catalog = attributeQueryService.catalog();
+        CharacterInput input = request.toInput(catalog);
+        DarknessSelection selection = request.toSelection(catalog);
+        // 配信を始めると 200 を返してしまうため、入力の検証はその前に済ませる
+        characterGenerationService.validate(input, selection);
+        return eventStreams.open(input, selection, request.provider());
+    }
+
+    private GenerationResult generate(CharacterRequest request, AttributeCatalog catalog) {
+        if (request == null) {
+            throw new IllegalArgumentException("リクエストが空です。");
+        }
+        return characterGenerationService.generate(request.toInput(catalog), request.toSelection(catalog),
+                request.provider());
+    }
+
+    private static BatchResponse.Item toItem(int index, Future<GenerationResult> future) throws InterruptedException {
+        try {
+            return new BatchResponse.Item(index, CharacterResponse.from(future.get()), null);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+            if (!(cause instanceof IllegalArgumentException)) {
+                logger.warn("Batch item {} failed", index, cause);
+            }
+            return new BatchResponse.Item(index, null, String.valueOf(cause.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.darkchar.web;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.service.CharacterGenerationService;
+import com.example.darkchar.service.GenerationResult;
+import com.example.darkchar.service.ai.ProviderType;
+
+/**
+ * 生成中の文章を Server-Sent Events で配信します。
+ * <p>
+ * 接続はサーブレットの非同期処理として保持するため、リクエストスレッドはすぐに解放されます。生成は接続ごとに
+ * 仮想スレッドで実行し、プロバイダから届いたデルタを {@code delta} イベントとしてそのまま送ります。
+ * 生成が終わったら、プロバイダで生成できた場合は {@code done}、ローカル生成へフォールバックした場合は
+ * {@code fallback} イベントで最終的な結果を 1 回だけ送ります（フォールバック時はそれまでのデルタを破棄して
+ * この文章に置き換えてください）。入力の誤りなどで生成できなかった場合は {@code error} イベントを送ります。
+ * <p>
+ * 無通信の接続がプロキシに切られないよう、開いているすべての接続へ 1 本のスレッドから定期的にコメント行を送ります。
+ * 送信に失敗した接続（クライアントの切断）は閉じたものとして扱い、次のデルタを受け取った時点で
+ * {@link CancellationException} を投げてプロバイダのストリームを閉じます。
+ */
+@Component
+public class CharacterEventStreams implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CharacterEventStreams.class);
+
+    private final CharacterGenerationService characterGenerationService;
+    private final Duration heartbeatInterval;
+    private final Duration timeout;
+    private final Set<EventStream> openStreams = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService heartbeat;
+
+    /**
+     * 生成サービスと設定値を注入します。
+     *
+     * @param characterGenerationService 生成サービス
+     * @param heartbeatSeconds           ハートビートを送る間隔（秒）
+     * @param timeoutMinutes             1 接続を保持する上限（分）
+     */
+    public CharacterEventStreams(CharacterGenerationService characterGenerationService,
+            @Value("${darkchar.server.sse.heartbeat-seconds:15}") long heartbeatSeconds,
+            @Value("${darkchar.server.sse.timeout-minutes:10}") long timeoutMinutes) {
+        if (heartbeatSeconds <= 0 || timeoutMinutes <= 0) {
+            throw new IllegalArgumentException("heartbeatSeconds and timeoutMinutes must be positive");
+        }
+        this.characterGenerationService = characterGenerationService;
+        this.heartbeatInterval = Duration.ofSeconds(heartbeatSeconds);
+        this.timeout = Duration.ofMinutes(timeoutMinutes);
+    }
+
+    /**
+     * 生成を開始し、その経過を配信する接続を返します。
+     *
+     * @param input     入力情報
+     * @param selection 闇堕ち選択
+     * @param provider  利用するプロバイダ（{@code null} の場合は設定中のプロバイダ）
+     * @return 接続
+     */
+    SseEmitter open(CharacterInput input, DarknessSelection selection, ProviderType provider) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        EventStream stream = new EventStream(emitter);
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(error -> stream.close());
+        openStreams.add(stream);
+        ensureHeartbeat();
+        Thread.ofVirtual().name("sse-generation").start(() -> generate(stream, input, selection, provider));
+        return emitter;
+    }
+
+    /**
+     * 開いている接続の数を返します。
+     *
+     * @return 接続数
+     */
+    int openStreamCount() {
+        return openStreams.size();
+    }
+
+    /**
+     * ハートビートを止め、開いている接続をすべて閉じます。
+     */
+    @Override
+    public void destroy() {
+        synchronized (this) {
+            if (heartbeat != null) {
+                heartbeat.shutdownNow();
+            }
+        }
+        openStreams.forEach(stream -> stream.emitter().complete());
+    }
+
+    private void generate(EventStream stream, CharacterInput input, DarknessSelection selection,
+            ProviderType provider) {
+        try {
+            GenerationResult result = characterGenerationService.generateStreaming(input, selection, provider,
+                    delta -> stream.send(SseEmitter.event().name("delta")
+                            .data(new Delta(delta), MediaType.APPLICATION_JSON)));
+            stream.send(SseEmitter.event().name(result.usedProvider() ? "done" : "fallback")
+                    .data(CharacterResponse.from(result), MediaType.APPLICATION_JSON));
+            stream.emitter().complete();
+        } catch (CancellationException ex) {
+            logger.debug("SSE client disconnected; generation stopped.");
+        } catch (IllegalArgumentException ex) {
+            sendError(stream, ex.getMessage());
+        } catch (RuntimeException ex) {
+            logger.warn("Streaming generation failed", ex);
+            sendError(stream, "生成中にエラーが発生しました: " + ex.getMessage());
+        } finally {
+            openStreams.remove(stream);
+        }
+    }
+
+    private static void sendError(EventStream stream, String message) {
+        try {
+            stream.send(SseEmitter.event().name("error").data(new ErrorEvent(message), MediaType.APPLICATION_JSON));
+            stream.emitter().complete();
+        } catch (CancellationException ex) {
+            logger.debug("SSE client disconnected before the error was sent.");
+        }
+    }
+
+    private synchronized void ensureHeartbeat() {
+        if (heartbeat != null) {
+            return;
+        }
+        heartbeat = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("sse-heartbeat").daemon().factory());
+        long period = heartbeatInterval.toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private void sendHeartbeats() {
+        for (EventStream stream : openStreams) {
+            try {
+                stream.send(SseEmitter.event().comment("heartbeat"));
+            } catch (CancellationException ex) {
+                // 切断を検出した。生成スレッドが次のデルタで中断する
+                openStreams.remove(stream);
+            }
+        }
+    }
+
+    /**
+     * 1 接続分の送信口です。送信に失敗したら閉じたものとして扱い、以降の送信は {@link CancellationException} にします。
+     *
+     * @param emitter 接続
+     */
+    private record EventStream(SseEmitter emitter, AtomicBoolean closed) {
+
+        EventStream(SseEmitter emitter) {
+            this(emitter, new AtomicBoolean());
+        }
+
+        void send(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                throw new CancellationException("SSE client disconnected");
+            }
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException ex) {
+                close();
+                throw new CancellationException("SSE client disconnected");
+            }
+        }
+
+        void close() {
+            closed.set(true);
+        }
+    }
+
+    /**
+     * {@code delta} イベントの内容です。
+     *
+     * @param text 追加された文章
+     */
+    record Delta(String text) {
+    }
+
+    /**
+     * {@code error} イベントの内容です。
+     *
+     * @param detail 理由
+     */
+    record ErrorEvent(String detail) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.darkchar.web;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.DarknessPreset;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.domain.InputMode;
+import com.example.darkchar.domain.WorldGenre;
+import com.example.darkchar.service.AttributeCatalog;
+import com.example.darkchar.service.ai.ProviderType;
+
+/**
+ * キャラクター生成 API のリクエストです。属性は {@code GET /catalog} で得られる ID で指定します。
+ * 省略した項目は画面の初期値（オート・主人公寄り度 3・闇堕ち度 100%・設定中のプロバイダ）を使います。
+ *
+ * @param mode              入力モード
+ * @param worldGenre        世界観ジャンル名（カタログにない名称も指定できます）
+ * @param characterTraitIds キャラクター属性の ID
+ * @param traitFreeText     キャラクター属性の自由記述
+ * @param protagonistScore  主人公寄り度（1〜5）
+ * @param darknessOptionIds 闇堕ちカテゴリの属性の ID
+ * @param darknessLevel     闇堕ち度（50〜250 の 50 刻み）
+ * @param darknessFreeText  闇堕ちメモ
+ * @param provider          利用するプロバイダ
+ */
+public record CharacterRequest(
+        InputMode mode,
+        String worldGenre,
+        List<Long> characterTraitIds,
+        String traitFreeText,
+        Integer protagonistScore,
+        List<Long> darknessOptionIds,
+        Integer darknessLevel,
+        String darknessFreeText,
+        ProviderType provider) {
+
+    private static final int DEFAULT_PROTAGONIST_SCORE = 3;
+
+    /**
+     * 生成サービスへ渡す入力情報に変換します。
+     *
+     * @param catalog 属性マスタ
+     * @return 入力情報
+     * @throws IllegalArgumentException 未知の属性 ID やキャラクター属性以外の ID を指定した場合
+     */
+    CharacterInput toInput(AttributeCatalog catalog) {
+        String genreName = worldGenre == null ? "" : worldGenre.trim();
+        WorldGenre genre = genreName.isEmpty() ? null : catalog.worldGenres().stream()
+                .filter(candidate -> candidate.name().equals(genreName))
+                .findFirst()
+                .orElseGet(() -> new WorldGenre(null, genreName));
+        List<AttributeOption> traits = resolve(catalog, characterTraitIds);
+        for (AttributeOption option : traits) {
+            if (option.category() != AttributeCategory.CHARACTER_TRAIT) {
+                throw new IllegalArgumentException("キャラクター属性ではない ID です: " + option.id());
+            }
+        }
+        return new CharacterInput(
+                mode == null ? InputMode.AUTO : mode,
+                genre,
+                traits,
+                traitFreeText == null ? "" : traitFreeText,
+                protagonistScore == null ? DEFAULT_PROTAGONIST_SCORE : protagonistScore,
+                darknessFreeText == null ? "" : darknessFreeText);
+    }
+
+    /**
+     * 生成サービスへ渡す闇堕ち選択に変換します。
+     *
+     * @param catalog 属性マスタ
+     * @return 闇堕ち選択
+     * @throws IllegalArgumentException 未知の属性 ID や闇堕ち度を指定した場合
+     */
+    DarknessSelection toSelection(AttributeCatalog catalog) {
+        Map<AttributeCategory, List<AttributeOption>> selections = new EnumMap<>(AttributeCategory.class);
+        catalog.darknessOptions().keySet().forEach(category -> selections.put(category, new ArrayList<>()));
+        for (AttributeOption option : resolve(catalog, darknessOptionIds)) {
+            if (option.category() == AttributeCategory.CHARACTER_TRAIT) {
+                throw new IllegalArgumentException("闇堕ちカテゴリの属性ではない ID です: " + option.id());
+            }
+            selections.computeIfAbsent(option.category(), category -> new ArrayList<>()).add(option);
+        }
+        DarknessPreset preset = darknessLevel == null
+                ? DarknessPreset.getDefault()
+                : DarknessPreset.fromValue(darknessLevel).orElseThrow(() -> new IllegalArgumentException(
+                        "闇堕ち度は50〜250の50刻みで指定してください: " + darknessLevel));
+        return new DarknessSelection(selections, preset);
+    }
+
+    private static List<AttributeOption> resolve(AttributeCatalog catalog, List<Long> ids) {
+        if (ids == null) {
+            return List.of();
+        }
+        return ids.stream()
+                .distinct()
+                .map(id -> catalog.findById(id)
+                        .orElseThrow(() -> new IllegalArgumentException("不明な属性 ID です: " + id)))
+                .toList();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.darkchar.web;
+
+import java.time.Instant;
+
+import com.example.darkchar.service.GenerationResult;
+import com.example.darkchar.service.ai.TokenUsage;
+
+/**
+ * キャラクター生成 API のレスポンスです。
+ *
+ * @param narrative    生成した文章
+ * @param usedProvider プロバイダで生成できた場合は true（ローカル生成へフォールバックした場合は false）
+ * @param warning      フォールバックした理由などの警告（なければ {@code null}）
+ * @param prompt       プロバイダへ送ったプロンプト（なければ {@code null}）
+ * @param usage        トークン使用量（なければ {@code null}）
+ * @param generatedAt  生成日時
+ */
+public record CharacterResponse(
+        String narrative,
+        boolean usedProvider,
+        String warning,
+        String prompt,
+        Usage usage,
+        Instant generatedAt) {
+
+    /**
+     * 生成結果からレスポンスを作ります。
+     *
+     * @param result 生成結果
+     * @return レスポンス
+     */
+    static CharacterResponse from(GenerationResult result) {
+        return new CharacterResponse(
+                result.generatedCharacter().narrative(),
+                result.usedProvider(),
+                result.warningMessage().orElse(null),
+                result.prompt().orElse(null),
+                result.usage().map(Usage::from).orElse(null),
+                result.generatedCharacter().generatedAt());
+    }
+
+    /**
+     * トークン使用量です。
+     *
+     * @param promptTokens     入力のトークン数
+     * @param completionTokens 出力のトークン数
+     * @param totalTokens      合計トークン数
+     */
+    public record Usage(long promptTokens, long completionTokens, long totalTokens) {
+
+        static Usage from(TokenUsage usage) {
+            return new Usage(usage.promptTokens(), usage.completionTokens(), usage.totalTokens());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.darkchar.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.example.darkchar.ServerApplication;
+import com.example.darkchar.service.ai.AiProviderContextStore;
+import com.example.darkchar.service.ai.ProviderType;
+
+/**
+ * サーバーモードでは設定画面がないため、プロバイダの設定を {@code darkchar.server.*} から
+ * {@link AiProviderContextStore} へ反映します。API キーは既定で環境変数 {@code OPENAI_API_KEY} から読みます。
+ */
+@Component
+@Profile(ServerApplication.PROFILE)
+public class ServerProviderConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerProviderConfigurer.class);
+
+    /**
+     * 設定値をストアへ反映します。
+     *
+     * @param providerContextStore プロバイダ設定ストア
+     * @param provider             既定のプロバイダ
+     * @param openAiApiKey         OpenAI の API キー
+     * @param openAiModel          OpenAI のモデル ID
+     */
+    public ServerProviderConfigurer(AiProviderContextStore providerContextStore,
+            @Value("${darkchar.server.provider:OPENAI}") ProviderType provider,
+            @Value("${darkchar.server.openai.api-key:}") String openAiApiKey,
+            @Value("${darkchar.server.openai.model:}") String openAiModel) {
+        providerContextStore.setActiveProviderType(provider);
+        if (!openAiApiKey.isBlank()) {
+            providerContextStore.setApiKey(ProviderType.OPENAI, openAiApiKey.trim());
+        }
+        if (!openAiModel.isBlank()) {
+            providerContextStore.setSelectedModel(ProviderType.OPENAI, openAiModel.trim());
+        }
+        if (provider == ProviderType.OPENAI && openAiApiKey.isBlank()) {
+            logger.warn("OpenAI API key is not configured; generation will fall back to the local engine.");
+        }
+    }
+}
@@ -1,11 +1,60 @@
-CREATE TABLE world_genre (
+CREATE TABLE IF NOT EXISTS world_genre (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    name VARCHAR(100) NOT NULL
+    name VARCHAR(100) NOT NULL,
+    seed_resource VARCHAR(200)
 );
 
-CREATE TABLE attribute_option (
+CREATE INDEX IF NOT EXISTS idx_world_genre_seed_resource ON world_genre (seed_resource);
+
+CREATE TABLE IF NOT EXISTS attribute_option (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     category VARCHAR(64) NOT NULL,
     name VARCHAR(120) NOT NULL,
-    description VARCHAR(255) NOT NULL
+    description VARCHAR(255) NOT NULL,
+    seed_resource VARCHAR(200)
+);
+
+CREATE INDEX IF NOT EXISTS idx_attribute_option_category_id ON attribute_option (category, id);
+ALTER TABLE attribute_option ADD CONSTRAINT IF NOT EXISTS uk_attribute_option_category_name UNIQUE (category, name);
+CREATE INDEX IF NOT EXISTS idx_attribute_option_seed_resource ON attribute_option (seed_resource);
+
+CREATE TABLE IF NOT EXISTS seed_version (
+    resource VARCHAR(200) PRIMARY KEY,
+    content_hash VARCHAR(64) NOT NULL,
+    applied_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS generated_character (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    generated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    input_mode VARCHAR(16) NOT NULL,
+    world_genre VARCHAR(100) NOT NULL,
+    protagonist_score INT NOT NULL,
+    character_traits CLOB NOT NULL,
+    trait_free_text CLOB,
+    darkness_level INT NOT NULL,
+    darkness_selections CLOB NOT NULL,
+    darkness_free_text CLOB,
+    narrative CLOB NOT NULL,
+    prompt CLOB,
+    provider VARCHAR(32) NOT NULL,
+    used_provider BOOLEAN NOT NULL,
+    model VARCHAR(120),
+    prompt_tokens BIGINT,
+    completion_tokens BIGINT,
+    latency_ms BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS narrative_posting_block (
+    gram VARCHAR(4) NOT NULL,
+    first_character_id BIGINT NOT NULL,
+    document_count INT NOT NULL,
+    postings VARBINARY NOT NULL,
+    PRIMARY KEY (gram, first_character_id)
+);
+
+CREATE TABLE IF NOT EXISTS narrative_bigram_stat (
+    gram VARCHAR(4) PRIMARY KEY,
+    document_frequency BIGINT NOT NULL,
+    block_count INT NOT NULL
 );
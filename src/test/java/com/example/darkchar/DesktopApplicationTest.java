@@ -0,0 +1,58 @@
+package com.example.darkchar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.darkchar.cli.MassGenerationCommand;
+import com.example.darkchar.service.AttributeQueryService;
+import com.example.darkchar.service.ai.GenerationModelCatalog;
+import com.example.darkchar.service.ai.ProviderType;
+import com.example.darkchar.service.openai.OpenAiCharacterGenerationSdkClient;
+import com.example.darkchar.ui.controller.SettingsController;
+
+/**
+ * {@link DesktopApplication} の構成が起動時の予算に収まることを検証します。
+ */
+class DesktopApplicationTest {
+
+    /** Bean 定義数の上限。自動構成やコンポーネントを追加して超えた場合は、起動時間への影響を確認してから見直します。 */
+    private static final int MAX_BEAN_DEFINITIONS = 90;
+    private static final Duration STARTUP_BUDGET = Duration.ofSeconds(15);
+
+    /**
+     * 必要な自動構成だけで起動し、最初の画面に不要な Bean は作成しないことを確認します。
+     */
+    @Test
+    void desktopContextStartsWithinBudget() {
+        long started = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DesktopApplication.class)
+                .profiles(DesktopApplication.PROFILE)
+                .web(WebApplicationType.NONE)
+                .headless(true)
+                .run()) {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+            assertThat(context.getBeanDefinitionCount()).isLessThanOrEqualTo(MAX_BEAN_DEFINITIONS);
+            assertThat(elapsed).isLessThan(STARTUP_BUDGET);
+            assertThat(context.getBeanNamesForType(RestTemplateBuilder.class)).isEmpty();
+            assertThat(context.getBeanNamesForType(MassGenerationCommand.class)).isEmpty();
+            assertThat(context.getBean(AttributeQueryService.class).catalog().optionCount()).isPositive();
+
+            assertThat(context.getBean(OpenAiCharacterGenerationSdkClient.class)).isNotNull();
+            assertThat(context.getBeanFactory().containsSingleton("openAiClientFactory")).isFalse();
+            assertThat(context.getBeanFactory().containsSingleton("generationModelCatalog")).isFalse();
+            assertThat(context.getBeanFactory().containsSingleton("settingsController")).isFalse();
+
+            context.getBean(SettingsController.class);
+            assertThat(context.getBeanFactory().containsSingleton("generationModelCatalog")).isTrue();
+            assertThat(context.getBean(GenerationModelCatalog.class).listModels(ProviderType.OPENAI)).isNotEmpty();
+        }
+    }
+}
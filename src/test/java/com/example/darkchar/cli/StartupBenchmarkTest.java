@@ -0,0 +1,42 @@
+package com.example.darkchar.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link StartupBenchmark} の計測結果の読み取りと集計を検証します。
+ */
+class StartupBenchmarkTest {
+
+    /**
+     * プローブの行だけを指標として読み取り、出力順を維持することを確認します。
+     */
+    @Test
+    void parsesProbeLines() {
+        assertThat(StartupBenchmark.parseProbeLine("12:00:00 INFO Started application")).isEmpty();
+        assertThat(StartupBenchmark.parseProbeLine(
+                StartupBenchmark.PROBE_PREFIX + "first-frame=410 main-view=1520 spring-context=980"))
+                .hasValueSatisfying(metrics -> assertThat(metrics).containsExactly(
+                        Map.entry("first-frame", 410L), Map.entry("main-view", 1520L),
+                        Map.entry("spring-context", 980L)));
+    }
+
+    /**
+     * 指標ごとに最小・中央値・平均・最大を求め、一部の起動にしかない指標も集計することを確認します。
+     */
+    @Test
+    void summarizesEachMetric() {
+        Map<String, StartupBenchmark.Stats> summary = StartupBenchmark.summarize(List.of(
+                Map.of("first-frame", 400L),
+                Map.of("first-frame", 300L, "json-seed", 50L),
+                Map.of("first-frame", 500L),
+                Map.of("first-frame", 1000L)));
+
+        assertThat(summary.get("first-frame")).isEqualTo(new StartupBenchmark.Stats(4, 300, 450.0, 550.0, 1000));
+        assertThat(summary.get("json-seed")).isEqualTo(new StartupBenchmark.Stats(1, 50, 50.0, 50.0, 50));
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.darkchar.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.WorldGenre;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link CatalogSnapshotCompiler} で作ったスナップショットの読み込みと、{@link JsonSeedLoader} との連携を検証します。
+ */
+class CatalogSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * メモリマップで読んだ内容が JSON から投入した内容と一致することを確認します。
+     *
+     * @throws Exception 変換・投入失敗時
+     */
+    @Test
+    void compiledSnapshotMatchesJsonSeeding() throws Exception {
+        Path snapshotFile = compile();
+        JdbcTemplate jdbcTemplate = newDatabase();
+        new JsonSeedLoader(new ObjectMapper(), jdbcTemplate).run(new DefaultApplicationArguments());
+
+        CatalogSnapshot snapshot = CatalogSnapshot.map(snapshotFile);
+
+        assertThat(snapshot.worldGenres()).extracting(WorldGenre::name)
+                .containsExactlyElementsOf(jdbcTemplate.queryForList(
+                        "SELECT name FROM world_genre ORDER BY id", String.class));
+        assertThat(snapshot.worldGenres())
+                .allSatisfy(genre -> assertThat(genre.id()).isEqualTo(CatalogSnapshot.bundledGenreId(genre.name())));
+        List<Map<String, Object>> seeded = jdbcTemplate.queryForList(
+                "SELECT category, name, description FROM attribute_option ORDER BY id");
+        assertThat(snapshot.options()).hasSize(seeded.size());
+        for (int i = 0; i < seeded.size(); i++) {
+            AttributeOption option = snapshot.options().get(i);
+            assertThat(option.id()).isEqualTo(CatalogSnapshot.bundledOptionId(option.category(), option.name()))
+                    .isGreaterThanOrEqualTo(CatalogSnapshot.BUNDLED_ID_BASE);
+            assertThat(Map.<String, Object>of("CATEGORY", option.category().name(), "NAME", option.name(),
+                    "DESCRIPTION", option.description())).isEqualTo(seeded.get(i));
+        }
+    }
+
+    /**
+     * スナップショットがある場合は同梱シードを投入せず、以前に投入した同梱シードの行を削除することを確認します。
+     *
+     * @throws Exception 変換・投入失敗時
+     */
+    @Test
+    void seedLoaderLeavesBundledDataToTheSnapshot() throws Exception {
+        Path snapshotFile = compile();
+        JdbcTemplate jdbcTemplate = newDatabase();
+        new JsonSeedLoader(new ObjectMapper(), jdbcTemplate).run(new DefaultApplicationArguments());
+        jdbcTemplate.update("INSERT INTO attribute_option (category, name, description) VALUES "
+                + "('MOTIVE', 'ユーザー定義', 'ユーザー定義')");
+
+        new JsonSeedLoader(new ObjectMapper(), jdbcTemplate, new CatalogSnapshotProvider(snapshotFile.toString()),
+                500, 1).run(new DefaultApplicationArguments());
+
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM attribute_option", String.class))
+                .containsExactly("ユーザー定義");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM world_genre", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seed_version", Long.class)).isZero();
+    }
+
+    /**
+     * シードファイルを削除したり属性を別のファイルへ移したりしても、残った属性の ID が変わらないことを確認します。
+     *
+     * @throws Exception 変換失敗時
+     */
+    @Test
+    void bundledIdsSurviveSeedReorganization() throws Exception {
+        Map<String, Long> before = optionIds(CatalogSnapshot.map(compile()));
+        Path seedDirectory = tempDir.resolve("data");
+        Path source = new ClassPathResource("data").getFile().toPath();
+        Files.createDirectories(seedDirectory.resolve("attribute-options"));
+        Files.copy(source.resolve("world-genres.json"), seedDirectory.resolve("world-genres.json"));
+        // 先頭のファイルを外し、残りのファイルを逆順に並べた1ファイルへまとめる
+        List<Path> optionFiles;
+        try (Stream<Path> files = Files.list(source.resolve("attribute-options"))) {
+            optionFiles = files.sorted(Comparator.reverseOrder()).toList();
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Object> merged = new ArrayList<>();
+        for (Path file : optionFiles.subList(0, optionFiles.size() - 1)) {
+            merged.addAll(objectMapper.readValue(file.toFile(), List.class));
+        }
+        objectMapper.writeValue(seedDirectory.resolve("attribute-options/all.json").toFile(), merged);
+        Path reorganized = tempDir.resolve("reorganized.snapshot");
+
+        CatalogSnapshotCompiler.compile(seedDirectory, reorganized);
+
+        Map<String, Long> after = optionIds(CatalogSnapshot.map(reorganized));
+        assertThat(after).isNotEmpty().hasSizeLessThan(before.size());
+        assertThat(before).containsAllEntriesOf(after);
+    }
+
+    /**
+     * 壊れたスナップショットは読み込まず、JSON の経路に任せることを確認します。
+     *
+     * @throws Exception 変換失敗時
+     */
+    @Test
+    void corruptedSnapshotIsRejected() throws Exception {
+        Path snapshotFile = compile();
+        byte[] content = Files.readAllBytes(snapshotFile);
+        content[content.length / 2] ^= 0x5A;
+        Files.write(snapshotFile, content);
+
+        assertThatThrownBy(() -> CatalogSnapshot.map(snapshotFile)).isInstanceOf(IOException.class);
+        assertThat(new CatalogSnapshotProvider(snapshotFile.toString()).snapshot()).isEmpty();
+        assertThat(new CatalogSnapshotProvider(tempDir.resolve("missing").toString()).snapshot()).isEmpty();
+    }
+
+    private static Map<String, Long> optionIds(CatalogSnapshot snapshot) {
+        return snapshot.options().stream()
+                .collect(Collectors.toMap(option -> option.category() + "/" + option.name(), AttributeOption::id));
+    }
+
+    private Path compile() throws IOException {
+        Path snapshotFile = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotCompiler.compile(new ClassPathResource("data").getFile().toPath(), snapshotFile);
+        return snapshotFile;
+    }
+
+    private static JdbcTemplate newDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:snapshot-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        return new JdbcTemplate(dataSource);
+    }
+}
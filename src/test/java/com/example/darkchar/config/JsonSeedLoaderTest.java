@@ -0,0 +1,233 @@
+package com.example.darkchar.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link JsonSeedLoader} のハッシュによる再投入の省略と差分反映を検証します。
+ */
+class JsonSeedLoaderTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private JsonSeedLoader seedLoader;
+
+    /**
+     * スキーマを適用した専用のインメモリ H2 を用意します。
+     */
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:seed-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        seedLoader = new JsonSeedLoader(new ObjectMapper(), jdbcTemplate);
+    }
+
+    /**
+     * 2回目の起動ではシードが変わっていなければ何も変更しないことを確認します。
+     *
+     * @throws Exception シード投入失敗時
+     */
+    @Test
+    void unchangedSeedsAreSkippedOnRestart() throws Exception {
+        seedLoader.run(new DefaultApplicationArguments());
+        List<Map<String, Object>> firstRows = snapshot();
+        Long versions = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seed_version", Long.class);
+
+        seedLoader.run(new DefaultApplicationArguments());
+
+        assertThat(firstRows).isNotEmpty();
+        assertThat(versions).isEqualTo(6L);
+        assertThat(snapshot()).isEqualTo(firstRows);
+    }
+
+    /**
+     * ハッシュが変わったファイルだけ差分を反映し、変わっていない行の ID を維持することを確認します。
+     *
+     * @throws Exception シード投入失敗時
+     */
+    @Test
+    void changedSeedAppliesOnlyTheDiff() throws Exception {
+        seedLoader.run(new DefaultApplicationArguments());
+        String resource = "data/attribute-options/motive.json";
+        Long revengeId = jdbcTemplate.queryForObject(
+                "SELECT id FROM attribute_option WHERE seed_resource = ? AND name = '復讐心'", Long.class, resource);
+        jdbcTemplate.update("DELETE FROM attribute_option WHERE seed_resource = ? AND name = '嫉妬'", resource);
+        jdbcTemplate.update("UPDATE attribute_option SET description = 'stale' WHERE id = ?", revengeId);
+        jdbcTemplate.update("INSERT INTO attribute_option (category, name, description, seed_resource) VALUES "
+                + "('MOTIVE', '削除済み', '削除済み', ?)", resource);
+        jdbcTemplate.update("UPDATE seed_version SET content_hash = 'stale' WHERE resource = ?", resource);
+        jdbcTemplate.update("UPDATE attribute_option SET description = 'untouched' WHERE seed_resource <> ? "
+                + "AND name = (SELECT MIN(name) FROM attribute_option WHERE seed_resource <> ?)", resource, resource);
+
+        seedLoader.run(new DefaultApplicationArguments());
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT description FROM attribute_option WHERE id = ?", String.class, revengeId))
+                .startsWith("復讐心：");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM attribute_option WHERE seed_resource = ? AND name IN ('嫉妬', '削除済み')",
+                Long.class, resource)).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM attribute_option WHERE description = 'untouched'", Long.class)).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT content_hash FROM seed_version WHERE resource = ?", String.class, resource))
+                .hasSize(64);
+    }
+
+    /**
+     * 既に別の出所で登録済みのカテゴリ・名称は一意制約違反にせず読み飛ばすことを確認します。
+     *
+     * @throws Exception シード投入失敗時
+     */
+    @Test
+    void optionsDefinedElsewhereAreSkipped() throws Exception {
+        jdbcTemplate.update("INSERT INTO attribute_option (category, name, description) VALUES "
+                + "('MOTIVE', '復讐心', 'ユーザー定義')");
+
+        seedLoader.run(new DefaultApplicationArguments());
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT description FROM attribute_option WHERE category = 'MOTIVE' AND name = '復讐心'",
+                String.class)).containsExactly("ユーザー定義");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM attribute_option WHERE seed_resource = 'data/attribute-options/motive.json'",
+                Long.class)).isPositive();
+    }
+
+    /**
+     * 属性を別のファイルへ移した場合、移動元の削除と移動先の登録が同じ起動で行われ、属性が失われないことを確認します。
+     *
+     * @throws Exception シード投入失敗時
+     */
+    @Test
+    void optionMovedBetweenResourcesIsKept() throws Exception {
+        seedLoader.run(new DefaultApplicationArguments());
+        String from = "data/attribute-options/appearance.json";
+        String to = "data/attribute-options/motive.json";
+        // appearance.json から motive.json へ「復讐心」を移したリリースを再現する
+        jdbcTemplate.update("UPDATE attribute_option SET seed_resource = ? WHERE seed_resource = ? AND name = '復讐心'",
+                from, to);
+        jdbcTemplate.update("UPDATE seed_version SET content_hash = 'stale' WHERE resource IN (?, ?)", from, to);
+
+        seedLoader.run(new DefaultApplicationArguments());
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT seed_resource FROM attribute_option WHERE category = 'MOTIVE' AND name = '復讐心'",
+                String.class)).containsExactly(to);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM seed_version WHERE resource IN (?, ?) AND content_hash <> 'stale'", Long.class,
+                from, to)).isEqualTo(2L);
+    }
+
+    /**
+     * 別の出所と重複して登録できなかった属性があるファイルは、次回起動時にやり直せるようハッシュを記録しないことを確認します。
+     *
+     * @throws Exception シード投入失敗時
+     */
+    @Test
+    void resourceWithSkippedOptionsIsRetried() throws Exception {
+        jdbcTemplate.update("INSERT INTO attribute_option (category, name, description) VALUES "
+                + "('MOTIVE', '復讐心', 'ユーザー定義')");
+        seedLoader.run(new DefaultApplicationArguments());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seed_version WHERE resource = ?", Long.class,
+                "data/attribute-options/motive.json")).isZero();
+
+        jdbcTemplate.update("DELETE FROM attribute_option WHERE seed_resource IS NULL");
+        seedLoader.run(new DefaultApplicationArguments());
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT seed_resource FROM attribute_option WHERE category = 'MOTIVE' AND name = '復讐心'",
+                String.class)).containsExactly("data/attribute-options/motive.json");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seed_version", Long.class)).isEqualTo(6L);
+    }
+
+    /**
+     * シードファイルを読み込めなかった場合は、削除されたものとみなさず、何も変更せずに失敗することを確認します。
+     *
+     * @throws Exception シード投入失敗時
+     */
+    @Test
+    void unreadableResourceRemovesNothing() throws Exception {
+        seedLoader.run(new DefaultApplicationArguments());
+        List<Map<String, Object>> rows = snapshot();
+        List<Map<String, Object>> versions = jdbcTemplate.queryForList("SELECT * FROM seed_version ORDER BY resource");
+        PathMatchingResourcePatternResolver failingResolver = new PathMatchingResourcePatternResolver() {
+            @Override
+            public Resource[] getResources(String locationPattern) throws IOException {
+                Resource[] resources = super.getResources(locationPattern);
+                for (int i = 0; i < resources.length; i++) {
+                    if ("motive.json".equals(resources[i].getFilename())) {
+                        resources[i] = new ByteArrayResource(new byte[0]) {
+                            @Override
+                            public String getFilename() {
+                                return "motive.json";
+                            }
+
+                            @Override
+                            public InputStream getInputStream() throws IOException {
+                                throw new IOException("simulated read failure");
+                            }
+                        };
+                    }
+                }
+                return resources;
+            }
+        };
+
+        JsonSeedLoader loader = new JsonSeedLoader(new ObjectMapper(), jdbcTemplate,
+                CatalogSnapshotProvider.disabled(), 500, 0, failingResolver);
+
+        assertThatThrownBy(() -> loader.run(new DefaultApplicationArguments())).isInstanceOf(IOException.class)
+                .hasMessageContaining("motive.json");
+        assertThat(snapshot()).isEqualTo(rows);
+        assertThat(jdbcTemplate.queryForList("SELECT * FROM seed_version ORDER BY resource")).isEqualTo(versions);
+    }
+
+    /**
+     * 小さな一括登録件数で並列に投入しても、逐次投入と同じ内容になることを確認します。
+     *
+     * @throws Exception シード投入失敗時
+     */
+    @Test
+    void parallelChunkedIngestionMatchesSequential() throws Exception {
+        seedLoader.run(new DefaultApplicationArguments());
+        List<Map<String, Object>> sequential = contents();
+
+        setUp();
+        new JsonSeedLoader(new ObjectMapper(), jdbcTemplate, CatalogSnapshotProvider.disabled(), 3, 4)
+                .run(new DefaultApplicationArguments());
+
+        assertThat(contents()).isEqualTo(sequential);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seed_version", Long.class)).isEqualTo(6L);
+    }
+
+    private List<Map<String, Object>> contents() {
+        return jdbcTemplate.queryForList(
+                "SELECT category, name, description, seed_resource FROM attribute_option ORDER BY category, name");
+    }
+
+    private List<Map<String, Object>> snapshot() {
+        return jdbcTemplate.queryForList("SELECT * FROM attribute_option ORDER BY id");
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.darkchar.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.example.darkchar.domain.AttributeCategory;
+
+/**
+ * 10万件の属性を登録した状態で {@link AttributeOptionRepository} の実行計画と応答時間を検証します。
+ * <p>
+ * ユーザーが大きな独自カタログを取り込んでも索引が使われ続けることの回帰テストです。
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AttributeOptionRepositoryTest {
+
+    private static final int OPTION_COUNT = 100_000;
+    /** MOTIVE はこの間隔でだけ登録し、絞り込みの効く少数カテゴリにする。 */
+    private static final int MOTIVE_INTERVAL = 1_000;
+
+    private JdbcTemplate jdbcTemplate;
+    private AttributeOptionRepository repository;
+
+    /**
+     * 合成した10万件の属性を登録します。
+     */
+    @BeforeAll
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:attribute-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        List<Object[]> rows = new ArrayList<>(OPTION_COUNT);
+        for (int i = 0; i < OPTION_COUNT; i++) {
+            AttributeCategory category = i % MOTIVE_INTERVAL == 0 ? AttributeCategory.MOTIVE
+                    : i % 2 == 0 ? AttributeCategory.CHARACTER_TRAIT : AttributeCategory.MINDSET;
+            rows.add(new Object[] { category.name(), "選択肢" + i, "選択肢" + i + "：説明", "custom/" + i / 10_000 });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO attribute_option (category, name, description, seed_resource) VALUES (?, ?, ?, ?)", rows);
+        repository = new AttributeOptionRepository(jdbcTemplate);
+    }
+
+    /**
+     * 各検索が全件走査ではなく索引を使うことを確認します。
+     */
+    @Test
+    void queriesUseIndexes() {
+        assertThat(explain("SELECT id, category, name, description FROM attribute_option "
+                + "WHERE category = 'MOTIVE' ORDER BY id"))
+                .contains("IDX_ATTRIBUTE_OPTION_CATEGORY_ID: CATEGORY = 'MOTIVE'");
+        assertThat(explain("SELECT id, category, name, description FROM attribute_option ORDER BY category, id"))
+                .contains("IDX_ATTRIBUTE_OPTION_CATEGORY_ID")
+                .contains("index sorted");
+        assertThat(explain("SELECT id, category, name, description FROM attribute_option "
+                + "WHERE seed_resource = 'custom/3'"))
+                .contains("IDX_ATTRIBUTE_OPTION_SEED_RESOURCE");
+        assertThat(explain("SELECT id FROM attribute_option WHERE category = 'MOTIVE' AND name = '選択肢0'"))
+                .contains("UK_ATTRIBUTE_OPTION_CATEGORY_NAME");
+    }
+
+    /**
+     * 少数カテゴリの検索と全件のグルーピング取得が予算内に収まることを確認します。
+     */
+    @Test
+    void queriesStayWithinLatencyBudget() {
+        assertThat(repository.findByCategory(AttributeCategory.MOTIVE)).hasSize(OPTION_COUNT / MOTIVE_INTERVAL);
+        assertThat(median(() -> repository.findByCategory(AttributeCategory.MOTIVE)))
+                .isLessThan(Duration.ofMillis(50));
+        assertThat(median(() -> repository.findAllGroupedByCategory()))
+                .isLessThan(Duration.ofSeconds(2));
+    }
+
+    /**
+     * 同じカテゴリ・名称の属性は登録できないことを確認します。
+     */
+    @Test
+    void duplicateCategoryAndNameIsRejected() {
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "INSERT INTO attribute_option (category, name, description) VALUES ('MOTIVE', '選択肢0', '重複')"))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+    /**
+     * 数回の予熱後に計測した処理時間の中央値を返します。
+     */
+    private static Duration median(Runnable query) {
+        for (int i = 0; i < 3; i++) {
+            query.run();
+        }
+        long[] samples = new long[7];
+        for (int i = 0; i < samples.length; i++) {
+            long started = System.nanoTime();
+            query.run();
+            samples[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(samples);
+        return Duration.ofNanos(samples[samples.length / 2]);
+    }
+}
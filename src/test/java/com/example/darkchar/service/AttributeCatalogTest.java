@@ -0,0 +1,58 @@
+package com.example.darkchar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.WorldGenre;
+
+/**
+ * {@link AttributeCatalog} の索引を検証します。
+ */
+class AttributeCatalogTest {
+
+    /**
+     * カテゴリ別の一覧と ID・名称の索引が同じ選択肢を指すことを確認します。
+     */
+    @Test
+    void indexesResolveTheSameOptions() {
+        AttributeOption trait = option(1L, AttributeCategory.CHARACTER_TRAIT, "冷静");
+        AttributeOption motive = option(2L, AttributeCategory.MOTIVE, "復讐心");
+        AttributeOption mindset = option(4L, AttributeCategory.MINDSET, "虚無");
+        AttributeCatalog catalog = AttributeCatalog.of(List.of(new WorldGenre(1L, "ダークファンタジー")),
+                List.of(trait, motive, mindset));
+
+        assertThat(catalog.optionCount()).isEqualTo(3);
+        assertThat(catalog.options(AttributeCategory.CHARACTER_TRAIT)).containsExactly(trait);
+        assertThat(catalog.options(AttributeCategory.APPEARANCE)).isEmpty();
+        assertThat(catalog.darknessOptions()).containsOnlyKeys(AttributeCategory.MOTIVE, AttributeCategory.MINDSET);
+        assertThat(catalog.findById(2L)).contains(motive);
+        assertThat(catalog.findById(3L)).isEmpty();
+        assertThat(catalog.findById(-1L)).isEmpty();
+        assertThat(catalog.findByName(AttributeCategory.MINDSET, "虚無")).contains(mindset);
+        assertThat(catalog.findByName(AttributeCategory.MOTIVE, "虚無")).isEmpty();
+    }
+
+    /**
+     * 同梱データの大きな ID とデータベースの小さな ID が混在していても ID 索引で検索できることを確認します。
+     */
+    @Test
+    void sparseIdsAreResolved() {
+        AttributeOption low = option(5L, AttributeCategory.MOTIVE, "a");
+        AttributeOption high = option(1_000_000_000L, AttributeCategory.MOTIVE, "b");
+        AttributeCatalog catalog = AttributeCatalog.of(List.of(), List.of(high, low));
+
+        assertThat(catalog.findById(1_000_000_000L)).contains(high);
+        assertThat(catalog.findById(5L)).contains(low);
+        assertThat(catalog.findById(6L)).isEmpty();
+        assertThat(catalog.options(AttributeCategory.MOTIVE)).containsExactly(high, low);
+    }
+
+    private static AttributeOption option(long id, AttributeCategory category, String name) {
+        return new AttributeOption(id, category, name, name + "：説明");
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.darkchar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.darkchar.config.CatalogSnapshotProvider;
+import com.example.darkchar.config.SeedDataChangedEvent;
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.WorldGenre;
+import com.example.darkchar.repository.AttributeOptionRepository;
+
+/**
+ * {@link AttributeQueryService} のスナップショット公開を検証します。
+ */
+class AttributeQueryServiceTest {
+
+    /**
+     * 読み込みは初回だけで、シード反映イベントで新しいスナップショットに差し替わることを確認します。
+     */
+    @Test
+    void catalogIsLoadedOnceAndSwappedOnReseed() {
+        AttributeOptionRepository repository = mock(AttributeOptionRepository.class);
+        AttributeOption trait = new AttributeOption(1L, AttributeCategory.CHARACTER_TRAIT, "冷静", "冷静：説明");
+        AttributeOption motive = new AttributeOption(2L, AttributeCategory.MOTIVE, "復讐心", "復讐心：説明");
+        when(repository.findAllWorldGenres()).thenReturn(List.of(new WorldGenre(1L, "ダークファンタジー")));
+        when(repository.findAllGroupedByCategory()).thenReturn(grouped(trait, motive)).thenReturn(grouped(trait));
+        AttributeQueryService service = new AttributeQueryService(repository, CatalogSnapshotProvider.disabled());
+
+        AttributeCatalog first = service.catalog();
+        assertThat(service.loadCharacterTraits()).containsExactly(trait);
+        assertThat(service.loadDarknessOptions()).containsOnlyKeys(AttributeCategory.MOTIVE);
+        assertThat(service.loadWorldGenres()).hasSize(1);
+        assertThat(service.catalog()).isSameAs(first);
+        verify(repository, times(1)).findAllGroupedByCategory();
+
+        service.onSeedDataChanged(new SeedDataChangedEvent(1, 0));
+
+        assertThat(service.catalog()).isNotSameAs(first);
+        assertThat(service.loadDarknessOptions()).isEmpty();
+        assertThat(first.findById(2L)).contains(motive);
+    }
+
+    /**
+     * 先に始めた初回読み込みが再読み込みより後に終わっても、古い版でスナップショットと索引を上書きしないことを確認します。
+     *
+     * @throws Exception 待機に失敗した場合
+     */
+    @Test
+    void staleLoadDoesNotOverwriteNewerReload() throws Exception {
+        AttributeOptionRepository repository = mock(AttributeOptionRepository.class);
+        AttributeOption old = new AttributeOption(1L, AttributeCategory.MOTIVE, "嫉妬", "嫉妬：説明");
+        AttributeOption fresh = new AttributeOption(2L, AttributeCategory.MOTIVE, "復讐心", "復讐心：説明");
+        CountDownLatch firstLoadStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstLoad = new CountDownLatch(1);
+        when(repository.findAllWorldGenres()).thenReturn(List.of());
+        when(repository.findAllGroupedByCategory()).thenAnswer(call -> {
+            firstLoadStarted.countDown();
+            releaseFirstLoad.await(5, TimeUnit.SECONDS);
+            return grouped(old);
+        }).thenReturn(grouped(fresh));
+        AttributeQueryService service = new AttributeQueryService(repository, CatalogSnapshotProvider.disabled());
+
+        CompletableFuture<AttributeCatalog> firstLoad = CompletableFuture.supplyAsync(service::catalog);
+        assertThat(firstLoadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        AttributeCatalog reloaded = service.reload();
+        releaseFirstLoad.countDown();
+
+        assertThat(firstLoad.get(5, TimeUnit.SECONDS)).isSameAs(reloaded);
+        assertThat(service.catalog().options(AttributeCategory.MOTIVE)).containsExactly(fresh);
+        assertThat(service.searchOptions("嫉妬", AttributeCategory.MOTIVE)).isEmpty();
+        assertThat(service.searchOptions("復讐", AttributeCategory.MOTIVE)).containsExactly(fresh);
+    }
+
+    private static Map<AttributeCategory, List<AttributeOption>> grouped(AttributeOption... options) {
+        Map<AttributeCategory, List<AttributeOption>> grouped = new EnumMap<>(AttributeCategory.class);
+        for (AttributeOption option : options) {
+            grouped.computeIfAbsent(option.category(), category -> new ArrayList<>()).add(option);
+        }
+        return grouped;
+    }
+}
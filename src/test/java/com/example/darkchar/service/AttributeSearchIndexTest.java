@@ -0,0 +1,83 @@
+package com.example.darkchar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+
+/**
+ * {@link AttributeSearchIndex} の絞り込みを検証します。
+ */
+class AttributeSearchIndexTest {
+
+    private static final AttributeOption KNIGHT = new AttributeOption(1L, AttributeCategory.CHARACTER_TRAIT,
+            "ナイト", "王国に仕えるキシ。ＡＢＣ流剣術の使い手");
+    private static final AttributeOption PRIEST = new AttributeOption(2L, AttributeCategory.CHARACTER_TRAIT,
+            "聖職者", "祈りで仲間を癒やす");
+    private static final AttributeOption REVENGE = new AttributeOption(3L, AttributeCategory.MOTIVE,
+            "復讐心", "王国への恨み");
+
+    /**
+     * ひらがな・カタカナ、全角・半角の違いを無視して一致することを確認します。
+     */
+    @Test
+    void searchFoldsKanaAndWidth() {
+        AttributeSearchIndex index = indexOf(KNIGHT, PRIEST, REVENGE);
+
+        assertThat(index.search("ないと", AttributeCategory.CHARACTER_TRAIT)).containsExactly(KNIGHT);
+        assertThat(index.search("ｷｼ", AttributeCategory.CHARACTER_TRAIT)).containsExactly(KNIGHT);
+        assertThat(index.search("abc", AttributeCategory.CHARACTER_TRAIT)).containsExactly(KNIGHT);
+        assertThat(index.search("王", AttributeCategory.CHARACTER_TRAIT)).containsExactly(KNIGHT);
+        assertThat(index.search("王国", AttributeCategory.MOTIVE)).containsExactly(REVENGE);
+        assertThat(index.search("  ", AttributeCategory.CHARACTER_TRAIT)).isEmpty();
+    }
+
+    /**
+     * 空白区切りの語をすべて含むものだけを返し、隣接しない 2 文字の組では一致しないことを確認します。
+     */
+    @Test
+    void searchRequiresEveryTermAsSubstring() {
+
+        AttributeOption guard = new AttributeOption(5L, AttributeCategory.CHARACTER_TRAIT, "盾持ち", "王の盾にして、その剣");
+        AttributeSearchIndex index = indexOf(KNIGHT, PRIEST, REVENGE, guard);
+
+        assertThat(index.search("王国 剣術", AttributeCategory.CHARACTER_TRAIT)).containsExactly(KNIGHT);
+        assertThat(index.search("王国 祈り", AttributeCategory.CHARACTER_TRAIT)).isEmpty();
+        assertThat(index.search("仲間を癒", AttributeCategory.CHARACTER_TRAIT)).containsExactly(PRIEST);
+        // 「王の」「の剣」はどちらも本文にあるが、「王の剣」は部分文字列ではない
+        assertThat(index.search("王の剣", AttributeCategory.CHARACTER_TRAIT)).isEmpty();
+        assertThat(index.search("その剣", AttributeCategory.CHARACTER_TRAIT)).containsExactly(guard);
+    }
+
+    /**
+     * カタログの差し替えで、増えた属性の追加と消えた属性の除外が反映されることを確認します。
+     */
+    @Test
+    void updateAddsAndRemovesIncrementally() {
+        AttributeSearchIndex index = indexOf(KNIGHT, PRIEST);
+        AttributeOption paladin = new AttributeOption(4L, AttributeCategory.CHARACTER_TRAIT, "パラディン", "聖騎士");
+
+        index.update(AttributeCatalog.of(List.of(), List.of(KNIGHT, PRIEST, paladin)));
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search("聖", AttributeCategory.CHARACTER_TRAIT)).containsExactly(PRIEST, paladin);
+
+        index.update(AttributeCatalog.of(List.of(), List.of(KNIGHT, paladin)));
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search("聖", AttributeCategory.CHARACTER_TRAIT)).containsExactly(paladin);
+
+        index.update(AttributeCatalog.of(List.of(), List.of(paladin)));
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("ぱらでぃん", AttributeCategory.CHARACTER_TRAIT)).containsExactly(paladin);
+        assertThat(index.search("ナイト", AttributeCategory.CHARACTER_TRAIT)).isEmpty();
+    }
+
+    private static AttributeSearchIndex indexOf(AttributeOption... options) {
+        AttributeSearchIndex index = new AttributeSearchIndex();
+        index.update(AttributeCatalog.of(List.of(), List.of(options)));
+        return index;
+    }
+}
@@ -1,12 +1,20 @@
 package com.example.darkchar.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import com.example.darkchar.domain.AttributeCategory;
 import com.example.darkchar.domain.AttributeOption;
@@ -23,6 +31,9 @@ import com.example.darkchar.service.ai.CharacterGenerationStrategyRegistry;
 import com.example.darkchar.service.ai.ProviderConfigurationStatus;
 import com.example.darkchar.service.ai.ProviderGenerationResult;
 import com.example.darkchar.service.ai.ProviderType;
+import com.example.darkchar.service.ai.TokenUsage;
+import com.example.darkchar.service.history.GenerationHistoryEntry;
+import com.example.darkchar.service.history.GenerationHistoryWriter;
 
 /**
  * {@link CharacterGenerationService} の主要な挙動を検証します。
@@ -33,6 +44,7 @@ class CharacterGenerationServiceTest {
     private AiProviderContextStore contextStore;
     private StubProvider openAiProvider;
     private StubProvider localProvider;
+    private GenerationHistoryWriter historyWriter;
 
     /**
      * テストごとにサービスとスタブを初期化します。
@@ -44,7 +56,8 @@ class CharacterGenerationServiceTest {
         localProvider = new StubProvider(ProviderType.LOCAL, "ローカル");
         CharacterGenerationStrategyRegistry registry = new CharacterGenerationStrategyRegistry(
                 List.of(openAiProvider, localProvider));
-        service = new CharacterGenerationService(contextStore, registry);
+        historyWriter = mock(GenerationHistoryWriter.class);
+        service = new CharacterGenerationService(contextStore, registry, historyWriter);
     }
 
     /**
@@ -83,6 +96,39 @@ class CharacterGenerationServiceTest {
         assertThat(result.prompt()).hasValue("generated prompt");
     }
 
+    /**
+     * ストリーミング生成で、生成中の文章がデルタとして通知されることを確認します。
+     */
+    @Test
+    void generateStreamingShouldForwardProviderDeltas() {
+        openAiProvider.configurationStatus = ProviderConfigurationStatus.onReady();
+        openAiProvider.generatedNarrative = "remote narrative";
+        List<String> deltas = new ArrayList<>();
+
+        GenerationResult result = service.generateStreaming(sampleInput(), sampleSelection(), ProviderType.OPENAI,
+                deltas::add);
+
+        assertThat(result.usedProvider()).isTrue();
+        assertThat(String.join("", deltas)).isEqualTo("remote narrative");
+        assertThat(result.generatedCharacter().narrative()).isEqualTo("remote narrative");
+    }
+
+    /**
+     * 受け取る側が生成を中断した場合は、フォールバックも履歴の保存もしないことを確認します。
+     */
+    @Test
+    void generateStreamingShouldStopWhenListenerCancels() {
+        openAiProvider.configurationStatus = ProviderConfigurationStatus.onReady();
+        openAiProvider.generatedNarrative = "remote narrative";
+
+        assertThatThrownBy(() -> service.generateStreaming(sampleInput(), sampleSelection(), ProviderType.OPENAI,
+                delta -> {
+                    throw new CancellationException("client disconnected");
+                }))
+                .isInstanceOf(CancellationException.class);
+        verify(historyWriter, never()).submit(any());
+    }
+
     /**
      * プロバイダ失敗時に警告付きでフォールバックすることを確認します。
      */
@@ -115,6 +161,29 @@ class CharacterGenerationServiceTest {
         assertThat(result.prompt()).hasValue("local prompt");
     }
 
+    /**
+     * 生成結果がプロバイダ・モデル・トークン数とともに履歴へ送られることを確認します。
+     */
+    @Test
+    void generateShouldSubmitHistoryEntry() {
+        contextStore.setSelectedModel(ProviderType.OPENAI, "gpt-test");
+        openAiProvider.configurationStatus = ProviderConfigurationStatus.onReady();
+        openAiProvider.generatedNarrative = "remote narrative";
+        openAiProvider.generatedUsage = new TokenUsage(120, 480);
+
+        GenerationResult result = service.generate(sampleInput(), sampleSelection(), ProviderType.OPENAI);
+
+        ArgumentCaptor<GenerationHistoryEntry> captor = ArgumentCaptor.forClass(GenerationHistoryEntry.class);
+        verify(historyWriter).submit(captor.capture());
+        GenerationHistoryEntry entry = captor.getValue();
+        assertThat(entry.character()).isSameAs(result.generatedCharacter());
+        assertThat(entry.providerType()).isEqualTo(ProviderType.OPENAI);
+        assertThat(entry.usedProvider()).isTrue();
+        assertThat(entry.model()).hasValue("gpt-test");
+        assertThat(entry.usage()).hasValue(new TokenUsage(120, 480));
+        assertThat(entry.latency().isNegative()).isFalse();
+    }
+
     /**
      * テストで使用する入力データを組み立てます。
      *
@@ -154,6 +223,7 @@ class CharacterGenerationServiceTest {
         private ProviderConfigurationStatus configurationStatus = ProviderConfigurationStatus.notReady();
         private String generatedNarrative = "";
         private String generatedPrompt = "";
+        private TokenUsage generatedUsage;
         private RuntimeException exceptionToThrow;
 
         /**
@@ -191,7 +261,7 @@ class CharacterGenerationServiceTest {
             if (exceptionToThrow != null) {
                 throw exceptionToThrow;
             }
-            return new ProviderGenerationResult(generatedNarrative, generatedPrompt);
+            return new ProviderGenerationResult(generatedNarrative, generatedPrompt, generatedUsage);
         }
     }
 }
@@ -0,0 +1,103 @@
+package com.example.darkchar.service.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.WorldGenre;
+import com.example.darkchar.service.AttributeQueryService;
+import com.example.darkchar.service.local.LocalNarrativeEngine;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link MassGenerationService} のシャード出力と再現性を検証します。
+ */
+class MassGenerationServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MassGenerationService service;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * 固定カタログを返すサービスで初期化します。
+     */
+    @BeforeEach
+    void setUp() {
+        AttributeQueryService attributeQueryService = mock(AttributeQueryService.class);
+        when(attributeQueryService.loadWorldGenres()).thenReturn(List.of(
+                new WorldGenre(1L, "異世界・ファンタジー"), new WorldGenre(2L, "SF・近未来")));
+        when(attributeQueryService.loadCharacterTraits()).thenReturn(List.of(
+                new AttributeOption(1L, AttributeCategory.CHARACTER_TRAIT, "勇敢な行動者", "立ち向かう決断力"),
+                new AttributeOption(2L, AttributeCategory.CHARACTER_TRAIT, "冷静な分析者", "合理的な判断")));
+        when(attributeQueryService.loadDarknessOptions()).thenReturn(Map.of(
+                AttributeCategory.MOTIVE, List.of(
+                        new AttributeOption(10L, AttributeCategory.MOTIVE, "復讐心", "復讐心：報復が闇を呼ぶ"),
+                        new AttributeOption(11L, AttributeCategory.MOTIVE, "嫉妬", "嫉妬：羨望が破滅へ変わる")),
+                AttributeCategory.APPEARANCE, List.of(
+                        new AttributeOption(20L, AttributeCategory.APPEARANCE, "白髪化", "白髪化：髪が白く染まる"))));
+        service = new MassGenerationService(attributeQueryService, new LocalNarrativeEngine(objectMapper),
+                objectMapper);
+    }
+
+    /**
+     * 全シードがシャードに漏れなく順番どおり書き出されることを確認します。
+     *
+     * @throws IOException 入出力エラー
+     */
+    @Test
+    void generateWritesEverySeedAcrossShards() throws IOException {
+        MassGenerationReport report = service.generate(
+                new MassGenerationRequest(100L, 53L, 4, 2, tempDir.resolve("out")));
+
+        assertThat(report.count()).isEqualTo(53L);
+        assertThat(report.shardFiles()).hasSize(4);
+        List<Long> seeds = new ArrayList<>();
+        for (Path shard : report.shardFiles()) {
+            for (String line : Files.readAllLines(shard, StandardCharsets.UTF_8)) {
+                JsonNode node = objectMapper.readTree(line);
+                seeds.add(node.get("seed").asLong());
+                assertThat(node.get("narrative").asText()).isNotBlank();
+                assertThat(node.get("darknessSelections").size()).isPositive();
+            }
+        }
+        assertThat(seeds).hasSize(53);
+        for (int i = 0; i < seeds.size(); i++) {
+            assertThat(seeds.get(i)).isEqualTo(100L + i);
+        }
+    }
+
+    /**
+     * 並列度を変えても同じシード範囲からは同じファイルが得られることを確認します。
+     *
+     * @throws IOException 入出力エラー
+     */
+    @Test
+    void generateIsDeterministicRegardlessOfParallelism() throws IOException {
+        MassGenerationReport sequential = service.generate(
+                new MassGenerationRequest(0L, 40L, 3, 1, tempDir.resolve("sequential")));
+        MassGenerationReport parallel = service.generate(
+                new MassGenerationRequest(0L, 40L, 3, 3, tempDir.resolve("parallel")));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(Files.readString(parallel.shardFiles().get(i)))
+                    .isEqualTo(Files.readString(sequential.shardFiles().get(i)));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.darkchar.service.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.DarknessPreset;
+import com.example.darkchar.domain.ProtagonistAlignment;
+
+/**
+ * {@link SelectionSpace} の列挙・抽出を検証します。
+ */
+class SelectionSpaceTest {
+
+    /**
+     * 要素数が組み合わせ数と一致し、並列列挙でも重複・欠落がないことを確認します。
+     */
+    @Test
+    void enumerateCoversEveryCombinationOnceInParallel() {
+        SelectionSpace space = SelectionSpace.builder(catalog(4, 3, 2, 3))
+                .optionsPerCategory(0, 2)
+                .build();
+
+        // (1+4+6) * (1+3+3) * (1+2+1) * (1+3+3) から全未選択の1件を除き、プリセット5×立ち位置5を掛ける
+        long expected = (11L * 7 * 4 * 7 - 1) * 25;
+        assertThat(space.size()).isEqualTo(BigInteger.valueOf(expected));
+
+        List<SelectionCombination> sequential = space.enumerate().toList();
+        Set<SelectionCombination> parallel = space.enumerate().parallel().collect(Collectors.toSet());
+
+        assertThat(sequential).hasSize((int) expected);
+        assertThat(parallel).hasSize((int) expected).containsAll(sequential);
+        assertThat(space.enumerate().parallel().toList()).isEqualTo(sequential);
+        assertThat(sequential).allSatisfy(combination -> {
+            Map<AttributeCategory, List<AttributeOption>> selections = combination.selection().selections();
+            assertThat(selections).isNotEmpty();
+            selections.values().forEach(options -> assertThat(options).hasSizeBetween(1, 2));
+        });
+    }
+
+    /**
+     * カテゴリ別の範囲指定が共通の範囲より優先されることを確認します。
+     */
+    @Test
+    void perCategoryBoundsOverrideDefaults() {
+        SelectionSpace space = SelectionSpace.builder(catalog(3, 3, 3, 3))
+                .optionsPerCategory(0, 1)
+                .optionsPerCategory(AttributeCategory.MOTIVE, 2, 2)
+                .build();
+
+        assertThat(space.size()).isEqualTo(BigInteger.valueOf(3L * 4 * 4 * 4 * 25));
+        assertThat(space.enumerate()).allSatisfy(combination -> {
+            assertThat(combination.selection().selections().get(AttributeCategory.MOTIVE)).hasSize(2);
+            assertThat(combination.selection().selections().getOrDefault(AttributeCategory.APPEARANCE, List.of()))
+                    .hasSizeLessThanOrEqualTo(1);
+        });
+        assertThatThrownBy(() -> SelectionSpace.builder(catalog(1, 1, 1, 1))
+                .optionsPerCategory(AttributeCategory.MINDSET, 2, 3)
+                .build())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 層化抽出が各層から同数ずつ取り出し、並列でも同じ列になることを確認します。
+     */
+    @Test
+    void stratifiedSampleIsBalancedAndDeterministic() {
+        SelectionSpace space = SelectionSpace.builder(catalog(24, 24, 19, 25)).build();
+
+        List<SelectionCombination> sequential = space.stratifiedSample(40, 7L).toList();
+        List<SelectionCombination> parallel = space.stratifiedSample(40, 7L).parallel().toList();
+
+        assertThat(parallel).isEqualTo(sequential);
+        Map<String, Long> perStratum = sequential.stream()
+                .collect(Collectors.groupingBy(c -> c.selection().preset() + "/" + c.alignment(),
+                        Collectors.counting()));
+        assertThat(perStratum).hasSize(DarknessPreset.values().length * ProtagonistAlignment.values().length);
+        assertThat(perStratum.values()).containsOnly(40L);
+        assertThat(space.sample(100, 7L).toList()).hasSize(100)
+                .allSatisfy(c -> assertThat(c.selection().selections()).isNotEmpty());
+    }
+
+    /**
+     * 全列挙できない大きさの空間でも抽出はできることを確認します。
+     */
+    @Test
+    void unboundedSpaceSupportsSamplingButNotEnumeration() {
+        SelectionSpace space = SelectionSpace.builder(catalog(24, 24, 19, 25)).build();
+
+        assertThat(space.size().bitLength()).isGreaterThan(Long.SIZE);
+        assertThatThrownBy(space::enumerate).isInstanceOf(IllegalStateException.class);
+        assertThat(space.sample(10, 1L).toList()).isEqualTo(space.sample(10, 1L).toList());
+    }
+
+    private static Map<AttributeCategory, List<AttributeOption>> catalog(int motive, int transformation,
+            int mindset, int appearance) {
+        Map<AttributeCategory, List<AttributeOption>> catalog = new EnumMap<>(AttributeCategory.class);
+        catalog.put(AttributeCategory.MOTIVE, options(AttributeCategory.MOTIVE, motive));
+        catalog.put(AttributeCategory.TRANSFORMATION_PROCESS,
+                options(AttributeCategory.TRANSFORMATION_PROCESS, transformation));
+        catalog.put(AttributeCategory.MINDSET, options(AttributeCategory.MINDSET, mindset));
+        catalog.put(AttributeCategory.APPEARANCE, options(AttributeCategory.APPEARANCE, appearance));
+        return catalog;
+    }
+
+    private static List<AttributeOption> options(AttributeCategory category, int count) {
+        List<AttributeOption> options = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            options.add(new AttributeOption((long) category.ordinal() * 100 + i, category,
+                    category.name() + i, category.name() + i + "：説明"));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.darkchar.service.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.DarknessPreset;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.domain.GeneratedCharacter;
+import com.example.darkchar.domain.InputMode;
+import com.example.darkchar.domain.WorldGenre;
+import com.example.darkchar.repository.GeneratedCharacterRepository;
+import com.example.darkchar.repository.NarrativeIndexRepository;
+import com.example.darkchar.service.ai.ProviderType;
+import com.example.darkchar.service.ai.TokenUsage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link GenerationHistoryWriter} の一括書き込みと終了時の書き出しを検証します。
+ */
+class GenerationHistoryWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private GeneratedCharacterRepository repository;
+    private NarrativeSearchService searchService;
+    private TransactionTemplate transactionTemplate;
+    private GenerationHistoryWriter writer;
+
+    /**
+     * スキーマを適用した専用のインメモリ H2 を用意します。
+     */
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:history-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new GeneratedCharacterRepository(jdbcTemplate, new ObjectMapper());
+        searchService = new NarrativeSearchService(new NarrativeIndexRepository(jdbcTemplate), repository);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * ライターを停止します。
+     *
+     * @throws InterruptedException 停止待ちの間に割り込まれた場合
+     */
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.destroy();
+        }
+    }
+
+    /**
+     * 積んだ履歴がバッチに分けて全件保存され、各列が埋まることを確認します。
+     *
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    @Test
+    void submittedEntriesArePersistedInBatches() throws InterruptedException {
+        writer = new GenerationHistoryWriter(repository, searchService, transactionTemplate, 256, 8);
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(writer.submit(sampleEntry("narrative-" + i))).isTrue();
+        }
+
+        assertThat(writer.flush(Duration.ofSeconds(10))).isTrue();
+        assertThat(repository.count()).isEqualTo(50L);
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT * FROM generated_character WHERE narrative = 'narrative-7'");
+        assertThat(row.get("PROVIDER")).isEqualTo("OPENAI");
+        assertThat(row.get("MODEL")).isEqualTo("gpt-test");
+        assertThat(row.get("PROMPT_TOKENS")).isEqualTo(100L);
+        assertThat(row.get("COMPLETION_TOKENS")).isEqualTo(400L);
+        assertThat(row.get("LATENCY_MS")).isEqualTo(1500L);
+        assertThat(row.get("DARKNESS_LEVEL")).isEqualTo(150);
+        assertThat(row.get("DARKNESS_SELECTIONS").toString()).isEqualTo("{\"MOTIVE\":[\"復讐心\"]}");
+    }
+
+    /**
+     * 停止時にキューに残っていた履歴も書き出され、停止後の投入は破棄されることを確認します。
+     *
+     * @throws InterruptedException 停止待ちの間に割り込まれた場合
+     */
+    @Test
+    void destroyFlushesPendingEntries() throws InterruptedException {
+        writer = new GenerationHistoryWriter(repository, searchService, transactionTemplate, 1024, 16);
+        for (int i = 0; i < 200; i++) {
+            writer.submit(sampleEntry("pending-" + i));
+        }
+
+        writer.destroy();
+
+        assertThat(repository.count()).isEqualTo(200L);
+        assertThat(writer.submit(sampleEntry("late"))).isFalse();
+    }
+
+    /**
+     * 停止と並行して投入しても、受け付けた履歴はすべて保存されることを確認します。
+     *
+     * @throws Exception 投入スレッドの待機に失敗した場合
+     */
+    @Test
+    void entriesAcceptedDuringShutdownAreNotLost() throws Exception {
+        writer = new GenerationHistoryWriter(repository, searchService, transactionTemplate, 4096, 16);
+        AtomicLong accepted = new AtomicLong();
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            submitters.add(Thread.ofPlatform().start(() -> {
+                started.countDown();
+                // 停止（またはキューの満杯）で断られるまで投入し続ける
+                for (int i = 0; writer.submit(sampleEntry("racing-" + thread + "-" + i)); i++) {
+                    accepted.incrementAndGet();
+                }
+            }));
+        }
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        writer.destroy();
+        for (Thread submitter : submitters) {
+            submitter.join(5_000);
+        }
+
+        assertThat(repository.count()).isEqualTo(accepted.get());
+    }
+
+    /**
+     * 索引の追加に失敗したバッチは登録も取り消され、検索に出てこない履歴が残らないことを確認します。
+     *
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    @Test
+    void indexFailureRollsBackTheBatch() throws InterruptedException {
+        NarrativeSearchService failingSearchService = new NarrativeSearchService(
+                new NarrativeIndexRepository(jdbcTemplate), repository) {
+            @Override
+            public void index(List<Long> characterIds, List<String> narratives) {
+                super.index(characterIds, narratives);
+                throw new IllegalStateException("simulated index failure");
+            }
+        };
+        writer = new GenerationHistoryWriter(repository, failingSearchService, transactionTemplate, 256, 8);
+
+        for (int i = 0; i < 20; i++) {
+            writer.submit(sampleEntry("闇の王座-" + i));
+        }
+
+        assertThat(writer.flush(Duration.ofSeconds(10))).isTrue();
+        assertThat(repository.count()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM narrative_posting_block", Long.class)).isZero();
+    }
+
+    private static GenerationHistoryEntry sampleEntry(String narrative) {
+        CharacterInput input = new CharacterInput(InputMode.AUTO, new WorldGenre(1L, "中世ダークファンタジー"),
+                List.of(), null, 3, "");
+        DarknessSelection selection = new DarknessSelection(Map.of(AttributeCategory.MOTIVE,
+                List.of(new AttributeOption(10L, AttributeCategory.MOTIVE, "復讐心", "復讐"))), DarknessPreset.HEAVY);
+        GeneratedCharacter character = new GeneratedCharacter(input, selection, narrative, Instant.now());
+        return new GenerationHistoryEntry(character, Optional.of("prompt"), ProviderType.OPENAI, true,
+                Optional.of("gpt-test"), Optional.of(new TokenUsage(100, 400)), Duration.ofMillis(1500));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.darkchar.service.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.DarknessPreset;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.domain.GeneratedCharacter;
+import com.example.darkchar.domain.InputMode;
+import com.example.darkchar.domain.WorldGenre;
+import com.example.darkchar.repository.GeneratedCharacterRepository;
+import com.example.darkchar.repository.NarrativeIndexRepository;
+import com.example.darkchar.service.ai.ProviderType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link NarrativeSearchService} の索引と順位付けを検証します。
+ */
+class NarrativeSearchServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private GeneratedCharacterRepository repository;
+    private NarrativeSearchService searchService;
+
+    /**
+     * スキーマを適用した専用のインメモリ H2 を用意します。
+     */
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:search-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new GeneratedCharacterRepository(jdbcTemplate, new ObjectMapper());
+        searchService = new NarrativeSearchService(new NarrativeIndexRepository(jdbcTemplate), repository);
+    }
+
+    /**
+     * フレーズを多く含む物語ほど上位になり、連続しない一致は除外されることを確認します。
+     */
+    @Test
+    void searchRanksPhraseMatchesAndRejectsScatteredBigrams() {
+        List<Long> ids = store(
+                "復讐心が燃える。復讐心は消えない。復讐心こそが彼女を動かす。",
+                "小さな復讐心が芽生えた。",
+                "心が復讐を求めた。",
+                "穏やかな朝の物語。");
+
+        List<NarrativeSearchHit> hits = searchService.search("復讐心", 10);
+
+        assertThat(hits).extracting(NarrativeSearchHit::characterId).containsExactly(ids.get(0), ids.get(1));
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+        assertThat(hits.get(1).snippet()).contains("復讐心");
+        assertThat(searchService.search("存在しない語句", 10)).isEmpty();
+    }
+
+    /**
+     * 全角英数などの表記揺れを NFKC で吸収し、上限件数で打ち切ることを確認します。
+     */
+    @Test
+    void searchNormalizesWidthAndHonorsLimit() {
+        List<String> narratives = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            narratives.add("第" + i + "章。ＡＩ兵器が目覚める。");
+        }
+        store(narratives.toArray(String[]::new));
+
+        assertThat(searchService.search("ai兵器", 5)).hasSize(5)
+                .allSatisfy(hit -> assertThat(hit.snippet()).contains("ai兵器"));
+        assertThat(searchService.search("A", 5)).isEmpty();
+    }
+
+    /**
+     * 少量ずつ追記してブロックがまとめ直された後も、全件を漏れなく検索できることを確認します。
+     */
+    @Test
+    void searchRemainsCompleteAfterBlockCompaction() {
+        for (int i = 0; i < 25; i++) {
+            store("闇の王座に手を伸ばす" + i + "番目の影。");
+        }
+
+        assertThat(searchService.search("闇の王座", 100)).hasSize(25);
+        assertThat(searchService.search("番目の影", 3)).hasSize(3);
+    }
+
+    /**
+     * まとめ直しは新しい側の小さなブロックだけを対象にし、古く大きなブロックは書き直さないことを確認します。
+     */
+    @Test
+    void compactionMergesOnlyTailBlocks() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 17; i++) {
+            ids.addAll(store("闇の王座に手を伸ばす" + i + "番目の影。"));
+        }
+
+        // 9件目で1ブロックにまとまり、その後の8件は古いブロックを書き直さずにまとめられる
+        assertThat(jdbcTemplate.queryForList("SELECT document_count FROM narrative_posting_block "
+                + "WHERE gram = '王座' ORDER BY first_character_id", Integer.class)).containsExactly(9, 8);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT block_count FROM narrative_bigram_stat WHERE gram = '王座'", Integer.class)).isEqualTo(2);
+        assertThat(searchService.search("闇の王座", 100)).extracting(NarrativeSearchHit::characterId)
+                .containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    private List<Long> store(String... narratives) {
+        List<GenerationHistoryEntry> entries = new ArrayList<>();
+        for (String narrative : narratives) {
+            entries.add(entry(narrative));
+        }
+        List<Long> ids = repository.batchInsert(entries);
+        searchService.index(ids, List.of(narratives));
+        return ids;
+    }
+
+    private static GenerationHistoryEntry entry(String narrative) {
+        CharacterInput input = new CharacterInput(InputMode.AUTO, new WorldGenre(1L, "中世ダークファンタジー"),
+                List.of(), null, 3, "");
+        DarknessSelection selection = new DarknessSelection(Map.of(AttributeCategory.MOTIVE,
+                List.of(new AttributeOption(10L, AttributeCategory.MOTIVE, "復讐心", "復讐"))), DarknessPreset.HEAVY);
+        return new GenerationHistoryEntry(new GeneratedCharacter(input, selection, narrative, Instant.now()),
+                Optional.empty(), ProviderType.LOCAL, true, Optional.empty(), Optional.empty(), Duration.ZERO);
+    }
+}
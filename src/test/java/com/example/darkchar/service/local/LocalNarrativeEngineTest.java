@@ -0,0 +1,118 @@
+package com.example.darkchar.service.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.DarknessPreset;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.domain.InputMode;
+import com.example.darkchar.domain.WorldGenre;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link LocalNarrativeEngine} の生成内容と再現性を検証します。
+ */
+class LocalNarrativeEngineTest {
+
+    private final LocalNarrativeEngine engine = new LocalNarrativeEngine(new ObjectMapper());
+
+    /**
+     * 同じシードからは同じ文章が生成されることを確認します。
+     */
+    @Test
+    void generateIsDeterministicForSameSeed() {
+        String first = engine.generate(sampleInput(), sampleSelection(), 42L);
+        String second = engine.generate(sampleInput(), sampleSelection(), 42L);
+
+        assertThat(first).isEqualTo(second);
+    }
+
+    /**
+     * 選択内容が段落構成の文章に反映されることを確認します。
+     */
+    @Test
+    void generateIncludesSelectionsInParagraphs() {
+        String narrative = engine.generate(sampleInput(), sampleSelection(), 7L);
+
+        assertThat(narrative).contains("中世ダークファンタジー");
+        assertThat(narrative).contains("勇敢な守護者");
+        assertThat(narrative).contains("復讐心");
+        assertThat(narrative).contains("過去の敵への報復が闇堕ちを駆動する");
+        assertThat(narrative).doesNotContain("復讐心：");
+        assertThat(narrative).contains("白髪化");
+        assertThat(narrative).contains(DarknessPreset.HEAVY.getDescription());
+        assertThat(narrative).contains("親友を救いたい");
+        assertThat(narrative).doesNotContain("{");
+        assertThat(narrative.split("\n\n")).hasSizeGreaterThanOrEqualTo(5);
+    }
+
+    /**
+     * シードが異なれば文章にばらつきが出ることを確認します。
+     */
+    @Test
+    void generateVariesAcrossSeeds() {
+        Set<String> narratives = new HashSet<>();
+        for (long seed = 0; seed < 20; seed++) {
+            narratives.add(engine.generate(sampleInput(), sampleSelection(), seed));
+        }
+
+        assertThat(narratives).hasSizeGreaterThan(15);
+    }
+
+    /**
+     * オートモードでは属性シードからキャラクター属性を補うことを確認します。
+     */
+    @Test
+    void generateUsesSeedTraitsInAutoMode() {
+        CharacterInput input = new CharacterInput(
+                InputMode.AUTO,
+                new WorldGenre(2L, "SF・近未来"),
+                List.of(),
+                null,
+                5,
+                null);
+
+        String narrative = engine.generate(input, sampleSelection(), 3L);
+
+        assertThat(narrative).contains("SF・近未来");
+        assertThat(narrative).doesNotContain("null");
+    }
+
+    /**
+     * テストで使用する入力データを組み立てます。
+     *
+     * @return キャラクター入力
+     */
+    private CharacterInput sampleInput() {
+        return new CharacterInput(
+                InputMode.SEMI_AUTO,
+                new WorldGenre(1L, "中世ダークファンタジー"),
+                List.of(new AttributeOption(1L, AttributeCategory.CHARACTER_TRAIT, "勇敢な守護者", "仲間を守る勇敢さ")),
+                "盾となって仲間を守る",
+                2,
+                "親友を救いたい");
+    }
+
+    /**
+     * テストで使用する闇堕ち選択肢を組み立てます。
+     *
+     * @return 闇堕ち選択
+     */
+    private DarknessSelection sampleSelection() {
+        Map<AttributeCategory, List<AttributeOption>> darkness = Map.of(
+                AttributeCategory.MOTIVE,
+                List.of(new AttributeOption(10L, AttributeCategory.MOTIVE, "復讐心", "復讐心：過去の敵への報復が闇堕ちを駆動する")),
+                AttributeCategory.APPEARANCE,
+                List.of(new AttributeOption(20L, AttributeCategory.APPEARANCE, "白髪化", "白髪化：髪色が一夜にして白く染まる")));
+        return new DarknessSelection(darkness, DarknessPreset.HEAVY);
+    }
+}
@@ -9,9 +9,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,12 +27,16 @@ import com.example.darkchar.domain.DarknessSelection;
 import com.example.darkchar.domain.InputMode;
 import com.example.darkchar.domain.WorldGenre;
 import com.example.darkchar.service.ai.ProviderGenerationResult;
+import com.example.darkchar.service.ai.TokenUsage;
 import com.openai.client.OpenAIClient;
+import com.openai.core.http.StreamResponse;
 import com.openai.errors.BadRequestException;
 import com.openai.errors.OpenAIException;
 import com.openai.models.chat.completions.ChatCompletion;
+import com.openai.models.chat.completions.ChatCompletionChunk;
 import com.openai.models.chat.completions.ChatCompletionCreateParams;
 import com.openai.models.chat.completions.ChatCompletionMessage;
+import com.openai.models.completions.CompletionUsage;
 import com.openai.services.blocking.ChatService;
 import com.openai.services.blocking.chat.ChatCompletionService;
 
@@ -126,6 +132,37 @@ class OpenAiCharacterGenerationSdkClientTest {
         verify(promptTemplateRenderer, times(1)).render(input, selection);
     }
 
+    /**
+     * ストリーミングでチャンクごとに本文を通知し、最後のチャンクからトークン使用量を取り出すことを確認します。
+     */
+    @Test
+    void generateStreamingForwardsChunkContent() {
+        CharacterInput input = createCharacterInput();
+        DarknessSelection selection = createDarknessSelection();
+
+        @SuppressWarnings("unchecked")
+        StreamResponse<ChatCompletionChunk> stream = mock(StreamResponse.class);
+        CompletionUsage usage = mock(CompletionUsage.class);
+        when(usage.promptTokens()).thenReturn(12L);
+        when(usage.completionTokens()).thenReturn(34L);
+        ChatCompletionChunk usageChunk = mock(ChatCompletionChunk.class);
+        when(usageChunk.choices()).thenReturn(List.of());
+        when(usageChunk.usage()).thenReturn(Optional.of(usage));
+        ChatCompletionChunk first = mockChunk("第一段落。");
+        ChatCompletionChunk second = mockChunk("\n続き。\n");
+        when(stream.stream()).thenReturn(Stream.of(first, second, usageChunk));
+        when(chatCompletionService.createStreaming(any(ChatCompletionCreateParams.class))).thenReturn(stream);
+        List<String> deltas = new ArrayList<>();
+
+        ProviderGenerationResult actual = client.generateStreaming("test-key", "gpt-test", input, selection,
+                deltas::add);
+
+        assertThat(deltas).containsExactly("第一段落。", "\n続き。\n");
+        assertThat(actual.narrative()).isEqualTo("第一段落。\n続き。");
+        assertThat(actual.usage()).hasValue(new TokenUsage(12L, 34L));
+        verify(stream).close();
+    }
+
     /**
      * その他のエラーでは例外を伝播することを確認します。
      */
@@ -171,6 +208,23 @@ class OpenAiCharacterGenerationSdkClientTest {
                 DarknessPreset.HEAVY);
     }
 
+    /**
+     * 本文を 1 つだけ持つチャンクを生成します。
+     *
+     * @param content 本文の断片
+     * @return チャンク
+     */
+    private ChatCompletionChunk mockChunk(String content) {
+        ChatCompletionChunk chunk = mock(ChatCompletionChunk.class);
+        ChatCompletionChunk.Choice choice = mock(ChatCompletionChunk.Choice.class);
+        ChatCompletionChunk.Choice.Delta delta = mock(ChatCompletionChunk.Choice.Delta.class);
+        when(chunk.choices()).thenReturn(List.of(choice));
+        when(chunk.usage()).thenReturn(Optional.empty());
+        when(choice.delta()).thenReturn(delta);
+        when(delta.content()).thenReturn(Optional.of(content));
+        return chunk;
+    }
+
     /**
      * 温度非対応エラーを模した例外を生成します。
      *
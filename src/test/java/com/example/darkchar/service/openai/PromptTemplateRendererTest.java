@@ -2,6 +2,8 @@ package com.example.darkchar.service.openai;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.List;
 import java.util.Map;
 
@@ -147,4 +149,31 @@ class PromptTemplateRendererTest {
         assertThat(actual).doesNotContain("\n\n\n");
         assertThat(actual).endsWith("\n");
     }
+
+    /**
+     * 出力先へ直接書き込んだ結果が文字列版と一致することを確認します。
+     *
+     * @throws IOException 書き込み失敗時
+     */
+    @Test
+    void renderToAppendableMatchesStringRender() throws IOException {
+        CharacterInput input = new CharacterInput(
+                InputMode.SEMI_AUTO,
+                new WorldGenre(4L, "ダークファンタジー"),
+                List.of(new AttributeOption(1L, AttributeCategory.CHARACTER_TRAIT, "堕ちた騎士", "堕落した守護者")),
+                "段落A\n \n\t\n段落B",
+                5,
+                "闇の囁き\n\n\n深淵の叫び");
+        DarknessSelection selection = new DarknessSelection(
+                Map.of(AttributeCategory.MOTIVE,
+                        List.of(new AttributeOption(2L, AttributeCategory.MOTIVE, "復讐心", "復讐に燃える"))),
+                DarknessPreset.EXTREME);
+
+        StringWriter writer = new StringWriter();
+        renderer.render(input, selection, writer);
+
+        assertThat(writer.toString()).isEqualTo(renderer.render(input, selection));
+        assertThat(writer.toString()).contains("段落A\n \n段落B");
+        assertThat(writer.toString()).doesNotContain("\n\n\n");
+    }
 }
@@ -0,0 +1,53 @@
+package com.example.darkchar.ui.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+
+/**
+ * {@link AttributeSelectionModel} の振る舞いを検証します。
+ */
+class AttributeSelectionModelTest {
+
+    private static final AttributeOption KNIGHT = new AttributeOption(1L, AttributeCategory.CHARACTER_TRAIT, "騎士", "");
+    private static final AttributeOption PRIEST = new AttributeOption(2L, AttributeCategory.CHARACTER_TRAIT, "聖職者", "");
+    private static final AttributeOption REVENGE = new AttributeOption(3L, AttributeCategory.MINDSET, "復讐心", "");
+
+    /**
+     * 選択した順ではなく候補の並び順で返すことを確認します。
+     */
+    @Test
+    void selectedAmongKeepsCandidateOrder() {
+        AttributeSelectionModel model = new AttributeSelectionModel();
+        model.setSelected(PRIEST, true);
+        model.setSelected(KNIGHT, true);
+        model.setSelected(REVENGE, true);
+
+        assertThat(model.selectedAmong(List.of(KNIGHT, PRIEST))).containsExactly(KNIGHT, PRIEST);
+        assertThat(model.selectedAmong(List.of(REVENGE))).containsExactly(REVENGE);
+    }
+
+    /**
+     * 選択の解除とカテゴリ単位の解除を確認します。
+     */
+    @Test
+    void clearRemovesOnlyTheGivenCategory() {
+        AttributeSelectionModel model = new AttributeSelectionModel();
+        model.setSelected(KNIGHT, true);
+        model.setSelected(PRIEST, true);
+        model.setSelected(REVENGE, true);
+        model.setSelected(PRIEST, false);
+
+        assertThat(model.isSelected(PRIEST)).isFalse();
+
+        model.clear(AttributeCategory.CHARACTER_TRAIT);
+
+        assertThat(model.isSelected(KNIGHT)).isFalse();
+        assertThat(model.isSelected(REVENGE)).isTrue();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.darkchar.ui.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.darkchar.service.ai.TokenUsage;
+
+/**
+ * {@link GenerationJob} の振る舞いを検証します。
+ */
+class GenerationJobTest {
+
+    /**
+     * 途中から見始めても、それまでの本文とキューの内容を合わせれば全文になることを確認します。
+     */
+    @Test
+    void watchReturnsTextSoFarAndForwardsLaterDeltas() {
+        GenerationJob job = new GenerationJob(1, "テスト", listener -> null);
+        job.appendDelta("闇に");
+        job.appendDelta("堕ちた");
+
+        Queue<String> deltas = new ConcurrentLinkedQueue<>();
+        String initial = job.watch(deltas);
+        job.appendDelta("騎士");
+        job.unwatch(deltas);
+        job.appendDelta("。");
+
+        assertThat(initial).isEqualTo("闇に堕ちた");
+        assertThat(new ArrayList<>(deltas)).containsExactly("騎士");
+    }
+
+    /**
+     * 経過時間とトークン使用量の表示形式を確認します。
+     */
+    @Test
+    void formatsElapsedTimeAndUsage() {
+        assertThat(GenerationJob.formatElapsed(Duration.ofSeconds(75))).isEqualTo("1:15");
+        assertThat(GenerationJob.formatElapsed(Duration.ofMillis(900))).isEqualTo("0:00");
+        assertThat(GenerationJob.formatUsage(new TokenUsage(120, 480))).isEqualTo("600（出力 480）");
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.darkchar.ui.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link LatencyHistogram} の振る舞いを検証します。
+ */
+class LatencyHistogramTest {
+
+    /**
+     * パーセンタイルを該当区間の上限で近似し、最後の区間では最大値を返すことを確認します。
+     */
+    @Test
+    void percentilesUseBucketUpperBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(300));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        histogram.record(TimeUnit.SECONDS.toNanos(7));
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(100);
+        assertThat(snapshot.percentileMillis(0.5)).isEqualTo(1);
+        assertThat(snapshot.percentileMillis(0.99)).isEqualTo(4);
+        assertThat(snapshot.percentileMillis(1.0)).isEqualTo(7000);
+        assertThat(snapshot.maxNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(7));
+    }
+
+    /**
+     * 記録がない場合も集計結果を表示できることを確認します。
+     */
+    @Test
+    void emptySnapshotSummarizesToZero() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertThat(snapshot.percentileMillis(0.99)).isZero();
+        assertThat(snapshot.summary()).startsWith("n=0 ");
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.darkchar.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.darkchar.domain.AttributeCategory;
+import com.example.darkchar.domain.AttributeOption;
+import com.example.darkchar.domain.CharacterInput;
+import com.example.darkchar.domain.DarknessPreset;
+import com.example.darkchar.domain.DarknessSelection;
+import com.example.darkchar.domain.GeneratedCharacter;
+import com.example.darkchar.domain.InputMode;
+import com.example.darkchar.domain.WorldGenre;
+import com.example.darkchar.service.AttributeCatalog;
+import com.example.darkchar.service.AttributeQueryService;
+import com.example.darkchar.service.CharacterGenerationService;
+import com.example.darkchar.service.GenerationResult;
+import com.example.darkchar.service.ai.ProviderType;
+import com.example.darkchar.service.ai.TokenUsage;
+
+/**
+ * {@link CharacterController} のリクエストの変換とレスポンスの形を検証します。
+ */
+class CharacterControllerTest {
+
+    private static final WorldGenre FANTASY = new WorldGenre(1L, "ファンタジー");
+    private static final AttributeOption KNIGHT = new AttributeOption(10L, AttributeCategory.CHARACTER_TRAIT, "騎士", "");
+    private static final AttributeOption REVENGE = new AttributeOption(20L, AttributeCategory.MOTIVE, "復讐", "");
+
+    private CharacterGenerationService generationService;
+    private MockMvc mockMvc;
+
+    /**
+     * テストごとにコントローラーとモックを初期化します。
+     */
+    @BeforeEach
+    void setUp() {
+        AttributeQueryService queryService = mock(AttributeQueryService.class);
+        when(queryService.catalog()).thenReturn(AttributeCatalog.of(List.of(FANTASY), List.of(KNIGHT, REVENGE)));
+        generationService = mock(CharacterGenerationService.class);
+        doCallRealMethod().when(generationService).validate(any(), any());
+        CharacterEventStreams eventStreams = new CharacterEventStreams(generationService, 15, 1);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new CharacterController(generationService, queryService, eventStreams, 2))
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+    }
+
+    /**
+     * 属性マスタをカテゴリごとに返すことを確認します。
+     */
+    @Test
+    void catalogListsGenresOptionsAndPresets() throws Exception {
+        mockMvc.perform(get("/catalog"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.worldGenres[0].name").value("ファンタジー"))
+                .andExpect(jsonPath("$.options.MOTIVE[0].id").value(20))
+                .andExpect(jsonPath("$.darknessPresets.length()").value(DarknessPreset.values().length));
+    }
+
+    /**
+     * 属性 ID を解決して生成サービスへ渡し、結果を JSON で返すことを確認します。
+     */
+    @Test
+    void generateResolvesIdsAndReturnsNarrative() throws Exception {
+        when(generationService.generate(any(), any(), eq(ProviderType.LOCAL))).thenReturn(result("闇の騎士"));
+
+        mockMvc.perform(post("/characters").contentType(MediaType.APPLICATION_JSON).content("""
+                {"mode":"SEMI_AUTO","worldGenre":"ファンタジー","characterTraitIds":[10],
+                 "darknessOptionIds":[20],"darknessLevel":150,"provider":"LOCAL"}
+                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.narrative").value("闇の騎士"))
+                .andExpect(jsonPath("$.usage.totalTokens").value(30));
+
+        ArgumentCaptor<CharacterInput> input = ArgumentCaptor.forClass(CharacterInput.class);
+        ArgumentCaptor<DarknessSelection> selection = ArgumentCaptor.forClass(DarknessSelection.class);
+        verify(generationService).generate(input.capture(), selection.capture(), eq(ProviderType.LOCAL));
+        assertThat(input.getValue().mode()).isEqualTo(InputMode.SEMI_AUTO);
+        assertThat(input.getValue().worldGenre()).isEqualTo(FANTASY);
+        assertThat(input.getValue().characterTraits()).containsExactly(KNIGHT);
+        assertThat(selection.getValue().selections().get(AttributeCategory.MOTIVE)).containsExactly(REVENGE);
+        assertThat(selection.getValue().preset()).isEqualTo(DarknessPreset.HEAVY);
+    }
+
+    /**
+     * 未知の属性 ID は 400 として理由を返すことを確認します。
+     */
+    @Test
+    void unknownOptionIdIsBadRequest() throws Exception {
+        mockMvc.perform(post("/characters").contentType(MediaType.APPLICATION_JSON).content("""
+                {"worldGenre":"ファンタジー","darknessOptionIds":[99]}
+                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("不明な属性 ID です: 99"));
+    }
+
+    /**
+     * まとめて生成する場合は、失敗した件だけにエラーを設定して順序どおりに返すことを確認します。
+     */
+    @Test
+    void batchReportsFailuresPerItem() throws Exception {
+        when(generationService.generate(any(), any(), any())).thenReturn(result("闇の騎士"));
+
+        mockMvc.perform(post("/characters/batch").contentType(MediaType.APPLICATION_JSON).content("""
+                {"requests":[{"worldGenre":"ファンタジー","darknessOptionIds":[20]},
+                             {"worldGenre":"ファンタジー","darknessLevel":75}]}
+                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].character.narrative").value("闇の騎士"))
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("闇堕ち度は50〜250の50刻みで指定してください: 75"));
+
+        mockMvc.perform(post("/characters/batch").contentType(MediaType.APPLICATION_JSON).content("""
+                {"requests":[{},{},{}]}
+                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * プロバイダから届いたデルタを順に配信し、最後に結果を {@code done} イベントで送ることを確認します。
+     */
+    @Test
+    void streamSendsDeltasThenDone() throws Exception {
+        when(generationService.generateStreaming(any(), any(), eq(ProviderType.OPENAI), any())).thenAnswer(call -> {
+            Consumer<String> listener = call.getArgument(3);
+            listener.accept("闇の");
+            listener.accept("騎士");
+            return result("闇の騎士");
+        });
+
+        String body = awaitStream(mockMvc.perform(get("/characters/stream")
+                .param("worldGenre", "ファンタジー").param("darknessOptionIds", "20").param("provider", "OPENAI")));
+
+        assertThat(body).containsSubsequence(
+                "event:delta\ndata:{\"text\":\"闇の\"}\n\n",
+                "event:delta\ndata:{\"text\":\"騎士\"}\n\n",
+                "event:done\ndata:{\"narrative\":\"闇の騎士\"");
+    }
+
+    /**
+     * プロバイダで生成できずローカル生成へ切り替えた場合は、その文章を {@code fallback} イベント 1 件で送ることを確認します。
+     */
+    @Test
+    void streamSendsLocalFallbackAsSingleEvent() throws Exception {
+        GenerationResult fallback = result("ローカルの騎士");
+        when(generationService.generateStreaming(any(), any(), any(), any())).thenReturn(new GenerationResult(
+                fallback.generatedCharacter(), false, Optional.of("OpenAI で生成できませんでした"), Optional.empty(),
+                Optional.empty()));
+
+        String body = awaitStream(mockMvc.perform(post("/characters/stream").contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"worldGenre":"ファンタジー","darknessOptionIds":[20]}
+                        """)));
+
+        assertThat(body).doesNotContain("event:delta").startsWith("event:fallback\n")
+                .contains("\"narrative\":\"ローカルの騎士\"", "\"warning\":\"OpenAI で生成できませんでした\"");
+    }
+
+    /**
+     * 入力の誤りは配信を始めずに 400 として返すことを確認します。
+     */
+    @Test
+    void streamRejectsInvalidRequestBeforeStreaming() throws Exception {
+        mockMvc.perform(post("/characters/stream").contentType(MediaType.APPLICATION_JSON).content("""
+                {"worldGenre":"ファンタジー","darknessLevel":75}
+                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("闇堕ち度は50〜250の50刻みで指定してください: 75"));
+    }
+
+    /**
+     * 生成サービスの入力検証で弾かれる内容も、配信を始めずに 400 として返すことを確認します。
+     */
+    @Test
+    void streamValidatesInputBeforeStreaming() throws Exception {
+        mockMvc.perform(post("/characters/stream").contentType(MediaType.APPLICATION_JSON).content("""
+                {"worldGenre":"ファンタジー"}
+                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("闇堕ちカテゴリから少なくとも1つは選択してください。"));
+
+        mockMvc.perform(post("/characters/stream").contentType(MediaType.APPLICATION_JSON).content("""
+                {"mode":"SEMI_AUTO","worldGenre":"ファンタジー","darknessOptionIds":[20]}
+                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("セミオートモードではキャラクター属性を1つ以上選択してください。"));
+    }
+
+    private static String awaitStream(ResultActions actions) throws Exception {
+        MvcResult result = actions.andExpect(request().asyncStarted()).andReturn();
+        result.getAsyncResult(5_000);
+        // SSE は常に UTF-8
+        return result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private static GenerationResult result(String narrative) {
+        GeneratedCharacter character = new GeneratedCharacter(
+                new CharacterInput(InputMode.AUTO, FANTASY, List.of(), "", 3, ""),
+                new DarknessSelection(Map.of(), DarknessPreset.STANDARD), narrative, Instant.now());
+        return new GenerationResult(character, true, Optional.empty(), Optional.empty(),
+                Optional.of(new TokenUsage(10, 20)));
+    }
+}